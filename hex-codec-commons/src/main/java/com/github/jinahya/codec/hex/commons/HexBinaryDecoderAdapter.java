@@ -0,0 +1,257 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec.hex.commons;
+
+
+import com.github.jinahya.codec.HexDecoder;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.codec.BinaryDecoder;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.StringDecoder;
+
+
+/**
+ * An {@code org.apache.commons.codec.BinaryDecoder} and
+ * {@code org.apache.commons.codec.StringDecoder} calls {@link HexDecoder}
+ * directly, without the reflection {@link HexBinaryDecoderProxy} goes
+ * through.
+ *
+ * <p>{@link #decode(Object)} dispatches by the type of the source.</p>
+ * <table summary="types">
+ * <tr><th>source</th><th>result</th></tr>
+ * <tr><td>{@code byte[]} of hex chars</td><td>{@code byte[]}</td></tr>
+ * <tr><td>{@code ByteBuffer} of hex chars</td><td>{@code ByteBuffer}; the
+ * position of the source is not changed</td></tr>
+ * <tr><td>{@code String} of hex chars</td><td>{@code String} decoded from the
+ * octets with the charset</td></tr>
+ * <tr><td>{@code char[]} of hex chars</td><td>{@code byte[]}</td></tr>
+ * </table>
+ *
+ * <p>commons-codec is a {@code provided} dependency; only applications which
+ * use this class need it at runtime.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexBinaryDecoderAdapter implements BinaryDecoder, StringDecoder {
+
+
+    private static final class InstanceHolder {
+
+
+        private static final HexBinaryDecoderAdapter INSTANCE =
+            new HexBinaryDecoderAdapter(new HexDecoder());
+
+
+        private InstanceHolder() {
+
+            super();
+        }
+
+
+    }
+
+
+    /**
+     * Returns the shared instance which uses {@code UTF-8} for strings. The
+     * instance is stateless and thread-safe.
+     *
+     * @return the shared instance.
+     */
+    public static HexBinaryDecoderAdapter getInstance() {
+
+        return InstanceHolder.INSTANCE;
+    }
+
+
+    /**
+     * Creates a new instance which uses {@code UTF-8} for strings.
+     *
+     * @param decoder the decoder to use.
+     */
+    public HexBinaryDecoderAdapter(final HexDecoder decoder) {
+
+        this(decoder, StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param decoder the decoder to use.
+     * @param charset the charset for decoding octets into strings.
+     */
+    public HexBinaryDecoderAdapter(final HexDecoder decoder,
+                                   final Charset charset) {
+
+        super();
+
+        if (decoder == null) {
+            throw new NullPointerException("decoder");
+        }
+
+        if (charset == null) {
+            throw new NullPointerException("charset");
+        }
+
+        this.decoder = decoder;
+        this.charset = charset;
+    }
+
+
+    @Override
+    public byte[] decode(final byte[] source) throws DecoderException {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        try {
+            return decoder.decode(source);
+        } catch (final IllegalArgumentException iae) {
+            throw new DecoderException(iae.getMessage(), iae);
+        }
+    }
+
+
+    /**
+     * Decodes hex chars remaining in given buffer. The position of the buffer
+     * is not changed.
+     *
+     * @param source the buffer to decode.
+     *
+     * @return a new buffer of decoded octets.
+     *
+     * @throws DecoderException if the buffer contains illegal hex chars.
+     */
+    public ByteBuffer decode(final ByteBuffer source) throws DecoderException {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        final ByteBuffer output = ByteBuffer.allocate(source.remaining() >> 1);
+        try {
+            HexDecoder.decodeMultiple(source.duplicate(), output);
+        } catch (final IllegalArgumentException iae) {
+            throw new DecoderException(iae.getMessage(), iae);
+        }
+        output.flip();
+
+        return output;
+    }
+
+
+    /**
+     * Decodes given hex chars and decodes the resulting octets into a string
+     * with the charset.
+     *
+     * @param source the hex chars to decode.
+     *
+     * @return the decoded string.
+     *
+     * @throws DecoderException if the source contains illegal hex chars.
+     */
+    @Override
+    public String decode(final String source) throws DecoderException {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        return new String(decodeChars(source), charset);
+    }
+
+
+    /**
+     * Decodes given hex chars.
+     *
+     * @param source the hex chars to decode.
+     *
+     * @return the decoded octets.
+     *
+     * @throws DecoderException if the source contains illegal hex chars.
+     */
+    public byte[] decode(final char[] source) throws DecoderException {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        return decodeChars(CharBuffer.wrap(source));
+    }
+
+
+    private static byte[] decodeChars(final CharSequence source)
+        throws DecoderException {
+
+        final byte[] output = new byte[source.length() >> 1];
+        try {
+            HexDecoder.decodeMultiple(source, 0, output, 0, output.length);
+        } catch (final IllegalArgumentException iae) {
+            throw new DecoderException(iae.getMessage(), iae);
+        }
+
+        return output;
+    }
+
+
+    @Override
+    public Object decode(final Object source) throws DecoderException {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        if (source instanceof byte[]) {
+            return decode((byte[]) source);
+        }
+
+        if (source instanceof String) {
+            return decode((String) source);
+        }
+
+        if (source instanceof ByteBuffer) {
+            return decode((ByteBuffer) source);
+        }
+
+        if (source instanceof char[]) {
+            return decode((char[]) source);
+        }
+
+        throw new DecoderException(
+            "unsupported source type: " + source.getClass().getName());
+    }
+
+
+    /**
+     * The decoder.
+     */
+    protected final HexDecoder decoder;
+
+
+    /**
+     * The charset for decoding octets into strings.
+     */
+    protected final Charset charset;
+
+
+}
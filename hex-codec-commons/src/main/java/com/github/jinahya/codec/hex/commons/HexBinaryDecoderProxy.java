@@ -15,9 +15,10 @@
  */
 
 
-package com.github.jinahya.codec;
+package com.github.jinahya.codec.hex.commons;
 
 
+import com.github.jinahya.codec.HexDecoder;
 import com.github.jinahya.codec.commons.BinaryDecoderProxy;
 
 
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec.hex.commons;
+
+
+import com.github.jinahya.codec.HexEncoder;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.codec.BinaryEncoder;
+import org.apache.commons.codec.EncoderException;
+import org.apache.commons.codec.StringEncoder;
+
+
+/**
+ * An {@code org.apache.commons.codec.BinaryEncoder} and
+ * {@code org.apache.commons.codec.StringEncoder} calls {@link HexEncoder}
+ * directly, without the reflection {@link HexBinaryEncoderProxy} goes
+ * through.
+ *
+ * <p>{@link #encode(Object)} dispatches by the type of the source and the
+ * result has the same type as the source.</p>
+ * <table summary="types">
+ * <tr><th>source</th><th>result</th></tr>
+ * <tr><td>{@code byte[]}</td><td>{@code byte[]} of hex chars</td></tr>
+ * <tr><td>{@code ByteBuffer}</td><td>{@code ByteBuffer} of hex chars; the
+ * position of the source is not changed</td></tr>
+ * <tr><td>{@code String}</td><td>{@code String} of hex chars of the source
+ * encoded with the charset</td></tr>
+ * <tr><td>{@code char[]}</td><td>{@code char[]} of hex chars of the source
+ * encoded with the charset</td></tr>
+ * </table>
+ *
+ * <p>commons-codec is a {@code provided} dependency; only applications which
+ * use this class need it at runtime.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexBinaryEncoderAdapter implements BinaryEncoder, StringEncoder {
+
+
+    private static final class InstanceHolder {
+
+
+        private static final HexBinaryEncoderAdapter INSTANCE =
+            new HexBinaryEncoderAdapter(new HexEncoder());
+
+
+        private InstanceHolder() {
+
+            super();
+        }
+
+
+    }
+
+
+    /**
+     * Returns the shared instance which uses {@code UTF-8} for strings. The
+     * instance is stateless and thread-safe.
+     *
+     * @return the shared instance.
+     */
+    public static HexBinaryEncoderAdapter getInstance() {
+
+        return InstanceHolder.INSTANCE;
+    }
+
+
+    /**
+     * Creates a new instance which uses {@code UTF-8} for strings.
+     *
+     * @param encoder the encoder to use.
+     */
+    public HexBinaryEncoderAdapter(final HexEncoder encoder) {
+
+        this(encoder, StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param encoder the encoder to use.
+     * @param charset the charset for encoding strings into octets.
+     */
+    public HexBinaryEncoderAdapter(final HexEncoder encoder,
+                                   final Charset charset) {
+
+        super();
+
+        if (encoder == null) {
+            throw new NullPointerException("encoder");
+        }
+
+        if (charset == null) {
+            throw new NullPointerException("charset");
+        }
+
+        this.encoder = encoder;
+        this.charset = charset;
+    }
+
+
+    @Override
+    public byte[] encode(final byte[] source) {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        return encoder.encode(source);
+    }
+
+
+    /**
+     * Encodes octets remaining in given buffer. The position of the buffer is
+     * not changed.
+     *
+     * @param source the buffer to encode.
+     *
+     * @return a new buffer of hex chars.
+     */
+    public ByteBuffer encode(final ByteBuffer source) {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        final ByteBuffer output = ByteBuffer.allocate(source.remaining() << 1);
+        HexEncoder.encodeMultiple(source.duplicate(), output);
+        output.flip();
+
+        return output;
+    }
+
+
+    /**
+     * Encodes given string encoded with the charset.
+     *
+     * @param source the string to encode.
+     *
+     * @return a string of hex chars.
+     */
+    @Override
+    public String encode(final String source) {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        return encoder.encodeToString(
+            source, charset, StandardCharsets.US_ASCII);
+    }
+
+
+    /**
+     * Encodes given chars encoded with the charset.
+     *
+     * @param source the chars to encode.
+     *
+     * @return an array of hex chars.
+     */
+    public char[] encode(final char[] source) {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        final ByteBuffer octets = charset.encode(CharBuffer.wrap(source));
+        final int count = octets.remaining();
+        final char[] output = new char[count << 1];
+        if (octets.hasArray()) {
+            HexEncoder.encodeToChars(
+                octets.array(), octets.arrayOffset() + octets.position(),
+                output, 0, count);
+        } else {
+            final byte[] array = new byte[count];
+            octets.get(array);
+            HexEncoder.encodeToChars(array, 0, output, 0, count);
+        }
+
+        return output;
+    }
+
+
+    @Override
+    public Object encode(final Object source) throws EncoderException {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        if (source instanceof byte[]) {
+            return encode((byte[]) source);
+        }
+
+        if (source instanceof String) {
+            return encode((String) source);
+        }
+
+        if (source instanceof ByteBuffer) {
+            return encode((ByteBuffer) source);
+        }
+
+        if (source instanceof char[]) {
+            return encode((char[]) source);
+        }
+
+        throw new EncoderException(
+            "unsupported source type: " + source.getClass().getName());
+    }
+
+
+    /**
+     * The encoder.
+     */
+    protected final HexEncoder encoder;
+
+
+    /**
+     * The charset for encoding strings into octets.
+     */
+    protected final Charset charset;
+
+
+}
@@ -15,9 +15,10 @@
  */
 
 
-package com.github.jinahya.codec;
+package com.github.jinahya.codec.hex.commons;
 
 
+import com.github.jinahya.codec.HexEncoder;
 import com.github.jinahya.codec.commons.BinaryEncoderProxy;
 
 
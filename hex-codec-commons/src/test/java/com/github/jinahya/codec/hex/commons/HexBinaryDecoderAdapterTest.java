@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec.hex.commons;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.codec.BinaryDecoder;
+import org.apache.commons.codec.Decoder;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexBinaryDecoderAdapterTest {
+
+
+    @Test
+    public void testGetInstance() {
+
+        Assert.assertSame(HexBinaryDecoderAdapter.getInstance(),
+                          HexBinaryDecoderAdapter.getInstance());
+    }
+
+
+    @Test
+    public void testAsDecoder() throws DecoderException {
+
+        final Decoder decoder = HexBinaryDecoderAdapter.getInstance();
+
+        try {
+            decoder.decode((Object) null);
+            Assert.fail("decode(null)");
+        } catch (final NullPointerException npe) {
+            // expected
+        }
+
+        final byte[] encoded = Tests.encodedBytes();
+        final Object decoded = decoder.decode((Object) encoded);
+        Assert.assertEquals((byte[]) decoded, new Hex().decode(encoded));
+    }
+
+
+    @Test
+    public void testAsBinaryDecoder() throws DecoderException {
+
+        final BinaryDecoder decoder = HexBinaryDecoderAdapter.getInstance();
+
+        try {
+            decoder.decode((byte[]) null);
+            Assert.fail("decode((byte[]) null)");
+        } catch (final NullPointerException npe) {
+            // expected
+        }
+
+        final byte[] encoded = Tests.encodedBytes();
+        final byte[] decoded = decoder.decode(encoded);
+        Assert.assertEquals(decoded, new Hex().decode(encoded));
+    }
+
+
+    @Test(expectedExceptions = DecoderException.class)
+    public void testDecodeWithIllegalChars() throws DecoderException {
+
+        HexBinaryDecoderAdapter.getInstance().decode(new byte[]{0x30, 0x47});
+    }
+
+
+    @Test(invocationCount = 16)
+    public void testDecodeByTypes() throws DecoderException {
+
+        final HexBinaryDecoderAdapter decoder =
+            HexBinaryDecoderAdapter.getInstance();
+
+        final String expected = Tests.decodedString();
+        final byte[] bytes = expected.getBytes(StandardCharsets.UTF_8);
+        final String encoded = new String(
+            new Hex().encode(bytes), StandardCharsets.US_ASCII);
+
+        Assert.assertEquals(decoder.decode((Object) encoded), expected);
+        Assert.assertEquals(
+            (byte[]) decoder.decode((Object) encoded.toCharArray()), bytes);
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.length());
+        buffer.put(encoded.getBytes(StandardCharsets.US_ASCII)).flip();
+        final ByteBuffer decoded = (ByteBuffer) decoder.decode((Object) buffer);
+        Assert.assertEquals(buffer.remaining(), encoded.length());
+        final byte[] actual = new byte[decoded.remaining()];
+        decoded.get(actual);
+        Assert.assertEquals(actual, bytes);
+    }
+
+
+    @Test(expectedExceptions = DecoderException.class)
+    public void testDecodeStringWithIllegalChars() throws DecoderException {
+
+        HexBinaryDecoderAdapter.getInstance().decode("0\u0130");
+    }
+
+
+    @Test(expectedExceptions = DecoderException.class)
+    public void testDecodeWithUnsupportedType() throws DecoderException {
+
+        HexBinaryDecoderAdapter.getInstance().decode((Object) 1);
+    }
+
+
+}
@@ -15,7 +15,7 @@
  */
 
 
-package com.github.jinahya.codec;
+package com.github.jinahya.codec.hex.commons;
 
 
 import org.apache.commons.codec.BinaryDecoder;
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec.hex.commons;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.codec.BinaryEncoder;
+import org.apache.commons.codec.Encoder;
+import org.apache.commons.codec.EncoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexBinaryEncoderAdapterTest {
+
+
+    @Test
+    public void testGetInstance() {
+
+        Assert.assertSame(HexBinaryEncoderAdapter.getInstance(),
+                          HexBinaryEncoderAdapter.getInstance());
+    }
+
+
+    @Test
+    public void testAsEncoder() throws EncoderException {
+
+        final Encoder encoder = HexBinaryEncoderAdapter.getInstance();
+
+        try {
+            encoder.encode((Object) null);
+            Assert.fail("passed: <Object>encode(null)");
+        } catch (final NullPointerException npe) {
+            // expected
+        }
+
+        final byte[] decoded = Tests.decodedBytes();
+        final Object encoded = encoder.encode((Object) decoded);
+        Assert.assertEquals((byte[]) encoded,
+                            Tests.uppercase(new Hex().encode(decoded)));
+    }
+
+
+    @Test
+    public void testAsBinaryEncoder() throws EncoderException {
+
+        final BinaryEncoder encoder = HexBinaryEncoderAdapter.getInstance();
+
+        try {
+            encoder.encode((byte[]) null);
+            Assert.fail("passed: encode((byte[]) null)");
+        } catch (final NullPointerException npe) {
+            // expected
+        }
+
+        final byte[] decoded = Tests.decodedBytes();
+        final byte[] encoded = encoder.encode(decoded);
+        Assert.assertEquals(encoded,
+                            Tests.uppercase(new Hex().encode(decoded)));
+    }
+
+
+    @Test(invocationCount = 16)
+    public void testEncodeByTypes() throws EncoderException {
+
+        final HexBinaryEncoderAdapter encoder =
+            HexBinaryEncoderAdapter.getInstance();
+
+        final String string = Tests.decodedString();
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        final String expected = new String(
+            Tests.uppercase(new Hex().encode(bytes)),
+            StandardCharsets.US_ASCII);
+
+        Assert.assertEquals(encoder.encode((Object) string), expected);
+        Assert.assertEquals((char[]) encoder.encode(
+            (Object) string.toCharArray()), expected.toCharArray());
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        final ByteBuffer encoded =
+            (ByteBuffer) encoder.encode((Object) buffer);
+        Assert.assertEquals(buffer.remaining(), bytes.length);
+        final byte[] actual = new byte[encoded.remaining()];
+        encoded.get(actual);
+        Assert.assertEquals(new String(actual, StandardCharsets.US_ASCII),
+                            expected);
+    }
+
+
+    @Test(expectedExceptions = EncoderException.class)
+    public void testEncodeWithUnsupportedType() throws EncoderException {
+
+        HexBinaryEncoderAdapter.getInstance().encode((Object) 1);
+    }
+
+
+}
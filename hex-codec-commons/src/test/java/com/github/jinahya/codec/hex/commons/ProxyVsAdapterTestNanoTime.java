@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec.hex.commons;
+
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.codec.BinaryDecoder;
+import org.apache.commons.codec.BinaryEncoder;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.EncoderException;
+import org.apache.commons.math3.stat.StatUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+/**
+ * Compares the reflective proxies with the direct adapters on small inputs.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"benchmark"}, singleThreaded = true)
+public class ProxyVsAdapterTestNanoTime {
+
+
+    private static final int ROUNDS = 1024;
+
+
+    private static final Logger LOGGER =
+        Logger.getLogger(ProxyVsAdapterTestNanoTime.class.getName());
+
+
+    private static final BinaryEncoder ENCODER_PROXY =
+        (BinaryEncoder) HexBinaryEncoderProxy.newInstance();
+
+
+    private static final BinaryEncoder ENCODER_ADAPTER =
+        HexBinaryEncoderAdapter.getInstance();
+
+
+    private static final BinaryDecoder DECODER_PROXY =
+        (BinaryDecoder) HexBinaryDecoderProxy.newInstance();
+
+
+    private static final BinaryDecoder DECODER_ADAPTER =
+        HexBinaryDecoderAdapter.getInstance();
+
+
+    @BeforeClass
+    private static void warmUp() throws EncoderException, DecoderException {
+        LOGGER.info("warmUp()");
+
+        for (int i = 0; i < 16384; i++) {
+            encode(ENCODER_PROXY, Tests.decodedBytes(32));
+            encode(ENCODER_ADAPTER, Tests.decodedBytes(32));
+            decode(DECODER_PROXY, Tests.encodedBytes());
+            decode(DECODER_ADAPTER, Tests.encodedBytes());
+        }
+    }
+
+
+    private static long encode(final BinaryEncoder encoder,
+                               final byte[] decoded)
+        throws EncoderException {
+        final long start = System.nanoTime();
+        encoder.encode(decoded);
+        return System.nanoTime() - start;
+    }
+
+
+    private static long decode(final BinaryDecoder decoder,
+                               final byte[] encoded)
+        throws DecoderException {
+        final long start = System.nanoTime();
+        decoder.decode(encoded);
+        return System.nanoTime() - start;
+    }
+
+
+    @Test
+    public void testEncode() throws EncoderException {
+
+        final double[] elapsedProxy = new double[ROUNDS];
+        final double[] elapsedAdapter = new double[ROUNDS];
+
+        for (int i = 0; i < ROUNDS; i++) {
+            final byte[] decoded = Tests.decodedBytes(32);
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedProxy[i] = encode(ENCODER_PROXY, decoded);
+                elapsedAdapter[i] = encode(ENCODER_ADAPTER, decoded);
+            } else {
+                elapsedAdapter[i] = encode(ENCODER_ADAPTER, decoded);
+                elapsedProxy[i] = encode(ENCODER_PROXY, decoded);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.encode.proxy: {0}",
+                   StatUtils.mean(elapsedProxy));
+        LOGGER.log(Level.INFO, "elapsed.encode.adapter: {0}",
+                   StatUtils.mean(elapsedAdapter));
+    }
+
+
+    @Test
+    public void testDecode() throws DecoderException {
+
+        final double[] elapsedProxy = new double[ROUNDS];
+        final double[] elapsedAdapter = new double[ROUNDS];
+
+        for (int i = 0; i < ROUNDS; i++) {
+            final byte[] encoded = Tests.encodedBytes();
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedProxy[i] = decode(DECODER_PROXY, encoded);
+                elapsedAdapter[i] = decode(DECODER_ADAPTER, encoded);
+            } else {
+                elapsedAdapter[i] = decode(DECODER_ADAPTER, encoded);
+                elapsedProxy[i] = decode(DECODER_PROXY, encoded);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.decode.proxy: {0}",
+                   StatUtils.mean(elapsedProxy));
+        LOGGER.log(Level.INFO, "elapsed.decode.adapter: {0}",
+                   StatUtils.mean(elapsedAdapter));
+    }
+
+
+}
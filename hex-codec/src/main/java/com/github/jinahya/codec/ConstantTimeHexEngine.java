@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+/**
+ * An engine encodes and decodes with arithmetic and masking only. Neither
+ * branches nor memory accesses depend on the values processed, which makes
+ * this engine suitable for secret material such as keys.
+ *
+ * <p>Illegal hex chars are accumulated into a flag which is checked once at
+ * the end; the exception thrown tells nothing about where the illegal char
+ * was.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class ConstantTimeHexEngine implements HexEngine {
+
+
+    /**
+     * The name of this engine.
+     */
+    public static final String NAME = "constant-time";
+
+
+    /**
+     * Encodes a nibble into an upper-case hex char without branches.
+     *
+     * @param nibble the nibble to encode.
+     *
+     * @return the encoded hex char.
+     */
+    static int encodeHalf(final int nibble) {
+
+        // 0x37 + nibble for 'A' ~ 'F', less 0x07 for '0' ~ '9'
+        return 0x37 + nibble + (((nibble - 0x0A) >> 8) & -0x07);
+    }
+
+
+    /**
+     * Decodes a hex char without branches. The returned value has its bit
+     * {@code 0x100} set if {@code input} is not a hex char.
+     *
+     * @param input the hex char to decode; between {@code 0x0000} and
+     * {@code 0xFFFF}.
+     *
+     * @return the decoded nibble with the invalid flag.
+     */
+    static int decodeHalf(final int input) {
+
+        final int c = input & 0xFF;
+
+        final int digit = c ^ 0x30; // '0' ~ '9' -> 0x00 ~ 0x09
+        final int digitMask = (digit - 0x0A) >> 8;
+
+        final int alpha = (c & 0xDF) - 0x37; // 'A' ~ 'F' -> 0x0A ~ 0x0F
+        final int alphaMask = ((alpha - 0x0A) ^ (alpha - 0x10)) >> 8;
+
+        final int wide = ((0xFF - input) >> 31) & 0x100;
+
+        return (digit & digitMask) | (alpha & alphaMask)
+               | (~(digitMask | alphaMask) & 0x100) | wide;
+    }
+
+
+    /**
+     * Checks the flag accumulated by {@link #decodeHalf(int)}.
+     *
+     * @param flag the accumulated flag.
+     */
+    static void check(final int flag) {
+
+        if ((flag & 0x100) != 0) {
+            throw new IllegalArgumentException("illegal input");
+        }
+    }
+
+
+    @Override
+    public String name() {
+
+        return NAME;
+    }
+
+
+    @Override
+    public void encode(final byte[] input, int inoff, final byte[] output,
+                       int outoff, final int count) {
+
+        for (int i = 0; i < count; i++) {
+            final int octet = input[inoff++] & 0xFF;
+            output[outoff++] = (byte) encodeHalf(octet >> 4);
+            output[outoff++] = (byte) encodeHalf(octet & 0x0F);
+        }
+    }
+
+
+    /**
+     * Decodes in constant time.
+     *
+     * @param input the input array of hex chars.
+     * @param inoff the offset in the input array.
+     * @param output the output array of octets.
+     * @param outoff the offset in the output array.
+     * @param count the number of octets to decode.
+     */
+    static void decodeConstantTime(final byte[] input, int inoff,
+                                   final byte[] output, int outoff,
+                                   final int count) {
+
+        int flag = 0;
+        for (int i = 0; i < count; i++) {
+            final int high = decodeHalf(input[inoff++] & 0xFF);
+            final int low = decodeHalf(input[inoff++] & 0xFF);
+            flag |= high | low;
+            output[outoff++] = (byte) ((high << 4) | (low & 0x0F));
+        }
+
+        check(flag);
+    }
+
+
+    @Override
+    public void decode(final byte[] input, final int inoff, final byte[] output,
+                       final int outoff, final int count) {
+
+        decodeConstantTime(input, inoff, output, outoff, count);
+    }
+
+
+}
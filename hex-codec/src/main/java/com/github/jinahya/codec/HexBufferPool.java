@@ -0,0 +1,549 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * A pool of heap and direct buffers in power-of-two size classes from
+ * {@value #MIN_CAPACITY} to {@value #MAX_CAPACITY} octets. Released buffers
+ * are cached per thread, for classes up to {@value #MAX_THREAD_CAPACITY}
+ * octets, and then in a lock-free global free list; neither caching nor
+ * reusing a buffer allocates. Requests larger than {@value #MAX_CAPACITY}
+ * octets are allocated and dropped as usual.
+ *
+ * <p>The default pool is configured with system properties.</p>
+ * <ul>
+ * <li>{@value #THREAD_CACHE_SIZE_PROPERTY} is the number of buffers of each
+ * class and kind each thread caches (default
+ * {@value #DEFAULT_THREAD_CACHE_SIZE}).</li>
+ * <li>{@value #GLOBAL_CACHE_SIZE_PROPERTY} is the number of buffers of each
+ * class and kind the global list holds (default
+ * {@value #DEFAULT_GLOBAL_CACHE_SIZE}).</li>
+ * <li>{@value #DEBUG_PROPERTY} of {@code true} tracks each buffer acquired;
+ * releasing a buffer twice, or a buffer not acquired, throws an
+ * {@link IllegalStateException}, and buffers garbage collected without being
+ * released are logged and counted by {@link #getLeakCount()}.</li>
+ * </ul>
+ *
+ * <p>A buffer must not be used after it is released.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class HexBufferPool {
+
+
+    /**
+     * The capacity of the smallest size class.
+     */
+    public static final int MIN_CAPACITY = 64;
+
+
+    /**
+     * The capacity of the largest size class.
+     */
+    public static final int MAX_CAPACITY = 1048576;
+
+
+    /**
+     * The capacity of the largest size class cached per thread.
+     */
+    public static final int MAX_THREAD_CAPACITY = 65536;
+
+
+    /**
+     * The system property for the per-thread cache size of the default pool.
+     */
+    public static final String THREAD_CACHE_SIZE_PROPERTY =
+        "com.github.jinahya.codec.pool.threadCacheSize";
+
+
+    /**
+     * The system property for the global cache size of the default pool.
+     */
+    public static final String GLOBAL_CACHE_SIZE_PROPERTY =
+        "com.github.jinahya.codec.pool.globalCacheSize";
+
+
+    /**
+     * The system property for tracking buffers of the default pool.
+     */
+    public static final String DEBUG_PROPERTY =
+        "com.github.jinahya.codec.pool.debug";
+
+
+    /**
+     * The default per-thread cache size.
+     */
+    public static final int DEFAULT_THREAD_CACHE_SIZE = 4;
+
+
+    /**
+     * The default global cache size.
+     */
+    public static final int DEFAULT_GLOBAL_CACHE_SIZE = 16;
+
+
+    private static final int MIN_SHIFT =
+        Integer.numberOfTrailingZeros(MIN_CAPACITY);
+
+
+    private static final int CLASSES =
+        Integer.numberOfTrailingZeros(MAX_CAPACITY) - MIN_SHIFT + 1;
+
+
+    private static final int THREAD_CLASSES =
+        Integer.numberOfTrailingZeros(MAX_THREAD_CAPACITY) - MIN_SHIFT + 1;
+
+
+    private static final class Holder {
+
+
+        static final HexBufferPool DEFAULT = new HexBufferPool(
+            Integer.getInteger(THREAD_CACHE_SIZE_PROPERTY,
+                               DEFAULT_THREAD_CACHE_SIZE),
+            Integer.getInteger(GLOBAL_CACHE_SIZE_PROPERTY,
+                               DEFAULT_GLOBAL_CACHE_SIZE),
+            Boolean.getBoolean(DEBUG_PROPERTY));
+
+
+        private Holder() {
+
+            super();
+        }
+
+
+    }
+
+
+    /**
+     * Returns the default pool.
+     *
+     * @return the default pool.
+     */
+    public static HexBufferPool getDefault() {
+
+        return Holder.DEFAULT;
+    }
+
+
+    /**
+     * Returns the index of the size class for given capacity.
+     *
+     * @param capacity the capacity.
+     *
+     * @return the index of the size class or {@code -1} if too large.
+     */
+    static int index(final int capacity) {
+
+        if (capacity <= MIN_CAPACITY) {
+            return 0;
+        }
+
+        if (capacity > MAX_CAPACITY) {
+            return -1;
+        }
+
+        return 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SHIFT;
+    }
+
+
+    /**
+     * Buffers cached by a single thread.
+     */
+    private static final class Local {
+
+
+        Local(final int size) {
+
+            super();
+
+            heaps = new ByteBuffer[THREAD_CLASSES][size];
+            directs = new ByteBuffer[THREAD_CLASSES][size];
+            heapCounts = new int[THREAD_CLASSES];
+            directCounts = new int[THREAD_CLASSES];
+        }
+
+
+        final ByteBuffer[][] heaps;
+
+
+        final ByteBuffer[][] directs;
+
+
+        final int[] heapCounts;
+
+
+        final int[] directCounts;
+
+
+    }
+
+
+    /**
+     * Identifies a tracked buffer without keeping it reachable.
+     */
+    private static final class Key extends WeakReference<ByteBuffer> {
+
+
+        Key(final ByteBuffer buffer) {
+
+            super(buffer);
+
+            hash = System.identityHashCode(buffer);
+        }
+
+
+        @Override
+        public int hashCode() {
+
+            return hash;
+        }
+
+
+        @Override
+        public boolean equals(final Object obj) {
+
+            if (obj == this) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            final Object referent = get();
+
+            return referent != null && referent == ((Key) obj).get();
+        }
+
+
+        private final int hash;
+
+
+    }
+
+
+    /**
+     * Reports a tracked buffer collected without being released.
+     */
+    private final class Leak implements Runnable {
+
+
+        Leak(final Key key) {
+
+            super();
+
+            this.key = key;
+        }
+
+
+        @Override
+        public void run() {
+
+            if (tracked.remove(key) == null) {
+                return; // released
+            }
+
+            leaks.incrementAndGet();
+            System.getLogger(HexBufferPool.class.getName()).log(
+                System.Logger.Level.WARNING,
+                "a buffer was not released before garbage collection", trace);
+        }
+
+
+        private final Key key;
+
+
+        private final Throwable trace = new Throwable("acquired here");
+
+
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param threadCacheSize the number of buffers of each class and kind
+     * each thread caches.
+     * @param globalCacheSize the number of buffers of each class and kind the
+     * global list holds.
+     * @param debug {@code true} for tracking buffers.
+     */
+    public HexBufferPool(final int threadCacheSize, final int globalCacheSize,
+                         final boolean debug) {
+
+        super();
+
+        if (threadCacheSize < 0) {
+            throw new IllegalArgumentException(
+                "threadCacheSize(" + threadCacheSize + ") < 0");
+        }
+
+        if (globalCacheSize < 0) {
+            throw new IllegalArgumentException(
+                "globalCacheSize(" + globalCacheSize + ") < 0");
+        }
+
+        this.threadCacheSize = threadCacheSize;
+
+        heaps = newGlobals(globalCacheSize);
+        directs = newGlobals(globalCacheSize);
+
+        locals = ThreadLocal.withInitial(() -> new Local(threadCacheSize));
+
+        if (debug) {
+            tracked = new ConcurrentHashMap<Key, Cleaner.Cleanable>();
+            cleaner = Cleaner.create();
+        } else {
+            tracked = null;
+            cleaner = null;
+        }
+    }
+
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static AtomicReferenceArray<ByteBuffer>[] newGlobals(
+        final int size) {
+
+        final AtomicReferenceArray<ByteBuffer>[] globals =
+            new AtomicReferenceArray[CLASSES];
+        for (int i = 0; i < globals.length; i++) {
+            globals[i] = new AtomicReferenceArray<ByteBuffer>(size);
+        }
+
+        return globals;
+    }
+
+
+    /**
+     * Acquires a buffer. The returned buffer has a capacity of at least given
+     * capacity, a position of zero and a limit of given capacity. A heap
+     * buffer has an accessible array with an offset of zero.
+     *
+     * @param capacity the capacity required.
+     * @param direct {@code true} for a direct buffer.
+     *
+     * @return a buffer.
+     */
+    public ByteBuffer acquire(final int capacity, final boolean direct) {
+
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                "capacity(" + capacity + ") < 0");
+        }
+
+        final int index = index(capacity);
+        ByteBuffer buffer = null;
+        if (index >= 0) {
+            buffer = index < THREAD_CLASSES ? pop(index, direct) : null;
+            if (buffer == null) {
+                buffer = take(direct ? directs[index] : heaps[index]);
+            }
+        }
+        if (buffer == null) {
+            final int size = index < 0 ? capacity : MIN_CAPACITY << index;
+            buffer = direct ? ByteBuffer.allocateDirect(size)
+                     : ByteBuffer.allocate(size);
+            allocations.incrementAndGet();
+        }
+
+        if (tracked != null && index >= 0) {
+            final Key key = new Key(buffer);
+            tracked.put(key, cleaner.register(buffer, new Leak(key)));
+        }
+
+        buffer.limit(capacity);
+
+        return buffer;
+    }
+
+
+    /**
+     * Releases a buffer acquired from this pool. Buffers of capacities not
+     * of a size class, and heap buffers not backed by a whole array from
+     * offset zero, such as slices, are ignored. Buffers not acquired from this
+     * pool, such as wrapped arrays, should not be released.
+     *
+     * @param buffer the buffer to release.
+     */
+    public void release(final ByteBuffer buffer) {
+
+        if (buffer == null) {
+            throw new NullPointerException("buffer");
+        }
+
+        final int capacity = buffer.capacity();
+        final int index = index(capacity);
+        if (index < 0 || capacity != MIN_CAPACITY << index
+            || buffer.isReadOnly()) {
+            return;
+        }
+
+        // acquire() promises an array with an offset of zero
+        if (!buffer.isDirect() && (buffer.arrayOffset() != 0
+                                   || buffer.array().length != capacity)) {
+            return;
+        }
+
+        if (tracked != null) {
+            final Cleaner.Cleanable cleanable =
+                tracked.remove(new Key(buffer));
+            if (cleanable == null) {
+                throw new IllegalStateException(
+                    "the buffer is not acquired or already released");
+            }
+            cleanable.clean(); // finds nothing tracked, reports nothing
+        }
+
+        buffer.clear();
+        final boolean direct = buffer.isDirect();
+        if (index < THREAD_CLASSES && push(index, direct, buffer)) {
+            return;
+        }
+        put(direct ? directs[index] : heaps[index], buffer);
+    }
+
+
+    private ByteBuffer pop(final int index, final boolean direct) {
+
+        if (threadCacheSize == 0) {
+            return null;
+        }
+
+        final Local local = locals.get();
+        final int[] counts = direct ? local.directCounts : local.heapCounts;
+        final int count = counts[index];
+        if (count == 0) {
+            return null;
+        }
+
+        final ByteBuffer[] stack =
+            (direct ? local.directs : local.heaps)[index];
+        final ByteBuffer buffer = stack[count - 1];
+        stack[count - 1] = null;
+        counts[index] = count - 1;
+
+        return buffer;
+    }
+
+
+    private boolean push(final int index, final boolean direct,
+                         final ByteBuffer buffer) {
+
+        if (threadCacheSize == 0) {
+            return false;
+        }
+
+        final Local local = locals.get();
+        final int[] counts = direct ? local.directCounts : local.heapCounts;
+        final int count = counts[index];
+        if (count == threadCacheSize) {
+            return false;
+        }
+
+        (direct ? local.directs : local.heaps)[index][count] = buffer;
+        counts[index] = count + 1;
+
+        return true;
+    }
+
+
+    private static ByteBuffer take(
+        final AtomicReferenceArray<ByteBuffer> slots) {
+
+        for (int i = 0; i < slots.length(); i++) {
+            final ByteBuffer buffer = slots.get(i);
+            if (buffer != null && slots.compareAndSet(i, buffer, null)) {
+                return buffer;
+            }
+        }
+
+        return null;
+    }
+
+
+    private static void put(final AtomicReferenceArray<ByteBuffer> slots,
+                            final ByteBuffer buffer) {
+
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, buffer)) {
+                return;
+            }
+        }
+        // full; dropped
+    }
+
+
+    /**
+     * Returns the number of buffers this pool has allocated so far.
+     *
+     * @return the number of buffers allocated.
+     */
+    public long getAllocationCount() {
+
+        return allocations.get();
+    }
+
+
+    /**
+     * Returns the number of tracked buffers garbage collected without being
+     * released. Always {@code 0} unless tracking.
+     *
+     * @return the number of leaked buffers.
+     */
+    public long getLeakCount() {
+
+        return leaks.get();
+    }
+
+
+    private final int threadCacheSize;
+
+
+    private final AtomicReferenceArray<ByteBuffer>[] heaps;
+
+
+    private final AtomicReferenceArray<ByteBuffer>[] directs;
+
+
+    private final ThreadLocal<Local> locals;
+
+
+    private final Map<Key, Cleaner.Cleanable> tracked;
+
+
+    private final Cleaner cleaner;
+
+
+    private final AtomicLong allocations = new AtomicLong();
+
+
+    private final AtomicLong leaks = new AtomicLong();
+
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * An encoder caches encoded strings of recently encoded inputs, for workloads
+ * which encode the same identifiers or digests over and over. Inputs are
+ * keyed by their octets with {@link HexKey}s; inputs longer than
+ * {@code maximumLength} octets bypass the cache.
+ *
+ * <p>The cache is split into segments, each of which is a least recently used
+ * map guarded by its own lock and holding up to {@code maximumSize /
+ * segments} entries. The number of segments never exceeds
+ * {@code maximumSize}, so the cache never holds more than
+ * {@code maximumSize} entries.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexCachingEncoder {
+
+
+    /**
+     * The default maximum number of octets of inputs cached.
+     */
+    public static final int DEFAULT_MAXIMUM_LENGTH = 64;
+
+
+    /**
+     * The default number of segments.
+     */
+    public static final int DEFAULT_SEGMENTS = 16;
+
+
+    /**
+     * A least recently used map counts its evictions.
+     */
+    private final class Segment extends LinkedHashMap<HexKey, String> {
+
+
+        private static final long serialVersionUID = 1L;
+
+
+        Segment(final int capacity) {
+
+            super(16, .75f, true);
+
+            this.capacity = capacity;
+        }
+
+
+        @Override
+        protected boolean removeEldestEntry(
+            final Map.Entry<HexKey, String> eldest) {
+
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+
+            return false;
+        }
+
+
+        private final int capacity;
+
+
+    }
+
+
+    /**
+     * Creates a new instance with {@link #DEFAULT_MAXIMUM_LENGTH} and
+     * {@link #DEFAULT_SEGMENTS}.
+     *
+     * @param maximumSize the maximum number of entries.
+     */
+    public HexCachingEncoder(final int maximumSize) {
+
+        this(maximumSize, DEFAULT_MAXIMUM_LENGTH, DEFAULT_SEGMENTS);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maximumSize the maximum number of entries.
+     * @param maximumLength the maximum number of octets of inputs cached.
+     * @param segments the number of segments; rounded up to a power of two
+     * and clamped to the largest power of two not greater than
+     * {@code maximumSize}.
+     */
+    public HexCachingEncoder(final int maximumSize, final int maximumLength,
+                             final int segments) {
+
+        super();
+
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException(
+                "maximumSize(" + maximumSize + ") <= 0");
+        }
+
+        if (maximumLength < 0) {
+            throw new IllegalArgumentException(
+                "maximumLength(" + maximumLength + ") < 0");
+        }
+
+        if (segments <= 0 || segments > 65536) {
+            throw new IllegalArgumentException(
+                "segments(" + segments + ") is not in (0, 65536]");
+        }
+
+        this.maximumLength = maximumLength;
+
+        final int count = Math.min(Integer.highestOneBit((segments << 1) - 1),
+                                   Integer.highestOneBit(maximumSize));
+        final int capacity = maximumSize / count;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment(capacity);
+        }
+    }
+
+
+    /**
+     * Encodes given octets into a string of upper-case hex chars, returning a
+     * cached string if any.
+     *
+     * @param input the octets to encode.
+     *
+     * @return the encoded string.
+     */
+    public String encodedToString(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (input.length > maximumLength) {
+            bypasses.increment();
+            return encode(input);
+        }
+
+        final HexKey key = HexKey.of(input);
+        final Segment segment = segment(key);
+
+        String value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = encode(input);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+
+        return value;
+    }
+
+
+    private static String encode(final byte[] input) {
+
+        return new String(HexEncoder.encodeMultiple(input),
+                          StandardCharsets.US_ASCII);
+    }
+
+
+    private Segment segment(final HexKey key) {
+
+        final int hash = key.hashCode();
+
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+
+    /**
+     * Removes all entries. Statistics are kept.
+     */
+    public void clear() {
+
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+
+    /**
+     * Returns the current number of entries.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+
+        int size = 0;
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+
+    /**
+     * Returns the number of lookups found cached.
+     *
+     * @return the number of hits.
+     */
+    public long getHitCount() {
+
+        return hits.sum();
+    }
+
+
+    /**
+     * Returns the number of lookups not found cached.
+     *
+     * @return the number of misses.
+     */
+    public long getMissCount() {
+
+        return misses.sum();
+    }
+
+
+    /**
+     * Returns the number of inputs which bypassed the cache for their length.
+     *
+     * @return the number of bypasses.
+     */
+    public long getBypassCount() {
+
+        return bypasses.sum();
+    }
+
+
+    /**
+     * Returns the number of entries evicted.
+     *
+     * @return the number of evictions.
+     */
+    public long getEvictionCount() {
+
+        return evictions.sum();
+    }
+
+
+    private final int maximumLength;
+
+
+    private final Segment[] segments;
+
+
+    private final LongAdder hits = new LongAdder();
+
+
+    private final LongAdder misses = new LongAdder();
+
+
+    private final LongAdder bypasses = new LongAdder();
+
+
+    private final LongAdder evictions = new LongAdder();
+
+
+}
@@ -0,0 +1,482 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+
+
+/**
+ * The result of measuring {@link HexEngine}s on each {@link SizeClass}.
+ * Instances are immutable and can be stored to, and loaded from, streams in
+ * the {@link Properties} format.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ * @see HexEngines#calibration()
+ */
+public final class HexCalibration {
+
+
+    /**
+     * Classes of input sizes dispatched separately.
+     */
+    public static enum SizeClass {
+
+
+        /**
+         * Inputs of up to 64 octets.
+         */
+        SMALL(64, 32),
+        /**
+         * Inputs of up to 4096 octets.
+         */
+        MEDIUM(4096, 1024),
+        /**
+         * Inputs of more than 4096 octets.
+         */
+        LARGE(Integer.MAX_VALUE, 65536);
+
+
+        /**
+         * Returns the size class of given number of octets.
+         *
+         * @param count the number of octets.
+         *
+         * @return the size class.
+         */
+        public static SizeClass of(final int count) {
+
+            if (count <= SMALL.maximum) {
+                return SMALL;
+            }
+
+            if (count <= MEDIUM.maximum) {
+                return MEDIUM;
+            }
+
+            return LARGE;
+        }
+
+
+        private SizeClass(final int maximum, final int sample) {
+
+            this.maximum = maximum;
+            this.sample = sample;
+        }
+
+
+        /**
+         * Returns the maximum number of octets of this class.
+         *
+         * @return the maximum number of octets.
+         */
+        public int getMaximum() {
+
+            return maximum;
+        }
+
+
+        /**
+         * Returns the number of octets measured for this class.
+         *
+         * @return the number of octets measured.
+         */
+        public int getSample() {
+
+            return sample;
+        }
+
+
+        private final int maximum;
+
+
+        private final int sample;
+
+
+    }
+
+
+    /**
+     * System properties identify the environment a calibration measured on.
+     */
+    private static final String[] ENVIRONMENT = new String[]{
+        "java.vm.name", "java.vm.version", "os.name", "os.arch"
+    };
+
+
+    private static String key(final SizeClass sizeClass) {
+
+        return sizeClass.name().toLowerCase();
+    }
+
+
+    /**
+     * Returns the properties of current environment.
+     *
+     * @return the environment.
+     */
+    static Map<String, String> environment() {
+
+        final Map<String, String> environment =
+            new LinkedHashMap<String, String>();
+        for (final String name : ENVIRONMENT) {
+            environment.put(name, System.getProperty(name, ""));
+        }
+
+        return environment;
+    }
+
+
+    /**
+     * Loads a calibration from given stream.
+     *
+     * @param input the stream to read.
+     *
+     * @return the calibration loaded.
+     *
+     * @throws IOException if an I/O error occurs.
+     * @throws IllegalArgumentException if the stream does not contain a
+     * calibration.
+     */
+    public static HexCalibration load(final InputStream input)
+        throws IOException {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final Properties properties = new Properties();
+        properties.load(input);
+
+        final Map<String, String> environment =
+            new LinkedHashMap<String, String>();
+        for (final String name : ENVIRONMENT) {
+            final String value = properties.getProperty("environment." + name);
+            if (value == null) {
+                throw new IllegalArgumentException(
+                    "no environment." + name);
+            }
+            environment.put(name, value);
+        }
+
+        final SizeClass[] sizeClasses = SizeClass.values();
+        final String[] encoders = new String[sizeClasses.length];
+        final String[] decoders = new String[sizeClasses.length];
+        for (final SizeClass sizeClass : sizeClasses) {
+            encoders[sizeClass.ordinal()] =
+                properties.getProperty("encoder." + key(sizeClass));
+            decoders[sizeClass.ordinal()] =
+                properties.getProperty("decoder." + key(sizeClass));
+            if (encoders[sizeClass.ordinal()] == null
+                || decoders[sizeClass.ordinal()] == null) {
+                throw new IllegalArgumentException(
+                    "no engines for " + key(sizeClass));
+            }
+        }
+
+        final Map<String, double[]> encodeNanos =
+            new LinkedHashMap<String, double[]>();
+        final Map<String, double[]> decodeNanos =
+            new LinkedHashMap<String, double[]>();
+        for (final String name : properties.getProperty("engines", "")
+            .split(",")) {
+            if (name.length() == 0) {
+                continue;
+            }
+            final double[] encode = new double[sizeClasses.length];
+            final double[] decode = new double[sizeClasses.length];
+            for (final SizeClass sizeClass : sizeClasses) {
+                encode[sizeClass.ordinal()] = Double.parseDouble(
+                    properties.getProperty(
+                        "encode." + name + "." + key(sizeClass), "NaN"));
+                decode[sizeClass.ordinal()] = Double.parseDouble(
+                    properties.getProperty(
+                        "decode." + name + "." + key(sizeClass), "NaN"));
+            }
+            encodeNanos.put(name, encode);
+            decodeNanos.put(name, decode);
+        }
+
+        return new HexCalibration(environment, encoders, decoders, encodeNanos,
+                                  decodeNanos);
+    }
+
+
+    /**
+     * Returns an uncalibrated instance uses given engine for all size classes.
+     *
+     * @param engine the name of the engine.
+     *
+     * @return an uncalibrated instance.
+     */
+    static HexCalibration fixed(final String engine) {
+
+        final int length = SizeClass.values().length;
+        final String[] engines = new String[length];
+        for (int i = 0; i < length; i++) {
+            engines[i] = engine;
+        }
+
+        return new HexCalibration(environment(), engines, engines.clone(),
+                                  new LinkedHashMap<String, double[]>(),
+                                  new LinkedHashMap<String, double[]>());
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param environment the environment measured on.
+     * @param encoders the names of encoders indexed by size classes.
+     * @param decoders the names of decoders indexed by size classes.
+     * @param encodeNanos the nanoseconds per octet of encoding of each engine.
+     * @param decodeNanos the nanoseconds per octet of decoding of each engine.
+     */
+    HexCalibration(final Map<String, String> environment,
+                   final String[] encoders, final String[] decoders,
+                   final Map<String, double[]> encodeNanos,
+                   final Map<String, double[]> decodeNanos) {
+
+        super();
+
+        this.environment = Collections.unmodifiableMap(environment);
+        this.encoders = encoders;
+        this.decoders = decoders;
+        this.encodeNanos = encodeNanos;
+        this.decodeNanos = decodeNanos;
+    }
+
+
+    /**
+     * Stores this calibration to given stream.
+     *
+     * @param output the stream to write.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public void store(final OutputStream output) throws IOException {
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        final Properties properties = new Properties();
+        for (final Entry<String, String> entry : environment.entrySet()) {
+            properties.setProperty(
+                "environment." + entry.getKey(), entry.getValue());
+        }
+        for (final SizeClass sizeClass : SizeClass.values()) {
+            properties.setProperty("encoder." + key(sizeClass),
+                                   encoders[sizeClass.ordinal()]);
+            properties.setProperty("decoder." + key(sizeClass),
+                                   decoders[sizeClass.ordinal()]);
+        }
+        final StringBuilder engines = new StringBuilder();
+        for (final String name : encodeNanos.keySet()) {
+            if (engines.length() > 0) {
+                engines.append(',');
+            }
+            engines.append(name);
+            for (final SizeClass sizeClass : SizeClass.values()) {
+                properties.setProperty(
+                    "encode." + name + "." + key(sizeClass),
+                    Double.toString(getEncodeNanos(name, sizeClass)));
+                properties.setProperty(
+                    "decode." + name + "." + key(sizeClass),
+                    Double.toString(getDecodeNanos(name, sizeClass)));
+            }
+        }
+        properties.setProperty("engines", engines.toString());
+
+        properties.store(output, HexCalibration.class.getName());
+    }
+
+
+    /**
+     * Checks if this calibration was measured on current environment.
+     *
+     * @return {@code true} if measured on current environment; {@code false}
+     * otherwise.
+     */
+    public boolean isCurrent() {
+
+        return environment.equals(environment());
+    }
+
+
+    /**
+     * Checks if this calibration is measured or just fixed to an engine.
+     *
+     * @return {@code true} if measured; {@code false} otherwise.
+     */
+    public boolean isMeasured() {
+
+        return !encodeNanos.isEmpty();
+    }
+
+
+    /**
+     * Returns the environment this calibration measured on.
+     *
+     * @return the environment.
+     */
+    public Map<String, String> getEnvironment() {
+
+        return environment;
+    }
+
+
+    /**
+     * Returns the name of the engine chosen for encoding on given size class.
+     *
+     * @param sizeClass the size class.
+     *
+     * @return the name of the chosen engine.
+     */
+    public String getEncoder(final SizeClass sizeClass) {
+
+        if (sizeClass == null) {
+            throw new NullPointerException("sizeClass");
+        }
+
+        return encoders[sizeClass.ordinal()];
+    }
+
+
+    /**
+     * Returns the name of the engine chosen for decoding on given size class.
+     *
+     * @param sizeClass the size class.
+     *
+     * @return the name of the chosen engine.
+     */
+    public String getDecoder(final SizeClass sizeClass) {
+
+        if (sizeClass == null) {
+            throw new NullPointerException("sizeClass");
+        }
+
+        return decoders[sizeClass.ordinal()];
+    }
+
+
+    /**
+     * Returns the names of engines measured.
+     *
+     * @return the names of engines measured.
+     */
+    public Set<String> getEngines() {
+
+        return Collections.unmodifiableSet(encodeNanos.keySet());
+    }
+
+
+    /**
+     * Returns the measured nanoseconds per octet of encoding.
+     *
+     * @param engine the name of the engine.
+     * @param sizeClass the size class.
+     *
+     * @return the nanoseconds per octet; {@code NaN} if not measured.
+     */
+    public double getEncodeNanos(final String engine,
+                                 final SizeClass sizeClass) {
+
+        return nanos(encodeNanos, engine, sizeClass);
+    }
+
+
+    /**
+     * Returns the measured nanoseconds per octet of decoding.
+     *
+     * @param engine the name of the engine.
+     * @param sizeClass the size class.
+     *
+     * @return the nanoseconds per octet; {@code NaN} if not measured.
+     */
+    public double getDecodeNanos(final String engine,
+                                 final SizeClass sizeClass) {
+
+        return nanos(decodeNanos, engine, sizeClass);
+    }
+
+
+    private static double nanos(final Map<String, double[]> nanos,
+                                final String engine,
+                                final SizeClass sizeClass) {
+
+        if (engine == null) {
+            throw new NullPointerException("engine");
+        }
+
+        if (sizeClass == null) {
+            throw new NullPointerException("sizeClass");
+        }
+
+        final double[] values = nanos.get(engine);
+        if (values == null) {
+            return Double.NaN;
+        }
+
+        return values[sizeClass.ordinal()];
+    }
+
+
+    @Override
+    public String toString() {
+
+        final StringBuilder builder = new StringBuilder(
+            super.toString()).append("{");
+        for (final SizeClass sizeClass : SizeClass.values()) {
+            if (sizeClass.ordinal() > 0) {
+                builder.append(", ");
+            }
+            builder.append(key(sizeClass))
+                .append("=").append(encoders[sizeClass.ordinal()])
+                .append("/").append(decoders[sizeClass.ordinal()]);
+        }
+
+        return builder.append("}").toString();
+    }
+
+
+    private final Map<String, String> environment;
+
+
+    private final String[] encoders;
+
+
+    private final String[] decoders;
+
+
+    private final Map<String, double[]> encodeNanos;
+
+
+    private final Map<String, double[]> decodeNanos;
+
+
+}
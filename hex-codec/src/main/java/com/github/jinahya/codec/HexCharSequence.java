@@ -0,0 +1,193 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * A lazy view of octets as upper-case hex chars. Hex chars are computed on
+ * demand and {@link #toString()} encodes only once, so instances cost next to
+ * nothing unless they are actually read, e.g., by a disabled logger.
+ *
+ * <p>The octets are not copied; they should not be modified while the view is
+ * in use.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class HexCharSequence implements CharSequence {
+
+
+    /**
+     * Returns a view of all octets in given array.
+     *
+     * @param input the octets to view.
+     *
+     * @return a view of the octets.
+     */
+    public static HexCharSequence of(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        return new HexCharSequence(input, 0, input.length << 1);
+    }
+
+
+    /**
+     * Returns a view of a slice of given array.
+     *
+     * @param input the octets to view.
+     * @param offset the offset in the array.
+     * @param length the number of octets to view.
+     *
+     * @return a view of the octets.
+     */
+    public static HexCharSequence of(final byte[] input, final int offset,
+                                     final int length) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset(" + offset + ") < 0");
+        }
+
+        if (length < 0) {
+            throw new IllegalArgumentException("length(" + length + ") < 0");
+        }
+
+        if (length > input.length - offset) {
+            throw new IllegalArgumentException(
+                "offset(" + offset + ") + length(" + length
+                + ") > input.length(" + input.length + ")");
+        }
+
+        return new HexCharSequence(
+            input, offset << 1, (offset + length) << 1);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param input the octets.
+     * @param start the index of the first hex char in whole array, inclusive.
+     * @param end the index of the last hex char in whole array, exclusive.
+     */
+    private HexCharSequence(final byte[] input, final int start,
+                            final int end) {
+
+        super();
+
+        this.input = input;
+        this.start = start;
+        this.end = end;
+    }
+
+
+    @Override
+    public int length() {
+
+        return end - start;
+    }
+
+
+    @Override
+    public char charAt(final int index) {
+
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException(
+                "index: " + index + ", length: " + (end - start));
+        }
+
+        final int position = start + index;
+        final int octet = input[position >> 1];
+
+        return (char) HexTables.ENCODE[(position & 0x01) == 0
+                                       ? (octet >> 4) & 0x0F : octet & 0x0F];
+    }
+
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+
+        if (start < 0 || end > this.end - this.start || start > end) {
+            throw new IndexOutOfBoundsException(
+                "start: " + start + ", end: " + end + ", length: "
+                + (this.end - this.start));
+        }
+
+        return new HexCharSequence(input, this.start + start, this.start + end);
+    }
+
+
+    /**
+     * Returns the hex chars as a string. The string is encoded at the first
+     * invocation and cached.
+     *
+     * @return the hex chars as a string.
+     */
+    @Override
+    public String toString() {
+
+        String string = this.string;
+        if (string == null) {
+            final int length = end - start;
+            final byte[] output = new byte[length];
+            final int inoff = (start + 1) >> 1; // first whole octet
+            int outoff = 0;
+            if ((start & 0x01) == 0x01 && length > 0) {
+                output[outoff++] = (byte) charAt(0);
+            }
+            final int count = (end >> 1) - inoff;
+            if (count > 0) {
+                HexEncoder.encodeMultiple(input, inoff, output, outoff, count);
+                outoff += count << 1;
+            }
+            if (outoff < length) {
+                output[outoff] = (byte) charAt(length - 1);
+            }
+            string = new String(output, StandardCharsets.US_ASCII);
+            this.string = string;
+        }
+
+        return string;
+    }
+
+
+    private final byte[] input;
+
+
+    private final int start;
+
+
+    private final int end;
+
+
+    /**
+     * The string cached; racy but benign.
+     */
+    private String string;
+
+
+}
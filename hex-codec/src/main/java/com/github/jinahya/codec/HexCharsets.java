@@ -0,0 +1,134 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Shortcuts between text and hex when the hex side is in an ASCII compatible
+ * charset, so that hex chars and their octets are the same.
+ *
+ * <p>Decoding reads hex chars straight out of the string into the octets of
+ * the text, skipping the octets of the hex chars. Encoding keeps
+ * {@link String#getBytes(Charset)}, whose intrinsics encode faster than a
+ * block-wise {@link java.nio.charset.CharsetEncoder} or an inline per-char
+ * loop feeding the hex stage, and builds the result from hex chars without
+ * checking them again. Hex chars and decoded octets are held in blocks of the
+ * {@link HexBufferPool#getDefault() default pool}; encoding allocates the
+ * octets of the text and the resulting string, decoding only the resulting
+ * string.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+final class HexCharsets {
+
+
+    /**
+     * Checks whether hex chars and their octets in given charset are the
+     * same.
+     *
+     * @param charset the charset to check.
+     *
+     * @return {@code true} if {@code charset} is ASCII compatible.
+     */
+    static boolean compatible(final Charset charset) {
+
+        return charset == StandardCharsets.US_ASCII
+               || charset == StandardCharsets.ISO_8859_1
+               || charset == StandardCharsets.UTF_8;
+    }
+
+
+    /**
+     * Encodes given octets into a string of upper-case hex chars.
+     *
+     * @param input the input array.
+     * @param inoff the offset in the input array.
+     * @param count the number of octets to encode.
+     *
+     * @return a string of hex chars.
+     */
+    static String encode(final byte[] input, final int inoff,
+                         final int count) {
+
+        final HexBufferPool pool = HexBufferPool.getDefault();
+        final ByteBuffer block = pool.acquire(count << 1, false);
+        try {
+            final byte[] hex = block.array();
+            HexEncoder.encodeMultiple(input, inoff, hex, 0, count);
+            // hex chars are all below 0x80; no need to check as US-ASCII does
+            return new String(hex, 0, count << 1, StandardCharsets.ISO_8859_1);
+        } finally {
+            pool.release(block);
+        }
+    }
+
+
+    /**
+     * Encodes given text with given charset and encodes the resulting octets
+     * into a string of upper-case hex chars.
+     *
+     * @param text the text.
+     * @param charset the charset to encode the text.
+     *
+     * @return a string of hex chars.
+     */
+    static String encode(final String text, final Charset charset) {
+
+        final byte[] octets = text.getBytes(charset);
+
+        return encode(octets, 0, octets.length);
+    }
+
+
+    /**
+     * Decodes given hex chars into octets and decodes the resulting octets
+     * with given charset. A trailing odd hex char is ignored.
+     *
+     * @param hex the hex chars.
+     * @param charset the charset to decode the octets.
+     *
+     * @return the decoded text.
+     */
+    static String decode(final CharSequence hex, final Charset charset) {
+
+        final int length = hex.length() >> 1;
+        final HexBufferPool pool = HexBufferPool.getDefault();
+        final ByteBuffer block = pool.acquire(length, false);
+        try {
+            final byte[] octets = block.array();
+            HexDecoder.decodeMultiple(hex, 0, octets, 0, length);
+            return new String(octets, 0, length, charset);
+        } finally {
+            pool.release(block);
+        }
+    }
+
+
+    private HexCharsets() {
+
+        super();
+    }
+
+
+}
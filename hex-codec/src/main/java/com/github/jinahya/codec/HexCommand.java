@@ -0,0 +1,574 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * A command-line tool encodes or decodes files or standard streams.
+ * <pre>
+ * java -jar hex.jar [options] [input [output]]
+ *
+ *   -e, --encode           encodes (default)
+ *   -d, --decode           decodes; white spaces and separators are skipped
+ *   -u, --upper            encodes with upper-case chars (default)
+ *   -l, --lower            encodes with lower-case chars
+ *   -s, --separator SEP    inserts SEP between encoded octets
+ *   -w, --width OCTETS     encodes OCTETS octets per line (default 0; no wrap)
+ *   -p, --parallelism N    transcodes each block with N threads (default 1)
+ *   -v, --verbose          prints a throughput summary to standard error
+ *   -h, --help             prints this usage
+ * </pre>
+ * An absent or {@code -} input or output denotes the standard stream. The
+ * process exits with {@code 0} on success, {@code 1} on an I/O error or an
+ * illegal input, and {@code 2} on a usage error.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexCommand {
+
+
+    /**
+     * The number of input octets read for each block.
+     */
+    static final int BLOCK = 4194304;
+
+
+    private static final String USAGE
+        = "usage: java -jar hex.jar [options] [input [output]]\n"
+          + "  -e, --encode           encodes (default)\n"
+          + "  -d, --decode           decodes\n"
+          + "  -u, --upper            encodes with upper-case chars"
+          + " (default)\n"
+          + "  -l, --lower            encodes with lower-case chars\n"
+          + "  -s, --separator SEP    inserts SEP between encoded octets\n"
+          + "  -w, --width OCTETS     encodes OCTETS octets per line\n"
+          + "  -p, --parallelism N    transcodes with N threads\n"
+          + "  -v, --verbose          prints a throughput summary\n"
+          + "  -h, --help             prints this usage\n";
+
+
+    /**
+     * The entry point.
+     *
+     * @param args command-line arguments.
+     */
+    public static void main(final String[] args) {
+
+        final int status = run(args, System.in, System.out, System.err);
+        System.out.flush();
+
+        System.exit(status);
+    }
+
+
+    /**
+     * Runs with given arguments and streams.
+     *
+     * @param args command-line arguments.
+     * @param in the standard input.
+     * @param out the standard output.
+     * @param err the standard error.
+     *
+     * @return the exit status.
+     */
+    static int run(final String[] args, final InputStream in,
+                   final OutputStream out, final PrintStream err) {
+
+        final HexCommand command = new HexCommand();
+        final List<String> operands = new ArrayList<String>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                final String arg = args[i];
+                if ("-e".equals(arg) || "--encode".equals(arg)) {
+                    command.decoding = false;
+                } else if ("-d".equals(arg) || "--decode".equals(arg)) {
+                    command.decoding = true;
+                } else if ("-u".equals(arg) || "--upper".equals(arg)) {
+                    command.lower = false;
+                } else if ("-l".equals(arg) || "--lower".equals(arg)) {
+                    command.lower = true;
+                } else if ("-s".equals(arg) || "--separator".equals(arg)) {
+                    command.separator = operand(args, ++i, arg)
+                        .getBytes(StandardCharsets.US_ASCII);
+                } else if ("-w".equals(arg) || "--width".equals(arg)) {
+                    command.width = number(args, ++i, arg, 0);
+                } else if ("-p".equals(arg) || "--parallelism".equals(arg)) {
+                    command.parallelism = number(args, ++i, arg, 1);
+                } else if ("-v".equals(arg) || "--verbose".equals(arg)) {
+                    command.verbose = true;
+                } else if ("-h".equals(arg) || "--help".equals(arg)) {
+                    err.print(USAGE);
+                    return 0;
+                } else if (arg.length() > 1 && arg.startsWith("-")) {
+                    throw new IllegalArgumentException(
+                        "unknown option: " + arg);
+                } else {
+                    operands.add(arg);
+                }
+            }
+            if (operands.size() > 2) {
+                throw new IllegalArgumentException("too many operands");
+            }
+        } catch (final IllegalArgumentException iae) {
+            err.println("hex: " + iae.getMessage());
+            err.print(USAGE);
+            return 2;
+        }
+
+        final String input = operands.size() > 0 ? operands.get(0) : "-";
+        final String output = operands.size() > 1 ? operands.get(1) : "-";
+
+        try {
+            final InputStream source =
+                "-".equals(input) ? in : new FileInputStream(input);
+            try {
+                final OutputStream target =
+                    "-".equals(output) ? out : new FileOutputStream(output);
+                try {
+                    final ReadableByteChannel readable = source
+                        instanceof FileInputStream
+                        ? ((FileInputStream) source).getChannel()
+                        : Channels.newChannel(source);
+                    final WritableByteChannel writable = target
+                        instanceof FileOutputStream
+                        ? ((FileOutputStream) target).getChannel()
+                        : Channels.newChannel(target);
+                    final long started = System.nanoTime();
+                    command.execute(readable, writable);
+                    final long elapsed = System.nanoTime() - started;
+                    if (command.verbose) {
+                        err.printf("hex: %d octets read, %d octets written"
+                                   + " in %.3f s (%.1f MiB/s)%n",
+                                   command.read, command.written,
+                                   elapsed / 1000000000.0d,
+                                   command.read * 1000000000.0d
+                                   / Math.max(1L, elapsed) / 1048576.0d);
+                    }
+                } finally {
+                    if (target != out) {
+                        target.close();
+                    } else {
+                        target.flush();
+                    }
+                }
+            } finally {
+                if (source != in) {
+                    source.close();
+                }
+            }
+        } catch (final IllegalArgumentException iae) {
+            err.println("hex: " + iae.getMessage());
+            return 1;
+        } catch (final IOException ioe) {
+            err.println("hex: " + ioe.getMessage());
+            return 1;
+        }
+
+        return 0;
+    }
+
+
+    private static String operand(final String[] args, final int index,
+                                  final String option) {
+
+        if (index >= args.length) {
+            throw new IllegalArgumentException(
+                "missing argument for " + option);
+        }
+
+        return args[index];
+    }
+
+
+    private static int number(final String[] args, final int index,
+                              final String option, final int minimum) {
+
+        final String operand = operand(args, index, option);
+        final int number;
+        try {
+            number = Integer.parseInt(operand);
+        } catch (final NumberFormatException nfe) {
+            throw new IllegalArgumentException(
+                "illegal argument for " + option + ": " + operand);
+        }
+        if (number < minimum) {
+            throw new IllegalArgumentException(
+                "illegal argument for " + option + ": " + operand);
+        }
+
+        return number;
+    }
+
+
+    private static int fill(final ReadableByteChannel channel,
+                            final ByteBuffer buffer)
+        throws IOException {
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return -1;
+            }
+        }
+
+        return buffer.position();
+    }
+
+
+    private static void drain(final WritableByteChannel channel,
+                              final ByteBuffer buffer)
+        throws IOException {
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+
+    private HexCommand() {
+
+        super();
+    }
+
+
+    private void execute(final ReadableByteChannel source,
+                         final WritableByteChannel target)
+        throws IOException {
+
+        final ExecutorService executor = parallelism > 1
+                                         ? Executors.newFixedThreadPool(
+                                             parallelism)
+                                         : null;
+        try {
+            if (decoding) {
+                decode(source, target, executor);
+            } else {
+                encode(source, target, executor);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+
+    private void encode(final ReadableByteChannel source,
+                        final WritableByteChannel target,
+                        final ExecutorService executor)
+        throws IOException {
+
+        final int block = width > 0 ? Math.max(width, BLOCK / width * width)
+                          : BLOCK;
+        final byte[] input = new byte[block];
+        final ByteBuffer inputBuffer = ByteBuffer.wrap(input);
+        byte[] output = new byte[0];
+        final boolean formatting = separator.length > 0 || width > 0;
+        final byte[][] scratches = new byte[parallelism][];
+
+        long index = 0L;
+        while (true) {
+            inputBuffer.clear();
+            final boolean eof = fill(source, inputBuffer) < 0;
+            final int length = inputBuffer.position();
+            read += length;
+
+            final int slice = (length + parallelism - 1) / parallelism;
+            final int[] offsets = new int[parallelism + 1];
+            for (int s = 0; s < parallelism; s++) {
+                final int inoff = Math.min(length, s * slice);
+                offsets[s + 1] = offsets[s] + length(
+                    Math.min(length - inoff, slice), index + inoff);
+            }
+            if (offsets[parallelism] + 1 > output.length) {
+                output = new byte[offsets[parallelism] + 1];
+            }
+
+            final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+            for (int s = 0; s < parallelism; s++) {
+                final int inoff = Math.min(length, s * slice);
+                final int count = Math.min(length - inoff, slice);
+                final long first = index + inoff;
+                final int outoff = offsets[s];
+                if (formatting && (scratches[s] == null
+                                   || scratches[s].length < count << 1)) {
+                    scratches[s] = new byte[count << 1];
+                }
+                final byte[] scratch = scratches[s];
+                final byte[] out = output;
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        format(input, inoff, count, first, scratch, out,
+                               outoff);
+                        return null;
+                    }
+                });
+            }
+            invoke(executor, tasks);
+            index += length;
+            int outoff = offsets[parallelism];
+            if (eof && width > 0 && index % width != 0L) {
+                output[outoff++] = '\n';
+            }
+
+            drain(target, ByteBuffer.wrap(output, 0, outoff));
+            written += outoff;
+
+            if (eof) {
+                break;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the number of octets written for encoding {@code count} octets
+     * starting at {@code first}th octet of the input.
+     */
+    private int length(final int count, final long first) {
+
+        if (count == 0) {
+            return 0;
+        }
+
+        if (width == 0) {
+            return (count << 1) + (count - (first == 0L ? 1 : 0))
+                                  * separator.length;
+        }
+
+        final long starts = lines(first + count) - lines(first);
+        final long newlines = lines(first + count + 1) - lines(first + 1);
+
+        return (int) ((count << 1) + (count - starts) * separator.length
+                      + newlines);
+    }
+
+
+    /**
+     * Returns the number of multiples of {@code width} in {@code [0, x)}.
+     */
+    private long lines(final long x) {
+
+        return (x + width - 1) / width;
+    }
+
+
+    private void format(final byte[] input, final int inoff, final int count,
+                        final long first, final byte[] scratch,
+                        final byte[] output, int outoff) {
+
+        if (scratch == null) { // no separator, no width
+            HexEncoder.encodeMultiple(input, inoff, output, outoff, count);
+            if (lower) {
+                lower(output, outoff, count << 1);
+            }
+            return;
+        }
+
+        HexEncoder.encodeMultiple(input, inoff, scratch, 0, count);
+        if (lower) {
+            lower(scratch, 0, count << 1);
+        }
+
+        if (separator.length == 0) { // copies each line at once
+            for (int i = 0; i < count;) {
+                final int run = (int) Math.min(
+                    count - i, width - (first + i) % width);
+                System.arraycopy(scratch, i << 1, output, outoff, run << 1);
+                outoff += run << 1;
+                i += run;
+                if ((first + i) % width == 0L) {
+                    output[outoff++] = '\n';
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            final long position = first + i;
+            if (position > 0L && (width == 0 || position % width != 0L)) {
+                System.arraycopy(separator, 0, output, outoff,
+                                 separator.length);
+                outoff += separator.length;
+            }
+            output[outoff++] = scratch[i << 1];
+            output[outoff++] = scratch[(i << 1) + 1];
+            if (width > 0 && (position + 1) % width == 0L) {
+                output[outoff++] = '\n';
+            }
+        }
+    }
+
+
+    private static void lower(final byte[] buffer, final int offset,
+                              final int length) {
+
+        for (int i = offset; i < offset + length; i++) {
+            buffer[i] |= 0x20; // '0' ~ '9' already have the bit
+        }
+    }
+
+
+    private void decode(final ReadableByteChannel source,
+                        final WritableByteChannel target,
+                        final ExecutorService executor)
+        throws IOException {
+
+        final boolean[] skipped = new boolean[256];
+        skipped[' '] = skipped['\t'] = skipped['\r'] = skipped['\n'] = true;
+        for (final byte b : separator) {
+            skipped[b & 0xFF] = true;
+        }
+
+        final byte[] input = new byte[BLOCK];
+        final ByteBuffer inputBuffer = ByteBuffer.wrap(input);
+        final byte[] output = new byte[BLOCK >> 1];
+
+        int carried = 0;
+        while (true) {
+            inputBuffer.clear().position(carried);
+            final boolean eof = fill(source, inputBuffer) < 0;
+            final int length = inputBuffer.position();
+            read += length - carried;
+
+            int kept = carried;
+            for (int i = carried; i < length; i++) {
+                final byte b = input[i];
+                if (!skipped[b & 0xFF]) {
+                    input[kept++] = b;
+                }
+            }
+
+            final int pairs = kept >> 1;
+            final int slice = (pairs + parallelism - 1) / parallelism;
+            final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+            for (int s = 0; s < parallelism; s++) {
+                final int outoff = Math.min(pairs, s * slice);
+                final int count = Math.min(pairs - outoff, slice);
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        HexDecoder.decodeMultiple(input, outoff << 1, output,
+                                                  outoff, count);
+                        return null;
+                    }
+                });
+            }
+            invoke(executor, tasks);
+
+            drain(target, ByteBuffer.wrap(output, 0, pairs));
+            written += pairs;
+
+            carried = kept & 0x01;
+            if (carried == 1) {
+                input[0] = input[kept - 1];
+            }
+
+            if (eof) {
+                if (carried == 1) {
+                    throw new IllegalArgumentException(
+                        "odd number of hex chars");
+                }
+                break;
+            }
+        }
+    }
+
+
+    private static void invoke(final ExecutorService executor,
+                               final List<Callable<Void>> tasks)
+        throws IOException {
+
+        if (executor == null) {
+            for (final Callable<Void> task : tasks) {
+                try {
+                    task.call();
+                } catch (final RuntimeException re) {
+                    throw re;
+                } catch (final Exception e) {
+                    throw new IOException(e);
+                }
+            }
+            return;
+        }
+
+        final List<Future<Void>> futures;
+        try {
+            futures = executor.invokeAll(tasks);
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ie);
+        } catch (final ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+
+    private boolean decoding;
+
+
+    private boolean lower;
+
+
+    private byte[] separator = new byte[0];
+
+
+    private int width;
+
+
+    private int parallelism = 1;
+
+
+    private boolean verbose;
+
+
+    private long read;
+
+
+    private long written;
+
+
+}
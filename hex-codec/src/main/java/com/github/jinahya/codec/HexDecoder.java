@@ -0,0 +1,1143 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexDecoder {
+
+
+    /**
+     * Decodes a single nibble.
+     *
+     * @param input the nibble to decode.
+     *
+     * @return the decoded half octet.
+     */
+    static int decodeHalf(final int input) {
+
+        switch (input) {
+            case 0x30: // '0'
+            case 0x31: // '1'
+            case 0x32: // '2'
+            case 0x33: // '3'
+            case 0x34: // '4'
+            case 0x35: // '5'
+            case 0x36: // '6'
+            case 0x37: // '7'
+            case 0x38: // '8'
+            case 0x39: // '9'
+                return input - 0x30;
+            case 0x41: // 'A'
+            case 0x42: // 'B'
+            case 0x43: // 'C'
+            case 0x44: // 'D'
+            case 0x45: // 'E'
+            case 0x46: // 'F'
+                return input - 0x37;
+            case 0x61: // 'a'
+            case 0x62: // 'b'
+            case 0x63: // 'c'
+            case 0x64: // 'd'
+            case 0x65: // 'e'
+            case 0x66: // 'f'
+                return input - 0x57;
+            default:
+                throw new IllegalArgumentException("illegal input: " + input);
+        }
+    }
+
+
+    /**
+     * Decodes two nibbles in given input array and returns the decoded octet.
+     *
+     * @param input the input array of nibbles.
+     * @param inoff the offset in the array.
+     *
+     * @return the decoded octet.
+     */
+    public static int decodeSingle(final byte[] input, final int inoff) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (input.length < 2) {
+            // not required by (inoff >= input.length -1) checked below
+            throw new IllegalArgumentException(
+                "input.length(" + input.length + ") < 2");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (inoff >= input.length - 1) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") >= input.length(" + input.length
+                + ") - 1");
+        }
+
+        return (decodeHalf(input[inoff] & 0xFF) << 4)
+               | decodeHalf(input[inoff + 1] & 0xFF);
+    }
+
+
+    /**
+     * Decodes two nibbles in given input array and writes the resulting single
+     * octet into specified output array.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     */
+    public static void decodeSingle(final byte[] input, final int inoff,
+                                    final byte[] output, final int outoff) {
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (outoff >= output.length) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") >= output.length(" + output.length
+                + ")");
+        }
+
+        output[outoff] = (byte) decodeSingle(input, inoff);
+    }
+
+
+    /**
+     * Decodes multiple units in given input array and writes the resulting
+     * octets into specifed output array. The lengths of common digests (16,
+     * 20, 32 and 64 octets) take unrolled paths; others are delegated to the
+     * {@link HexEngine} chosen by {@link HexEngines} for {@code count}.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of units to process
+     */
+    public static void decodeMultiple(final byte[] input, final int inoff,
+                                      final byte[] output, final int outoff,
+                                      final int count) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (count > (input.length - inoff) >> 1) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") * 2 > "
+                + "input.length(" + input.length + ")");
+        }
+
+        if (count > output.length - outoff) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + count(" + count + ") > output.length("
+                + output.length + ")");
+        }
+
+        if (HexFixedSizes.fixed(count) && HexEngines.specialized()) {
+            HexFixedSizes.decode(input, inoff, output, outoff, count);
+            return;
+        }
+
+        HexEngines.decoder(count).decode(input, inoff, output, outoff, count);
+    }
+
+
+    /**
+     * Decodes multiple units in given char sequence and writes the resulting
+     * octets into specified output array.
+     *
+     * @param input the input char sequence
+     * @param inoff the offset in input char sequence
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of units to process
+     */
+    public static void decodeMultiple(final CharSequence input, int inoff,
+                                      final byte[] output, int outoff,
+                                      final int count) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (count > (input.length() - inoff) >> 1) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") * 2 > "
+                + "input.length(" + input.length() + ")");
+        }
+
+        if (count > output.length - outoff) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + count(" + count + ") > output.length("
+                + output.length + ")");
+        }
+
+        final byte[] table = HexTables.DECODE;
+        for (int i = 0; i < count; i++) {
+            final int c1 = input.charAt(inoff++);
+            final int c2 = input.charAt(inoff++);
+            final int high = c1 > 0xFF ? -1 : table[c1];
+            final int low = c2 > 0xFF ? -1 : table[c2];
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException(
+                    "illegal input: " + (high < 0 ? c1 : c2));
+            }
+            output[outoff++] = (byte) ((high << 4) | low);
+        }
+    }
+
+
+    private static void checkPrimitives(final byte[] input, final int inoff,
+                                        final int length, final int outoff,
+                                        final int count, final int width,
+                                        final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (order == null) {
+            throw new NullPointerException("order");
+        }
+
+        if (count > (input.length - inoff) / width) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") * " + width
+                + " > input.length(" + input.length + ")");
+        }
+
+        if (count > length - outoff) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + count(" + count + ") > output.length("
+                + length + ")");
+        }
+    }
+
+
+    /**
+     * Decodes multiple {@code long} values in given input array and writes
+     * them into specified output array. Each value is decoded from sixteen
+     * hex chars of its octets in given byte order.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of values to decode
+     * @param order the byte order of each value
+     */
+    public static void decodeMultiple(final byte[] input, final int inoff,
+                                      final long[] output, final int outoff,
+                                      final int count, final ByteOrder order) {
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        checkPrimitives(input, inoff, output.length, outoff, count, 16,
+                        order);
+
+        HexPrimitives.decode(input, inoff, output, outoff, count, order);
+    }
+
+
+    /**
+     * Decodes all hex chars in given array into {@code long} values.
+     *
+     * @param input the hex chars to decode; the length must be a multiple of
+     * {@code 16}
+     * @param order the byte order of each value
+     *
+     * @return the decoded values.
+     */
+    public static long[] decodeLongs(final byte[] input,
+                                     final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (input.length % 16 != 0) {
+            throw new IllegalArgumentException(
+                "input.length(" + input.length + ") is not a multiple of 16");
+        }
+
+        final long[] output = new long[input.length / 16];
+
+        decodeMultiple(input, 0, output, 0, output.length, order);
+
+        return output;
+    }
+
+
+    /**
+     * Decodes multiple {@code int} values in given input array and writes
+     * them into specified output array. Each value is decoded from eight
+     * hex chars of its octets in given byte order.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of values to decode
+     * @param order the byte order of each value
+     */
+    public static void decodeMultiple(final byte[] input, final int inoff,
+                                      final int[] output, final int outoff,
+                                      final int count, final ByteOrder order) {
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        checkPrimitives(input, inoff, output.length, outoff, count, 8,
+                        order);
+
+        HexPrimitives.decode(input, inoff, output, outoff, count, order);
+    }
+
+
+    /**
+     * Decodes all hex chars in given array into {@code int} values.
+     *
+     * @param input the hex chars to decode; the length must be a multiple of
+     * {@code 8}
+     * @param order the byte order of each value
+     *
+     * @return the decoded values.
+     */
+    public static int[] decodeInts(final byte[] input,
+                                   final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (input.length % 8 != 0) {
+            throw new IllegalArgumentException(
+                "input.length(" + input.length + ") is not a multiple of 8");
+        }
+
+        final int[] output = new int[input.length / 8];
+
+        decodeMultiple(input, 0, output, 0, output.length, order);
+
+        return output;
+    }
+
+
+    /**
+     * Decodes multiple {@code short} values in given input array and writes
+     * them into specified output array. Each value is decoded from four
+     * hex chars of its octets in given byte order.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of values to decode
+     * @param order the byte order of each value
+     */
+    public static void decodeMultiple(final byte[] input, final int inoff,
+                                      final short[] output, final int outoff,
+                                      final int count, final ByteOrder order) {
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        checkPrimitives(input, inoff, output.length, outoff, count, 4,
+                        order);
+
+        HexPrimitives.decode(input, inoff, output, outoff, count, order);
+    }
+
+
+    /**
+     * Decodes all hex chars in given array into {@code short} values.
+     *
+     * @param input the hex chars to decode; the length must be a multiple of
+     * {@code 4}
+     * @param order the byte order of each value
+     *
+     * @return the decoded values.
+     */
+    public static short[] decodeShorts(final byte[] input,
+                                       final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (input.length % 4 != 0) {
+            throw new IllegalArgumentException(
+                "input.length(" + input.length + ") is not a multiple of 4");
+        }
+
+        final short[] output = new short[input.length / 4];
+
+        decodeMultiple(input, 0, output, 0, output.length, order);
+
+        return output;
+    }
+
+
+    /**
+     * Decodes hex chars in given array into octets in the same array. The hex
+     * chars in {@code [offset, offset + length)} are replaced with octets in
+     * {@code [offset, offset + length / 2)}; the rest of the range is left
+     * as is.
+     *
+     * @param buffer the array
+     * @param offset the offset in the array
+     * @param length the number of hex chars to decode; must be even
+     *
+     * @return the number of octets decoded; {@code length / 2}
+     */
+    public static int decodeInPlace(final byte[] buffer, final int offset,
+                                    final int length) {
+
+        if (buffer == null) {
+            throw new NullPointerException("buffer");
+        }
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset(" + offset + ") < 0");
+        }
+
+        if (length < 0) {
+            throw new IllegalArgumentException("length(" + length + ") < 0");
+        }
+
+        if ((length & 0x01) == 0x01) {
+            throw new IllegalArgumentException(
+                "length(" + length + ") is not even");
+        }
+
+        if (length > buffer.length - offset) {
+            throw new IllegalArgumentException(
+                "offset(" + offset + ") + length(" + length
+                + ") > buffer.length(" + buffer.length + ")");
+        }
+
+        // the table engine reads each pair before writing its octet
+        TableHexEngine.decodeTable(buffer, offset, buffer, offset, length >> 1);
+
+        return length >> 1;
+    }
+
+
+    /**
+     * Decodes units remaining in given input buffer into given output buffer.
+     * This method decodes as many units as the output buffer can hold and
+     * advances the positions of both buffers. A trailing odd nibble, if any, is
+     * left in the input buffer.
+     *
+     * @param input the input buffer
+     * @param output the output buffer
+     *
+     * @return the number of units decoded
+     */
+    public static int decodeMultiple(final ByteBuffer input,
+                                     final ByteBuffer output) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        final int count = Math.min(input.remaining() >> 1, output.remaining());
+
+        if (input.hasArray() && output.hasArray()) {
+            HexEngines.decoder(count).decode(
+                input.array(), input.arrayOffset() + input.position(),
+                output.array(), output.arrayOffset() + output.position(),
+                count);
+            input.position(input.position() + (count << 1));
+            output.position(output.position() + count);
+            return count;
+        }
+
+        final byte[] table = HexTables.DECODE;
+        for (int i = 0; i < count; i++) {
+            final int position = input.position();
+            final int high = table[input.get(position) & 0xFF];
+            final int low = table[input.get(position + 1) & 0xFF];
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException(
+                    "illegal input: "
+                    + (input.get(high < 0 ? position : position + 1) & 0xFF));
+            }
+            output.put((byte) ((high << 4) | low));
+            input.position(position + 2);
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Decodes multiple units in given input array and writes the resulting
+     * octets, from the last to the first, into specified output array. The
+     * arrays should not overlap.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of units to process
+     */
+    public static void decodeReversed(final byte[] input, final int inoff,
+                                      final byte[] output, final int outoff,
+                                      final int count) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (count > (input.length - inoff) >> 1) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") * 2 > "
+                + "input.length(" + input.length + ")");
+        }
+
+        if (count > output.length - outoff) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + count(" + count + ") > output.length("
+                + output.length + ")");
+        }
+
+        HexReversed.decode(input, inoff, output, outoff, count);
+    }
+
+
+    /**
+     * Decodes given sequence of nibbles into a sequence of octets, from the
+     * last to the first.
+     *
+     * @param input the nibbles to decode.
+     *
+     * @return the decoded octets.
+     */
+    public static byte[] decodeReversed(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final byte[] output = new byte[input.length >> 1]; // /2
+
+        decodeReversed(input, 0, output, 0, output.length);
+
+        return output;
+    }
+
+
+    /**
+     * Decodes all units remaining in given input buffer into given output
+     * buffer, from the last octet to the first. The positions of both buffers
+     * are advanced. A trailing odd nibble, if any, is left in the input
+     * buffer.
+     *
+     * @param input the input buffer
+     * @param output the output buffer
+     *
+     * @return the number of units decoded
+     *
+     * @throws BufferOverflowException if the output buffer can't hold all
+     * octets; neither buffer is changed.
+     */
+    public static int decodeReversed(final ByteBuffer input,
+                                     final ByteBuffer output) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        final int count = input.remaining() >> 1;
+        if (count > output.remaining()) {
+            throw new BufferOverflowException();
+        }
+
+        if (input.hasArray() && output.hasArray()) {
+            HexReversed.decode(
+                input.array(), input.arrayOffset() + input.position(),
+                output.array(), output.arrayOffset() + output.position(),
+                count);
+            input.position(input.position() + (count << 1));
+            output.position(output.position() + count);
+            return count;
+        }
+
+        final byte[] table = HexTables.DECODE;
+        final int position = input.position();
+        final int end = output.position() + count;
+        for (int i = 0; i < count; i++) {
+            final int index = position + (i << 1);
+            final int high = table[input.get(index) & 0xFF];
+            final int low = table[input.get(index + 1) & 0xFF];
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException(
+                    "illegal input: "
+                    + (input.get(high < 0 ? index : index + 1) & 0xFF));
+            }
+            output.put(end - 1 - i, (byte) ((high << 4) | low));
+        }
+        input.position(position + (count << 1));
+        output.position(end);
+
+        return count;
+    }
+
+
+    /**
+     * Decodes multiple units in given input array in constant time. Neither
+     * branches nor memory accesses depend on the values of {@code input}.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of units to process
+     *
+     * @throws IllegalArgumentException if any of the units is not valid; the
+     * exception does not tell which one is.
+     */
+    public static void decodeConstantTime(final byte[] input, final int inoff,
+                                          final byte[] output,
+                                          final int outoff, final int count) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (count > (input.length - inoff) >> 1) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") * 2 > "
+                + "input.length(" + input.length + ")");
+        }
+
+        if (count > output.length - outoff) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + count(" + count + ") > output.length("
+                + output.length + ")");
+        }
+
+        ConstantTimeHexEngine.decodeConstantTime(
+            input, inoff, output, outoff, count);
+    }
+
+
+    /**
+     * Decodes given hex chars in constant time. Neither branches nor memory
+     * accesses depend on the values of {@code input}.
+     *
+     * @param input the hex chars to decode.
+     *
+     * @return the decoded octets.
+     *
+     * @throws IllegalArgumentException if {@code input} has an odd length or
+     * any of the chars is not valid; the exception does not tell which one is.
+     */
+    public static byte[] decodeConstantTime(final CharSequence input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if ((input.length() & 0x01) == 0x01) {
+            throw new IllegalArgumentException(
+                "input.length(" + input.length() + ") is not even");
+        }
+
+        final byte[] output = new byte[input.length() >> 1];
+
+        int flag = 0;
+        int index = 0; // index in input
+        for (int i = 0; i < output.length; i++) {
+            final int high =
+                ConstantTimeHexEngine.decodeHalf(input.charAt(index++));
+            final int low =
+                ConstantTimeHexEngine.decodeHalf(input.charAt(index++));
+            flag |= high | low;
+            output[i] = (byte) ((high << 4) | (low & 0x0F));
+        }
+
+        ConstantTimeHexEngine.check(flag);
+
+        return output;
+    }
+
+
+    /**
+     * Compares given octets with given hex chars in constant time. The
+     * comparison is case-insensitive and neither branches nor memory accesses
+     * depend on the contents of {@code raw} or {@code hex}; only the lengths
+     * may leak.
+     *
+     * @param raw the octets to compare.
+     * @param hex the hex chars to compare.
+     *
+     * @return {@code true} if {@code hex} is a valid encoding of {@code raw};
+     * {@code false} otherwise.
+     */
+    public static boolean equalsHex(final byte[] raw, final CharSequence hex) {
+
+        if (raw == null) {
+            throw new NullPointerException("raw");
+        }
+
+        if (hex == null) {
+            throw new NullPointerException("hex");
+        }
+
+        if (hex.length() != raw.length << 1) {
+            return false;
+        }
+
+        int difference = 0;
+        int index = 0; // index in hex
+        for (int i = 0; i < raw.length; i++) {
+            final int high =
+                ConstantTimeHexEngine.decodeHalf(hex.charAt(index++));
+            final int low =
+                ConstantTimeHexEngine.decodeHalf(hex.charAt(index++));
+            difference |= ((high << 4) | low) ^ (raw[i] & 0xFF);
+        }
+
+        return difference == 0;
+    }
+
+
+    /**
+     * Decodes given hex chars as a two's-complement value. An empty input
+     * decodes to zero.
+     *
+     * @param input the hex chars to decode
+     *
+     * @return the decoded value
+     *
+     * @throws IllegalArgumentException if {@code input} has an odd length or
+     * an illegal hex char.
+     */
+    public static BigInteger decodeSigned(final byte[] input) {
+
+        final byte[] octets = decodeEven(input);
+
+        return octets.length == 0 ? BigInteger.ZERO : new BigInteger(octets);
+    }
+
+
+    /**
+     * Decodes given hex chars as a two's-complement value. An empty input
+     * decodes to zero.
+     *
+     * @param input the hex chars to decode
+     *
+     * @return the decoded value
+     *
+     * @throws IllegalArgumentException if {@code input} has an odd length or
+     * an illegal hex char.
+     */
+    public static BigInteger decodeSigned(final CharSequence input) {
+
+        final byte[] octets = decodeEven(input);
+
+        return octets.length == 0 ? BigInteger.ZERO : new BigInteger(octets);
+    }
+
+
+    /**
+     * Decodes given hex chars as a non-negative magnitude. An empty input
+     * decodes to zero.
+     *
+     * @param input the hex chars to decode
+     *
+     * @return the decoded value
+     *
+     * @throws IllegalArgumentException if {@code input} has an odd length or
+     * an illegal hex char.
+     */
+    public static BigInteger decodeUnsigned(final byte[] input) {
+
+        return new BigInteger(1, decodeEven(input));
+    }
+
+
+    /**
+     * Decodes given hex chars as a non-negative magnitude. An empty input
+     * decodes to zero.
+     *
+     * @param input the hex chars to decode
+     *
+     * @return the decoded value
+     *
+     * @throws IllegalArgumentException if {@code input} has an odd length or
+     * an illegal hex char.
+     */
+    public static BigInteger decodeUnsigned(final CharSequence input) {
+
+        return new BigInteger(1, decodeEven(input));
+    }
+
+
+    private static byte[] decodeEven(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if ((input.length & 0x01) == 0x01) {
+            throw new IllegalArgumentException(
+                "input.length(" + input.length + ") is not even");
+        }
+
+        return decodeMultiple(input);
+    }
+
+
+    private static byte[] decodeEven(final CharSequence input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if ((input.length() & 0x01) == 0x01) {
+            throw new IllegalArgumentException(
+                "input.length(" + input.length() + ") is not even");
+        }
+
+        final byte[] output = new byte[input.length() >> 1];
+        decodeMultiple(input, 0, output, 0, output.length);
+
+        return output;
+    }
+
+
+    /**
+     * Encodes given sequence of nibbles into a sequence of octets.
+     *
+     * @param input the nibbles to decode.
+     *
+     * @return the decoded octets.
+     */
+    public static byte[] decodeMultiple(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final byte[] output = new byte[input.length >> 1]; // /2
+
+        decodeMultiple(input, 0, output, 0, output.length);
+
+        return output;
+    }
+
+
+    /**
+     * Decodes given sequence of nibbles into a sequence of octets.
+     *
+     * @param input the nibbles to decode.
+     *
+     * @return the decoded octets.
+     */
+    public byte[] decode(final byte[] input) {
+
+        return decodeMultiple(input);
+    }
+
+
+    /**
+     * Decodes given sequence of nibbles into a string.
+     *
+     * @param input the nibbles to decode
+     * @param outputCharset the charset name to encode output string
+     *
+     * @return the decoded string.
+     *
+     * @throws UnsupportedEncodingException if outputCharset is not supported
+     */
+    public String decodeToString(final byte[] input, final String outputCharset)
+        throws UnsupportedEncodingException {
+
+        return new String(decode(input), outputCharset);
+    }
+
+
+    /**
+     * Decodes given sequence of nibbles into a string.
+     *
+     * @param input the nibbles to decode
+     * @param outputCharset the charset to encode output string
+     *
+     * @return the decoded string
+     */
+    public String decodeToString(final byte[] input,
+                                 final Charset outputCharset) {
+
+        if (outputCharset == null) {
+            throw new NullPointerException("outputCharset");
+        }
+
+        return new String(decode(input), outputCharset);
+    }
+
+
+    public byte[] decode(final String input, final String inputCharset)
+        throws UnsupportedEncodingException {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inputCharset == null) {
+            throw new NullPointerException("inputCharset");
+        }
+
+        return decode(input.getBytes(inputCharset));
+    }
+
+
+    public byte[] decode(final String input, final Charset inputCharset) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inputCharset == null) {
+            throw new NullPointerException("inputCharset");
+        }
+
+        return decode(input.getBytes(inputCharset));
+    }
+
+
+    public String decodeToString(final String input, final String inputCharset,
+                                 final String outputCharset)
+        throws UnsupportedEncodingException {
+
+        if (outputCharset == null) {
+            throw new NullPointerException("outputCharset");
+        }
+
+        return new String(decode(input, inputCharset), outputCharset);
+    }
+
+
+    /**
+     * Decodes given string. When {@code inputCharset} is ASCII compatible,
+     * the hex chars are decoded straight out of the input string without
+     * encoding it first.
+     *
+     * @param input the input string.
+     * @param inputCharset the charset to encode input string
+     * @param outputCharset the charset to decode output string.
+     *
+     * @return the decoded string.
+     */
+    public String decodeToString(final String input, final Charset inputCharset,
+                                 final Charset outputCharset) {
+
+        if (outputCharset == null) {
+            throw new NullPointerException("outputCharset");
+        }
+
+        if (!HexCharsets.compatible(inputCharset)) {
+            return new String(decode(input, inputCharset), outputCharset);
+        }
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        return HexCharsets.decode(input, outputCharset);
+    }
+
+
+    /**
+     * [TESTING].
+     *
+     * @param input nibbles.
+     *
+     * @return octets.
+     */
+    byte[] decodeLikeAnEngineer(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if ((input.length & 0x01) == 0x01) {
+            throw new IllegalArgumentException(
+                "input.length(" + input.length + ") is not even");
+        }
+
+        final byte[] output = new byte[input.length >> 1];
+
+        int index = 0; // index in input
+        for (int i = 0; i < output.length; i++) {
+            output[i] = (byte) ((decodeHalf(input[index++]) << 4)
+                                | decodeHalf(input[index++]));
+        }
+
+        return output;
+    }
+
+
+    /**
+     * [TESTING].
+     *
+     * @param input nibbles.
+     *
+     * @return octets.
+     */
+    byte[] decodeLikeABoss(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if ((input.length & 0x01) == 0x01) {
+            throw new IllegalArgumentException(
+                "input.length(" + input.length + ") is not even");
+        }
+
+        final byte[] output = new byte[input.length / 2];
+
+        int index = 0; // index in input
+        for (int i = 0; i < output.length; i++) {
+            final String s = new String(
+                input, index, 2, StandardCharsets.US_ASCII);
+            output[i] = (byte) Integer.parseInt(s, 16);
+            index += 2;
+        }
+
+        return output;
+    }
+
+
+}
+
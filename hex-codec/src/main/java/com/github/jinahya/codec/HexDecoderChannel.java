@@ -0,0 +1,259 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * A channel decodes hex chars written and writes the resulting octets to the
+ * underlying channel. An optional {@link HexDigester} is updated with the
+ * decoded octets in the same pass. The block buffer is borrowed from the
+ * {@link HexBufferPool#getDefault() default pool} until closed.
+ *
+ * <p>When the underlying channel is in non-blocking mode, {@link #write(
+ * ByteBuffer)} may accept fewer hex chars than remaining, or none, while
+ * decoded octets are waiting to be written. {@link #close()} keeps writing
+ * them, pausing while the underlying channel accepts none, and gives up after
+ * about a second without progress.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexDecoderChannel implements WritableByteChannel {
+
+
+    /**
+     * The number of octets decoded at once.
+     */
+    static final int BLOCK = 4096;
+
+
+    /**
+     * The number of pauses in a row, while the underlying channel accepts
+     * nothing, after which {@link #close()} gives up.
+     */
+    static final int STALLS = 100;
+
+
+    /**
+     * The duration of a pause, in nanoseconds, while the underlying channel
+     * accepts nothing.
+     */
+    static final long STALL = 10000000L;
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param channel the underlying channel to which octets are written.
+     */
+    public HexDecoderChannel(final WritableByteChannel channel) {
+
+        this(channel, null);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param channel the underlying channel to which octets are written.
+     * @param digester the digester to update with decoded octets; may be
+     * {@code null}.
+     */
+    public HexDecoderChannel(final WritableByteChannel channel,
+                             final HexDigester digester) {
+
+        super();
+
+        if (channel == null) {
+            throw new NullPointerException("channel");
+        }
+
+        this.channel = channel;
+        this.digester = digester;
+
+        // acquired after the arguments are checked so that nothing leaks
+        buffer = HexBufferPool.getDefault().acquire(BLOCK, false);
+
+        buffer.flip(); // nothing to drain
+    }
+
+
+    /**
+     * Writes decoded octets waiting in the buffer.
+     *
+     * @return {@code true} if the buffer is empty; {@code false} otherwise.
+     */
+    private boolean drain() throws IOException {
+
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) == 0) {
+                return !buffer.hasRemaining();
+            }
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+
+        if (src == null) {
+            throw new NullPointerException("src");
+        }
+
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+
+        int written = 0;
+        while (src.hasRemaining() && drain()) {
+            buffer.clear();
+            if (pending >= 0) {
+                pair.clear();
+                pair.put((byte) pending).put(src.get()).flip();
+                pending = -1;
+                written++;
+                decode(pair);
+            }
+            final int limit = src.limit();
+            src.limit(src.position()
+                      + Math.min(src.remaining(), buffer.remaining() << 1));
+            try {
+                final int position = src.position();
+                decode(src);
+                written += src.position() - position;
+            } finally {
+                src.limit(limit);
+            }
+            if (src.remaining() == 1) {
+                pending = src.get() & 0xFF;
+                written++;
+            }
+            buffer.flip();
+        }
+
+        return written;
+    }
+
+
+    private void decode(final ByteBuffer src) throws IOException {
+
+        final int position = buffer.position();
+        try {
+            HexDecoder.decodeMultiple(src, buffer);
+        } catch (final IllegalArgumentException iae) {
+            throw new IOException(iae.getMessage(), iae);
+        }
+
+        if (digester != null) {
+            digester.update(buffer.array(), position,
+                            buffer.position() - position);
+        }
+    }
+
+
+    @Override
+    public boolean isOpen() {
+
+        return open;
+    }
+
+
+    /**
+     * Writes all octets waiting, releases the block buffer and closes the
+     * underlying channel. Waiting octets are discarded when the underlying
+     * channel accepts none in {@value #STALLS} pauses in a row.
+     *
+     * @throws IOException if an odd number of hex chars was written or an I/O
+     * error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (!open) {
+            return;
+        }
+
+        open = false;
+        try {
+            int remaining = buffer.remaining();
+            int stalls = 0;
+            while (!drain()) {
+                if (buffer.remaining() < remaining) {
+                    remaining = buffer.remaining();
+                    stalls = 0;
+                } else if (++stalls > STALLS) {
+                    throw new IOException(
+                        "the underlying channel accepts nothing; " + remaining
+                        + " octets discarded");
+                }
+                LockSupport.parkNanos(STALL);
+            }
+        } finally {
+            HexBufferPool.getDefault().release(buffer);
+            channel.close();
+        }
+
+        if (pending >= 0) {
+            pending = -1;
+            throw new IOException("an odd number of hex chars written");
+        }
+    }
+
+
+    /**
+     * Returns the digester updated with decoded octets.
+     *
+     * @return the digester or {@code null} if not specified.
+     */
+    public HexDigester getDigester() {
+
+        return digester;
+    }
+
+
+    private final WritableByteChannel channel;
+
+
+    private final HexDigester digester;
+
+
+    private final ByteBuffer buffer;
+
+
+    private final ByteBuffer pair = ByteBuffer.allocate(2);
+
+
+    /**
+     * The hex char left over from previous write; {@code -1} for none.
+     */
+    private int pending = -1;
+
+
+    private boolean open = true;
+
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+
+/**
+ * An output stream decodes hex chars written and writes the resulting octets
+ * to the underlying output stream. An optional {@link HexDigester} is updated
+ * with the decoded octets in the same pass. The block buffer is borrowed from
+ * the {@link HexBufferPool#getDefault() default pool} on the first write until
+ * closed.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexDecoderOutputStream extends FilterOutputStream {
+
+
+    /**
+     * The number of octets decoded at once.
+     */
+    static final int BLOCK = 4096;
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param out the underlying output stream to which octets are written.
+     */
+    public HexDecoderOutputStream(final OutputStream out) {
+
+        this(out, null);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param out the underlying output stream to which octets are written.
+     * @param digester the digester to update with decoded octets; may be
+     * {@code null}.
+     */
+    public HexDecoderOutputStream(final OutputStream out,
+                                  final HexDigester digester) {
+
+        super(out);
+
+        if (out == null) {
+            throw new NullPointerException("out");
+        }
+
+        this.digester = digester;
+    }
+
+
+    @Override
+    public void write(final int b) throws IOException {
+
+        if (pending < 0) {
+            pending = b & 0xFF;
+            return;
+        }
+
+        pair[0] = (byte) pending;
+        pair[1] = (byte) b;
+        pending = -1;
+        decode(pair, 0, 1);
+    }
+
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+
+        if (b == null) {
+            throw new NullPointerException("b");
+        }
+
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException(
+                "b.length: " + b.length + ", off: " + off + ", len: " + len);
+        }
+
+        if (len > 0 && pending >= 0) {
+            write(b[off++] & 0xFF);
+            len--;
+        }
+
+        decode(b, off, len >> 1);
+
+        if ((len & 0x01) == 0x01) {
+            pending = b[off + len - 1] & 0xFF;
+        }
+    }
+
+
+    private void decode(final byte[] b, int off, int count)
+        throws IOException {
+
+        if (count == 0) {
+            return;
+        }
+
+        if (block == null) {
+            block = HexBufferPool.getDefault().acquire(BLOCK, false);
+        }
+
+        final byte[] buffer = block.array();
+        while (count > 0) {
+            final int units = Math.min(count, BLOCK);
+            try {
+                HexDecoder.decodeMultiple(b, off, buffer, 0, units);
+            } catch (final IllegalArgumentException iae) {
+                throw new IOException(iae.getMessage(), iae);
+            }
+            if (digester != null) {
+                digester.update(buffer, 0, units);
+            }
+            out.write(buffer, 0, units);
+            off += units << 1;
+            count -= units;
+        }
+    }
+
+
+    /**
+     * Releases the block buffer and closes the underlying output stream.
+     *
+     * @throws IOException if an odd number of hex chars was written or an I/O
+     * error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+
+        final boolean odd = pending >= 0;
+        pending = -1;
+
+        try {
+            super.close();
+        } finally {
+            if (block != null) {
+                HexBufferPool.getDefault().release(block);
+                block = null;
+            }
+        }
+
+        if (odd) {
+            throw new IOException("an odd number of hex chars written");
+        }
+    }
+
+
+    /**
+     * Returns the digester updated with decoded octets.
+     *
+     * @return the digester or {@code null} if not specified.
+     */
+    public HexDigester getDigester() {
+
+        return digester;
+    }
+
+
+    private final HexDigester digester;
+
+
+    private final byte[] pair = new byte[2];
+
+
+    /**
+     * The hex char left over from previous write; {@code -1} for none.
+     */
+    private int pending = -1;
+
+
+    /**
+     * The block buffer borrowed on the first write; {@code null} for none.
+     */
+    private ByteBuffer block;
+
+
+}
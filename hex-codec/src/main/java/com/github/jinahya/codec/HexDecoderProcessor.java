@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * A {@link HexProcessor} decodes octets.
+ * A nibble left over at the end of an upstream chunk is carried into the next
+ * one; a nibble left over at the end of the stream, or an illegal nibble, is
+ * signalled to the subscriber as an {@link IllegalArgumentException}.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexDecoderProcessor extends HexProcessor {
+
+
+    /**
+     * Creates a new instance with {@link #DEFAULT_BLOCK_SIZE} and heap chunks
+     * acquired from the {@link HexBufferPool#getDefault() default pool}.
+     */
+    public HexDecoderProcessor() {
+
+        this(DEFAULT_BLOCK_SIZE, false, HexBufferPool.getDefault());
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param blockSize the capacity of output chunks; at least {@code 2}.
+     * @param direct {@code true} for direct output chunks.
+     * @param pool the pool from which output chunks are acquired.
+     */
+    public HexDecoderProcessor(final int blockSize, final boolean direct,
+                               final HexBufferPool pool) {
+
+        super(blockSize, direct, pool);
+    }
+
+
+    @Override
+    void transcode(final ByteBuffer input, final ByteBuffer output) {
+
+        if (carrying && input.hasRemaining() && output.hasRemaining()) {
+            final int high = HexDecoder.decodeHalf(carry);
+            final int low = HexDecoder.decodeHalf(input.get() & 0xFF);
+            output.put((byte) ((high << 4) | low));
+            carrying = false;
+        }
+
+        HexDecoder.decodeMultiple(input, output);
+
+        if (input.remaining() == 1) {
+            carry = input.get() & 0xFF;
+            carrying = true;
+        }
+    }
+
+
+    @Override
+    void finish() {
+
+        if (carrying) {
+            throw new IllegalArgumentException("odd number of nibbles");
+        }
+    }
+
+
+    // accessed only within the drain loop
+    private int carry;
+
+
+    private boolean carrying;
+
+
+}
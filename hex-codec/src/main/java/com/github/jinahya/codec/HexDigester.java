@@ -0,0 +1,292 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.zip.Checksum;
+
+
+/**
+ * An accumulator of raw octets whose result can be written as hex chars into a
+ * reusable buffer. Instances wrap either a {@link MessageDigest} or a
+ * {@link Checksum} and are not thread-safe.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public abstract class HexDigester {
+
+
+    /**
+     * Returns a new instance wraps given message digest.
+     *
+     * @param digest the message digest to wrap.
+     *
+     * @return a new instance.
+     */
+    public static HexDigester of(final MessageDigest digest) {
+
+        if (digest == null) {
+            throw new NullPointerException("digest");
+        }
+
+        final int length = digest.getDigestLength();
+        if (length <= 0) {
+            throw new IllegalArgumentException(
+                "digest.digestLength(" + length + ") <= 0");
+        }
+
+        return new HexDigester(length) {
+
+
+            @Override
+            public void update(final byte[] input, final int offset,
+                               final int length) {
+
+                digest.update(input, offset, length);
+            }
+
+
+            @Override
+            public void update(final ByteBuffer input) {
+
+                final int position = input.position();
+                digest.update(input);
+                input.position(position);
+            }
+
+
+            @Override
+            public void reset() {
+
+                digest.reset();
+            }
+
+
+            @Override
+            protected void digest(final byte[] output) {
+
+                try {
+                    digest.digest(output, 0, output.length);
+                } catch (final DigestException de) {
+                    throw new IllegalStateException(de);
+                }
+            }
+
+
+        };
+    }
+
+
+    /**
+     * Returns a new instance wraps given 32-bit checksum such as
+     * {@link java.util.zip.CRC32}.
+     *
+     * @param checksum the checksum to wrap.
+     *
+     * @return a new instance.
+     */
+    public static HexDigester of(final Checksum checksum) {
+
+        return of(checksum, 4);
+    }
+
+
+    /**
+     * Returns a new instance wraps given checksum. The value of the checksum
+     * is written as {@code length} big-endian octets.
+     *
+     * @param checksum the checksum to wrap.
+     * @param length the number of octets of the value; between {@code 1} and
+     * {@code 8}.
+     *
+     * @return a new instance.
+     */
+    public static HexDigester of(final Checksum checksum, final int length) {
+
+        if (checksum == null) {
+            throw new NullPointerException("checksum");
+        }
+
+        if (length < 1) {
+            throw new IllegalArgumentException("length(" + length + ") < 1");
+        }
+
+        if (length > 8) {
+            throw new IllegalArgumentException("length(" + length + ") > 8");
+        }
+
+        return new HexDigester(length) {
+
+
+            @Override
+            public void update(final byte[] input, final int offset,
+                               final int length) {
+
+                checksum.update(input, offset, length);
+            }
+
+
+            @Override
+            public void update(final ByteBuffer input) {
+
+                final int position = input.position();
+                checksum.update(input);
+                input.position(position);
+            }
+
+
+            @Override
+            public void reset() {
+
+                checksum.reset();
+            }
+
+
+            @Override
+            protected void digest(final byte[] output) {
+
+                final long value = checksum.getValue();
+                checksum.reset();
+                int shift = output.length << 3;
+                for (int i = 0; i < output.length; i++) {
+                    shift -= 8;
+                    output[i] = (byte) (value >> shift);
+                }
+            }
+
+
+        };
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param length the number of octets of the result.
+     */
+    HexDigester(final int length) {
+
+        super();
+
+        raw = new byte[length];
+    }
+
+
+    /**
+     * Updates with given octets.
+     *
+     * @param input the input array.
+     * @param offset the offset in the array.
+     * @param length the number of octets to update.
+     */
+    public abstract void update(byte[] input, int offset, int length);
+
+
+    /**
+     * Updates with octets remaining in given buffer. The position of the
+     * buffer is not changed.
+     *
+     * @param input the input buffer.
+     */
+    public abstract void update(ByteBuffer input);
+
+
+    /**
+     * Resets to the initial state.
+     */
+    public abstract void reset();
+
+
+    /**
+     * Completes the computation, writes the result into given array whose
+     * length is {@link #length()}, and resets.
+     *
+     * @param output the array to which the result is written.
+     */
+    protected abstract void digest(byte[] output);
+
+
+    /**
+     * Returns the number of octets of the result.
+     *
+     * @return the number of octets of the result.
+     */
+    public int length() {
+
+        return raw.length;
+    }
+
+
+    /**
+     * Completes the computation, writes the result as hex chars into given
+     * array, and resets. No objects are allocated.
+     *
+     * @param output the output array.
+     * @param outoff the offset in the output array.
+     *
+     * @return the number of hex chars written; {@code length() * 2}.
+     */
+    public int digestHex(final byte[] output, final int outoff) {
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        // checked before the digest is consumed
+        if (raw.length > (output.length - outoff) >> 1) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + length(" + raw.length + ") * 2 > "
+                + "output.length(" + output.length + ")");
+        }
+
+        digest(raw);
+        HexEncoder.encodeMultiple(raw, 0, output, outoff, raw.length);
+
+        return raw.length << 1;
+    }
+
+
+    /**
+     * Completes the computation and returns the result as a string of hex
+     * chars, and resets. The string is the only object allocated.
+     *
+     * @return the result as a string of hex chars.
+     */
+    public String digestHex() {
+
+        digest(raw);
+
+        return HexCharsets.encode(raw, 0, raw.length);
+    }
+
+
+    /**
+     * A buffer for raw results.
+     */
+    private final byte[] raw;
+
+
+}
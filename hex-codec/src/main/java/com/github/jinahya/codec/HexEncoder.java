@@ -0,0 +1,1064 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexEncoder {
+
+
+    /**
+     * The number of octets encoded into a char block at once.
+     */
+    private static final int BLOCK = 512;
+
+
+    /**
+     * Blocks for appending.
+     */
+    private static final class Block {
+
+
+        final char[] chars = new char[BLOCK << 1];
+
+
+        /**
+         * A view of {@link #chars} for appendables other than
+         * {@link StringBuilder}s and {@link Writer}s.
+         */
+        final CharBuffer wrapped = CharBuffer.wrap(chars);
+
+
+    }
+
+
+    /**
+     * Blocks for appending, one per thread.
+     */
+    private static final ThreadLocal<Block> BLOCKS = new ThreadLocal<>();
+
+
+    /**
+     * Encodes a nibble to a single hex char.
+     *
+     * @param input the nibble to encode
+     *
+     * @return the encoded hex char.
+     */
+    static int encodeHalf(final int input) {
+
+        switch (input) {
+            case 0x00:
+            case 0x01:
+            case 0x02:
+            case 0x03:
+            case 0x04:
+            case 0x05:
+            case 0x06:
+            case 0x07:
+            case 0x08:
+            case 0x09:
+                return input + 0x30; // 0x30('0') ~ 0x39('9')
+            case 0x0A:
+            case 0x0B:
+            case 0x0C:
+            case 0x0D:
+            case 0x0E:
+            case 0x0F:
+                return input + 0x37; // 0x41('A') ~ 0x46('F')
+            default:
+                throw new IllegalArgumentException("illegal half: " + input);
+        }
+    }
+
+
+    /**
+     * Encodes a single octet into two hex chars.
+     *
+     * @param input the octet to encode.
+     * @param output the array to which each encoded hex chars are written.
+     * @param outoff the offset in the output array.
+     */
+    public static void encodeSingle(final int input, final byte[] output,
+                                    final int outoff) {
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (outoff >= output.length - 1) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") >= output.length(" + output.length
+                + ") - 1");
+        }
+
+        output[outoff] = (byte) encodeHalf((input >> 4) & 0x0F);
+        output[outoff + 1] = (byte) encodeHalf(input & 0x0F);
+    }
+
+
+    /**
+     * Encodes a single octet into two nibbles.
+     *
+     * @param input the input byte array
+     * @param inoff the offset in the input array
+     * @param output the array to which each encoded nibbles are written.
+     * @param outoff the offset in the output array.
+     */
+    public static void encodeSingle(final byte[] input, final int inoff,
+                                    final byte[] output, final int outoff) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (inoff >= input.length) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") >= input.length(" + input.length + ")");
+        }
+
+        encodeSingle(input[inoff], output, outoff);
+    }
+
+
+    /**
+     * Encodes multiple octets in given input array and writes the resulting
+     * hex chars into specified output array. The lengths of common digests
+     * (16, 20, 32 and 64 octets) take unrolled paths; others are delegated to
+     * the {@link HexEngine} chosen by {@link HexEngines} for {@code count}.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of octets to encode
+     */
+    public static void encodeMultiple(final byte[] input, final int inoff,
+                                      final byte[] output, final int outoff,
+                                      final int count) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (count > input.length - inoff) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") > input.length("
+                + input.length + ")");
+        }
+
+        if (count > (output.length - outoff) >> 1) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + count(" + count + ") * 2 > "
+                + "output.length(" + output.length + ")");
+        }
+
+        if (HexFixedSizes.fixed(count) && HexEngines.specialized()) {
+            HexFixedSizes.encode(input, inoff, output, outoff, count);
+            return;
+        }
+
+        HexEngines.encoder(count).encode(input, inoff, output, outoff, count);
+    }
+
+
+    private static void checkPrimitives(final int length, final int inoff,
+                                        final byte[] output, final int outoff,
+                                        final int count, final int width,
+                                        final ByteOrder order) {
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (order == null) {
+            throw new NullPointerException("order");
+        }
+
+        if (count > length - inoff) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") > input.length("
+                + length + ")");
+        }
+
+        if (count > (output.length - outoff) / width) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + count(" + count + ") * " + width
+                + " > output.length(" + output.length + ")");
+        }
+    }
+
+
+    /**
+     * Encodes multiple {@code long} values in given input array and writes
+     * the resulting hex chars into specified output array. Each value is
+     * encoded into sixteen hex chars of its octets in given byte order.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of values to encode
+     * @param order the byte order of each value
+     */
+    public static void encodeMultiple(final long[] input, final int inoff,
+                                      final byte[] output, final int outoff,
+                                      final int count, final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        checkPrimitives(input.length, inoff, output, outoff, count, 16,
+                        order);
+
+        HexPrimitives.encode(input, inoff, output, outoff, count, order);
+    }
+
+
+    /**
+     * Encodes all {@code long} values in given array into hex chars.
+     *
+     * @param input the values to encode
+     * @param order the byte order of each value
+     *
+     * @return the encoded hex chars.
+     */
+    public static byte[] encodeMultiple(final long[] input,
+                                        final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final byte[] output = new byte[input.length * 16];
+
+        encodeMultiple(input, 0, output, 0, input.length, order);
+
+        return output;
+    }
+
+
+    /**
+     * Encodes multiple {@code int} values in given input array and writes
+     * the resulting hex chars into specified output array. Each value is
+     * encoded into eight hex chars of its octets in given byte order.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of values to encode
+     * @param order the byte order of each value
+     */
+    public static void encodeMultiple(final int[] input, final int inoff,
+                                      final byte[] output, final int outoff,
+                                      final int count, final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        checkPrimitives(input.length, inoff, output, outoff, count, 8,
+                        order);
+
+        HexPrimitives.encode(input, inoff, output, outoff, count, order);
+    }
+
+
+    /**
+     * Encodes all {@code int} values in given array into hex chars.
+     *
+     * @param input the values to encode
+     * @param order the byte order of each value
+     *
+     * @return the encoded hex chars.
+     */
+    public static byte[] encodeMultiple(final int[] input,
+                                        final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final byte[] output = new byte[input.length * 8];
+
+        encodeMultiple(input, 0, output, 0, input.length, order);
+
+        return output;
+    }
+
+
+    /**
+     * Encodes multiple {@code short} values in given input array and writes
+     * the resulting hex chars into specified output array. Each value is
+     * encoded into four hex chars of its octets in given byte order.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of values to encode
+     * @param order the byte order of each value
+     */
+    public static void encodeMultiple(final short[] input, final int inoff,
+                                      final byte[] output, final int outoff,
+                                      final int count, final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        checkPrimitives(input.length, inoff, output, outoff, count, 4,
+                        order);
+
+        HexPrimitives.encode(input, inoff, output, outoff, count, order);
+    }
+
+
+    /**
+     * Encodes all {@code short} values in given array into hex chars.
+     *
+     * @param input the values to encode
+     * @param order the byte order of each value
+     *
+     * @return the encoded hex chars.
+     */
+    public static byte[] encodeMultiple(final short[] input,
+                                        final ByteOrder order) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final byte[] output = new byte[input.length * 4];
+
+        encodeMultiple(input, 0, output, 0, input.length, order);
+
+        return output;
+    }
+
+
+    /**
+     * Encodes octets remaining in given input buffer into given output buffer.
+     * This method encodes as many octets as the output buffer can hold and
+     * advances the positions of both buffers.
+     *
+     * @param input the input buffer
+     * @param output the output buffer
+     *
+     * @return the number of octets encoded
+     */
+    public static int encodeMultiple(final ByteBuffer input,
+                                     final ByteBuffer output) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        final int count = Math.min(input.remaining(), output.remaining() >> 1);
+
+        if (input.hasArray() && output.hasArray()) {
+            HexEngines.encoder(count).encode(
+                input.array(), input.arrayOffset() + input.position(),
+                output.array(), output.arrayOffset() + output.position(),
+                count);
+            input.position(input.position() + count);
+            output.position(output.position() + (count << 1));
+            return count;
+        }
+
+        final byte[] table = HexTables.ENCODE;
+        for (int i = 0; i < count; i++) {
+            final int octet = input.get() & 0xFF;
+            output.put(table[octet >> 4]);
+            output.put(table[octet & 0x0F]);
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Encodes multiple octets in given input array, from the last to the
+     * first, and writes the resulting hex chars into specified output array.
+     * The arrays should not overlap.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of octets to encode
+     */
+    public static void encodeReversed(final byte[] input, final int inoff,
+                                      final byte[] output, final int outoff,
+                                      final int count) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (count > input.length - inoff) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") > input.length("
+                + input.length + ")");
+        }
+
+        if (count > (output.length - outoff) >> 1) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + count(" + count + ") * 2 > "
+                + "output.length(" + output.length + ")");
+        }
+
+        HexReversed.encode(input, inoff, output, outoff, count);
+    }
+
+
+    /**
+     * Encodes given sequence of octets, from the last to the first, into a
+     * sequence of nibbles.
+     *
+     * @param input the octets to encode
+     *
+     * @return the encoded nibbles.
+     */
+    public static byte[] encodeReversed(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final byte[] output = new byte[input.length << 1]; // * 2
+
+        encodeReversed(input, 0, output, 0, input.length);
+
+        return output;
+    }
+
+
+    /**
+     * Encodes all octets remaining in given input buffer, from the last to the
+     * first, into given output buffer. The positions of both buffers are
+     * advanced.
+     *
+     * @param input the input buffer
+     * @param output the output buffer
+     *
+     * @return the number of octets encoded
+     *
+     * @throws BufferOverflowException if the output buffer can't hold all hex
+     * chars; neither buffer is changed.
+     */
+    public static int encodeReversed(final ByteBuffer input,
+                                     final ByteBuffer output) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        final int count = input.remaining();
+        if (count > output.remaining() >> 1) {
+            throw new BufferOverflowException();
+        }
+
+        if (input.hasArray() && output.hasArray()) {
+            HexReversed.encode(
+                input.array(), input.arrayOffset() + input.position(),
+                output.array(), output.arrayOffset() + output.position(),
+                count);
+            input.position(input.limit());
+            output.position(output.position() + (count << 1));
+            return count;
+        }
+
+        final byte[] table = HexTables.ENCODE;
+        for (int i = input.limit() - 1; i >= input.position(); i--) {
+            final int octet = input.get(i) & 0xFF;
+            output.put(table[octet >> 4]);
+            output.put(table[octet & 0x0F]);
+        }
+        input.position(input.limit());
+
+        return count;
+    }
+
+
+    /**
+     * Encodes multiple octets in given input array and writes the resulting
+     * hex chars into specified char array.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of octets to encode
+     */
+    public static void encodeToChars(final byte[] input, int inoff,
+                                     final char[] output, int outoff,
+                                     final int count) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (outoff < 0) {
+            throw new IllegalArgumentException("outoff(" + outoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (count > input.length - inoff) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") > input.length("
+                + input.length + ")");
+        }
+
+        if (count > (output.length - outoff) >> 1) {
+            throw new IllegalArgumentException(
+                "outoff(" + outoff + ") + count(" + count + ") * 2 > "
+                + "output.length(" + output.length + ")");
+        }
+
+        final byte[] table = HexTables.ENCODE;
+        for (int i = 0; i < count; i++) {
+            final int octet = input[inoff++] & 0xFF;
+            output[outoff++] = (char) table[octet >> 4];
+            output[outoff++] = (char) table[octet & 0x0F];
+        }
+    }
+
+
+    /**
+     * Encodes all octets in given input array and writes the resulting hex
+     * chars into specified char array.
+     *
+     * @param input the input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     *
+     * @return the number of hex chars written
+     */
+    public static int encodeToChars(final byte[] input, final char[] output,
+                                    final int outoff) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        encodeToChars(input, 0, output, outoff, input.length);
+
+        return input.length << 1;
+    }
+
+
+    /**
+     * Encodes octets in given input array and appends the resulting hex chars
+     * to specified appendable, a block at a time, without encoding the whole
+     * input first. Blocks are encoded into a per-thread char array, which is
+     * appended to {@link StringBuilder}s, written to {@link Writer}s, and
+     * appended through a view to other appendables; no intermediate string is
+     * created. A {@link StringBuilder} grows once up front.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param count the number of octets to encode
+     * @param output the appendable to which hex chars are appended
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void encodeTo(final byte[] input, int inoff, int count,
+                                final Appendable output)
+        throws IOException {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inoff < 0) {
+            throw new IllegalArgumentException("inoff(" + inoff + ") < 0");
+        }
+
+        if (count < 0) {
+            throw new IllegalArgumentException("count(" + count + ") < 0");
+        }
+
+        if (count > input.length - inoff) {
+            throw new IllegalArgumentException(
+                "inoff(" + inoff + ") + count(" + count + ") > input.length("
+                + input.length + ")");
+        }
+
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+
+        if (count == 0) {
+            return;
+        }
+
+        if (output instanceof StringBuilder) {
+            final StringBuilder builder = (StringBuilder) output;
+            builder.ensureCapacity(builder.length() + (count << 1));
+        }
+
+        // taken while in use so that a reentrant call gets its own
+        Block block = BLOCKS.get();
+        if (block == null) {
+            block = new Block();
+        } else {
+            BLOCKS.set(null);
+        }
+        try {
+            final byte[] table = HexTables.ENCODE;
+            final char[] chars = block.chars;
+            while (count > 0) {
+                final int units = Math.min(count, BLOCK);
+                final int length = units << 1;
+                for (int i = 0, j = inoff; i < length; j++) {
+                    final int octet = input[j] & 0xFF;
+                    chars[i++] = (char) table[octet >> 4];
+                    chars[i++] = (char) table[octet & 0x0F];
+                }
+                if (output instanceof StringBuilder) {
+                    ((StringBuilder) output).append(chars, 0, length);
+                } else if (output instanceof Writer) {
+                    ((Writer) output).write(chars, 0, length);
+                } else {
+                    output.append(block.wrapped, 0, length);
+                }
+                inoff += units;
+                count -= units;
+            }
+        } finally {
+            BLOCKS.set(block);
+        }
+    }
+
+
+    /**
+     * Encodes octets in given array into hex chars in the same array. The
+     * octets in {@code [offset, offset + length)} are replaced with hex chars
+     * in {@code [offset, offset + length * 2)}. Octets are processed from the
+     * back so that none is overwritten before it is read.
+     *
+     * @param buffer the array whose capacity, from {@code offset}, is at least
+     * twice the {@code length}
+     * @param offset the offset in the array
+     * @param length the number of octets to encode
+     */
+    public static void encodeInPlace(final byte[] buffer, final int offset,
+                                     final int length) {
+
+        if (buffer == null) {
+            throw new NullPointerException("buffer");
+        }
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset(" + offset + ") < 0");
+        }
+
+        if (length < 0) {
+            throw new IllegalArgumentException("length(" + length + ") < 0");
+        }
+
+        if (length > (buffer.length - offset) >> 1) {
+            throw new IllegalArgumentException(
+                "offset(" + offset + ") + length(" + length + ") * 2 > "
+                + "buffer.length(" + buffer.length + ")");
+        }
+
+        final byte[] table = HexTables.ENCODE;
+        int index = offset + (length << 1); // index in output, exclusive
+        for (int i = offset + length - 1; i >= offset; i--) {
+            final int octet = buffer[i] & 0xFF;
+            buffer[--index] = table[octet & 0x0F];
+            buffer[--index] = table[octet >> 4];
+        }
+    }
+
+
+    /**
+     * Encodes given value into {@code length * 2} hex chars of its
+     * two's-complement representation, sign-extended to {@code length}
+     * octets. Unlike {@link BigInteger#toString(int)}, leading zeros and the
+     * sign are preserved.
+     *
+     * @param value the value to encode
+     * @param length the number of octets to encode into
+     *
+     * @return the encoded hex chars
+     *
+     * @throws IllegalArgumentException if {@code value} does not fit in
+     * {@code length} octets.
+     */
+    public static byte[] encodeSigned(final BigInteger value,
+                                      final int length) {
+
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+
+        if (length < 0) {
+            throw new IllegalArgumentException("length(" + length + ") < 0");
+        }
+
+        if (value.signum() != 0 && value.bitLength() >= (long) length << 3) {
+            throw new IllegalArgumentException(
+                "value(" + value + ") doesn't fit in " + length + " octet(s)");
+        }
+
+        return encodePadded(value.toByteArray(), length,
+                            (byte) (value.signum() < 0 ? 'F' : '0'));
+    }
+
+
+    /**
+     * Encodes given non-negative value into {@code length * 2} hex chars of
+     * its magnitude, zero-padded to {@code length} octets.
+     *
+     * @param value the value to encode
+     * @param length the number of octets to encode into
+     *
+     * @return the encoded hex chars
+     *
+     * @throws IllegalArgumentException if {@code value} is negative or does
+     * not fit in {@code length} octets.
+     */
+    public static byte[] encodeUnsigned(final BigInteger value,
+                                        final int length) {
+
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+
+        if (length < 0) {
+            throw new IllegalArgumentException("length(" + length + ") < 0");
+        }
+
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException(
+                "value(" + value + ") is negative");
+        }
+
+        if (value.bitLength() > (long) length << 3) {
+            throw new IllegalArgumentException(
+                "value(" + value + ") doesn't fit in " + length + " octet(s)");
+        }
+
+        return encodePadded(value.toByteArray(), length, (byte) '0');
+    }
+
+
+    private static byte[] encodePadded(final byte[] octets, final int length,
+                                       final byte pad) {
+
+        // drops leading sign octets, if any, which don't fit
+        final int count = Math.min(octets.length, length);
+        final int offset = octets.length - count;
+
+        final byte[] output = new byte[length << 1];
+
+        final int padding = (length - count) << 1;
+        for (int i = 0; i < padding; i++) {
+            output[i] = pad;
+        }
+
+        encodeMultiple(octets, offset, output, padding, count);
+
+        return output;
+    }
+
+
+    /**
+     * Encodes given sequence of octets into a sequence of nibbles.
+     *
+     * @param input the octets to encode
+     *
+     * @return the encoded nibbles.
+     */
+    public static byte[] encodeMultiple(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final byte[] output = new byte[input.length << 1]; // * 2
+
+        encodeMultiple(input, 0, output, 0, input.length);
+
+        return output;
+    }
+
+
+    /**
+     * Encodes given sequence of octets into a sequence of nibbles.
+     *
+     * @param input the octets to encode.
+     *
+     * @return the encoded nibbles.
+     */
+    public byte[] encode(final byte[] input) {
+
+        return encodeMultiple(input);
+    }
+
+
+    public String encodedToString(final byte[] input,
+                                  final String outputCharset)
+        throws UnsupportedEncodingException {
+
+        if (outputCharset == null) {
+            throw new NullPointerException("outputCharset");
+        }
+
+        return new String(encode(input), outputCharset);
+    }
+
+
+    public String encodedToString(final byte[] input,
+                                  final Charset outputCharset) {
+
+        if (outputCharset == null) {
+            throw new NullPointerException("outputCharset");
+        }
+
+        if (!HexCharsets.compatible(outputCharset)) {
+            return new String(encode(input), outputCharset);
+        }
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        return HexCharsets.encode(input, 0, input.length);
+    }
+
+
+    public byte[] encode(final String input, final String inputCharset)
+        throws UnsupportedEncodingException {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inputCharset == null) {
+            throw new NullPointerException("inputCharset");
+        }
+
+        return encode(input.getBytes(inputCharset));
+    }
+
+
+    public byte[] encode(final String input, final Charset inputCharset) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inputCharset == null) {
+            throw new NullPointerException("inputCharset");
+        }
+
+        return encode(input.getBytes(inputCharset));
+    }
+
+
+    public String encodeToString(final String input, final String inputCharset,
+                                 final String outputCharset)
+        throws UnsupportedEncodingException {
+
+        if (outputCharset == null) {
+            throw new NullPointerException("outputCharset");
+        }
+
+        return new String(encode(input, inputCharset), outputCharset);
+    }
+
+
+    /**
+     * Encodes given string. When {@code outputCharset} is ASCII compatible,
+     * the output string is made from the hex chars without decoding them.
+     *
+     * @param input the input string.
+     * @param inputCharset the charset to decode input string
+     * @param outputCharset the charset to encode output string.
+     *
+     * @return the encoded string.
+     */
+    public String encodeToString(final String input, final Charset inputCharset,
+                                 final Charset outputCharset) {
+
+        if (outputCharset == null) {
+            throw new NullPointerException("outputCharset");
+        }
+
+        if (!HexCharsets.compatible(outputCharset)) {
+            return new String(encode(input, inputCharset), outputCharset);
+        }
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (inputCharset == null) {
+            throw new NullPointerException("inputCharset");
+        }
+
+        return HexCharsets.encode(input, inputCharset);
+    }
+
+
+    /**
+     * [TESTING].
+     *
+     * @param input octets.
+     *
+     * @return nibbles.
+     */
+    byte[] encodeLikeAnEngineer(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final byte[] output = new byte[input.length << 1];
+
+        int index = 0; // index in output
+        for (int i = 0; i < input.length; i++) {
+            output[index++] = (byte) encodeHalf((input[i] >> 4) & 0x0F);
+            output[index++] = (byte) encodeHalf((input[i] & 0x0F));
+        }
+
+        return output;
+    }
+
+
+    /**
+     * [TESTING].
+     *
+     * @param input octets.
+     *
+     * @return nibbles.
+     */
+    byte[] encodeLikeABoss(final byte[] input) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        final byte[] output = new byte[input.length << 1];
+
+        int index = 0; // index in output
+        for (int i = 0; i < input.length; i++) {
+            String s = Integer.toString(input[i] & 0xFF, 16);
+            if (s.length() == 1) {
+                s = "0" + s;
+            }
+            output[index++] = (byte) s.charAt(0);
+            output[index++] = (byte) s.charAt(1);
+        }
+
+        return output;
+    }
+
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * A channel encodes octets written and writes the resulting hex chars to the
+ * underlying channel. An optional {@link HexDigester} is updated with the
+ * octets in the same pass. The block buffer is borrowed from the
+ * {@link HexBufferPool#getDefault() default pool} until closed.
+ *
+ * <p>When the underlying channel is in non-blocking mode, {@link #write(
+ * ByteBuffer)} may accept fewer octets than remaining, or none, while encoded
+ * hex chars are waiting to be written. {@link #close()} keeps writing them,
+ * pausing while the underlying channel accepts none, and gives up after about
+ * a second without progress.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexEncoderChannel implements WritableByteChannel {
+
+
+    /**
+     * The number of octets encoded at once.
+     */
+    static final int BLOCK = 4096;
+
+
+    /**
+     * The number of pauses in a row, while the underlying channel accepts
+     * nothing, after which {@link #close()} gives up.
+     */
+    static final int STALLS = 100;
+
+
+    /**
+     * The duration of a pause, in nanoseconds, while the underlying channel
+     * accepts nothing.
+     */
+    static final long STALL = 10000000L;
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param channel the underlying channel to which hex chars are written.
+     */
+    public HexEncoderChannel(final WritableByteChannel channel) {
+
+        this(channel, null);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param channel the underlying channel to which hex chars are written.
+     * @param digester the digester to update with octets written; may be
+     * {@code null}.
+     */
+    public HexEncoderChannel(final WritableByteChannel channel,
+                             final HexDigester digester) {
+
+        super();
+
+        if (channel == null) {
+            throw new NullPointerException("channel");
+        }
+
+        this.channel = channel;
+        this.digester = digester;
+
+        // acquired after the arguments are checked so that nothing leaks
+        buffer = HexBufferPool.getDefault().acquire(BLOCK << 1, false);
+
+        buffer.flip(); // nothing to drain
+    }
+
+
+    /**
+     * Writes encoded hex chars waiting in the buffer.
+     *
+     * @return {@code true} if the buffer is empty; {@code false} otherwise.
+     */
+    private boolean drain() throws IOException {
+
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) == 0) {
+                return !buffer.hasRemaining();
+            }
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+
+        if (src == null) {
+            throw new NullPointerException("src");
+        }
+
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+
+        int written = 0;
+        while (src.hasRemaining() && drain()) {
+            final int limit = src.limit();
+            src.limit(src.position() + Math.min(src.remaining(), BLOCK));
+            try {
+                if (digester != null) {
+                    digester.update(src);
+                }
+                buffer.clear();
+                written += HexEncoder.encodeMultiple(src, buffer);
+                buffer.flip();
+            } finally {
+                src.limit(limit);
+            }
+        }
+
+        return written;
+    }
+
+
+    @Override
+    public boolean isOpen() {
+
+        return open;
+    }
+
+
+    /**
+     * Writes all hex chars waiting, releases the block buffer and closes the
+     * underlying channel. Waiting hex chars are discarded when the underlying
+     * channel accepts none in {@value #STALLS} pauses in a row.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (!open) {
+            return;
+        }
+
+        open = false;
+        try {
+            int remaining = buffer.remaining();
+            int stalls = 0;
+            while (!drain()) {
+                if (buffer.remaining() < remaining) {
+                    remaining = buffer.remaining();
+                    stalls = 0;
+                } else if (++stalls > STALLS) {
+                    throw new IOException(
+                        "the underlying channel accepts nothing; " + remaining
+                        + " hex chars discarded");
+                }
+                LockSupport.parkNanos(STALL);
+            }
+        } finally {
+            HexBufferPool.getDefault().release(buffer);
+            channel.close();
+        }
+    }
+
+
+    /**
+     * Returns the digester updated with octets written.
+     *
+     * @return the digester or {@code null} if not specified.
+     */
+    public HexDigester getDigester() {
+
+        return digester;
+    }
+
+
+    private final WritableByteChannel channel;
+
+
+    private final HexDigester digester;
+
+
+    private final ByteBuffer buffer;
+
+
+    private boolean open = true;
+
+
+}
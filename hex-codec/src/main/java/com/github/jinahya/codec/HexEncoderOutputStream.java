@@ -0,0 +1,161 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+
+/**
+ * An output stream encodes octets written and writes the resulting hex chars
+ * to the underlying output stream. An optional {@link HexDigester} is updated
+ * with the octets in the same pass. The block buffer is borrowed from the
+ * {@link HexBufferPool#getDefault() default pool} on the first write until
+ * closed.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexEncoderOutputStream extends FilterOutputStream {
+
+
+    /**
+     * The number of octets encoded at once.
+     */
+    static final int BLOCK = 4096;
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param out the underlying output stream to which hex chars are written.
+     */
+    public HexEncoderOutputStream(final OutputStream out) {
+
+        this(out, null);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param out the underlying output stream to which hex chars are written.
+     * @param digester the digester to update with octets written; may be
+     * {@code null}.
+     */
+    public HexEncoderOutputStream(final OutputStream out,
+                                  final HexDigester digester) {
+
+        super(out);
+
+        if (out == null) {
+            throw new NullPointerException("out");
+        }
+
+        this.digester = digester;
+    }
+
+
+    @Override
+    public void write(final int b) throws IOException {
+
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+
+        if (b == null) {
+            throw new NullPointerException("b");
+        }
+
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException(
+                "b.length: " + b.length + ", off: " + off + ", len: " + len);
+        }
+
+        if (len == 0) {
+            return;
+        }
+
+        if (block == null) {
+            block = HexBufferPool.getDefault().acquire(BLOCK << 1, false);
+        }
+
+        final byte[] buffer = block.array();
+        while (len > 0) {
+            final int count = Math.min(len, BLOCK);
+            if (digester != null) {
+                digester.update(b, off, count);
+            }
+            HexEncoder.encodeMultiple(b, off, buffer, 0, count);
+            out.write(buffer, 0, count << 1);
+            off += count;
+            len -= count;
+        }
+    }
+
+
+    /**
+     * Releases the block buffer and closes the underlying output stream.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+
+        try {
+            super.close();
+        } finally {
+            if (block != null) {
+                HexBufferPool.getDefault().release(block);
+                block = null;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the digester updated with octets written.
+     *
+     * @return the digester or {@code null} if not specified.
+     */
+    public HexDigester getDigester() {
+
+        return digester;
+    }
+
+
+    private final HexDigester digester;
+
+
+    private final byte[] single = new byte[1];
+
+
+    /**
+     * The block buffer borrowed on the first write; {@code null} for none.
+     */
+    private ByteBuffer block;
+
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * A {@link HexProcessor} encodes octets.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexEncoderProcessor extends HexProcessor {
+
+
+    /**
+     * Creates a new instance with {@link #DEFAULT_BLOCK_SIZE} and heap chunks
+     * acquired from the {@link HexBufferPool#getDefault() default pool}.
+     */
+    public HexEncoderProcessor() {
+
+        this(DEFAULT_BLOCK_SIZE, false, HexBufferPool.getDefault());
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param blockSize the capacity of output chunks; at least {@code 2}.
+     * @param direct {@code true} for direct output chunks.
+     * @param pool the pool from which output chunks are acquired.
+     */
+    public HexEncoderProcessor(final int blockSize, final boolean direct,
+                               final HexBufferPool pool) {
+
+        super(blockSize, direct, pool);
+    }
+
+
+    @Override
+    void transcode(final ByteBuffer input, final ByteBuffer output) {
+
+        HexEncoder.encodeMultiple(input, output);
+    }
+
+
+    @Override
+    void finish() {
+    }
+
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+/**
+ * A service provider interface for bulk hex encoding/decoding. Providers are
+ * discovered with {@link java.util.ServiceLoader} and selected by
+ * {@link HexEngines}.
+ *
+ * <p>Implementations must be stateless and thread-safe. Range checks on
+ * arrays, offsets and counts are done by callers before any of the methods are
+ * invoked.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public interface HexEngine {
+
+
+    /**
+     * Returns the name of this engine. The name is used for pinning an engine
+     * and for storing calibration results.
+     *
+     * @return the name of this engine.
+     */
+    String name();
+
+
+    /**
+     * Encodes {@code count} octets in {@code input} starting at {@code inoff}
+     * into {@code count * 2} upper-case hex chars in {@code output} starting at
+     * {@code outoff}.
+     *
+     * @param input the input array of octets.
+     * @param inoff the offset in the input array.
+     * @param output the output array of hex chars.
+     * @param outoff the offset in the output array.
+     * @param count the number of octets to encode.
+     */
+    void encode(byte[] input, int inoff, byte[] output, int outoff, int count);
+
+
+    /**
+     * Decodes {@code count * 2} hex chars in {@code input} starting at
+     * {@code inoff} into {@code count} octets in {@code output} starting at
+     * {@code outoff}.
+     *
+     * @param input the input array of hex chars.
+     * @param inoff the offset in the input array.
+     * @param output the output array of octets.
+     * @param outoff the offset in the output array.
+     * @param count the number of octets to decode.
+     *
+     * @throws IllegalArgumentException if any of input chars is not a valid hex
+     * char.
+     */
+    void decode(byte[] input, int inoff, byte[] output, int outoff, int count);
+
+
+}
@@ -0,0 +1,537 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import com.github.jinahya.codec.HexCalibration.SizeClass;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+
+/**
+ * Discovers {@link HexEngine}s and chooses one for each {@link SizeClass}.
+ *
+ * <p>Engines are chosen at first use by following system properties.</p>
+ * <ol>
+ * <li>{@value #ENGINE_PROPERTY} pins the engine of given name for all size
+ * classes.</li>
+ * <li>{@value #CALIBRATION_FILE_PROPERTY} names a file to load a calibration
+ * from. A missing or stale file is recalibrated and stored back.</li>
+ * <li>{@value #CALIBRATE_PROPERTY} of {@code true} measures each engine within
+ * {@value #CALIBRATION_BUDGET_PROPERTY} milliseconds (default
+ * {@value #DEFAULT_CALIBRATION_BUDGET}).</li>
+ * <li>Otherwise, {@value TableHexEngine#NAME} engine is used.</li>
+ * </ol>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class HexEngines {
+
+
+    /**
+     * The system property for pinning an engine by its name.
+     */
+    public static final String ENGINE_PROPERTY =
+        "com.github.jinahya.codec.engine";
+
+
+    /**
+     * The system property for calibrating at first use.
+     */
+    public static final String CALIBRATE_PROPERTY =
+        "com.github.jinahya.codec.calibrate";
+
+
+    /**
+     * The system property for the path of calibration cache file.
+     */
+    public static final String CALIBRATION_FILE_PROPERTY =
+        "com.github.jinahya.codec.calibration.file";
+
+
+    /**
+     * The system property for the time budget of calibration in milliseconds.
+     */
+    public static final String CALIBRATION_BUDGET_PROPERTY =
+        "com.github.jinahya.codec.calibration.budget";
+
+
+    /**
+     * The default value of time budget of calibration in milliseconds.
+     */
+    public static final long DEFAULT_CALIBRATION_BUDGET = 200L;
+
+
+    /**
+     * Engines chosen for each size class.
+     */
+    private static final class Dispatch {
+
+
+        Dispatch(final HexCalibration calibration) {
+
+            super();
+
+            this.calibration = calibration;
+
+            final SizeClass[] sizeClasses = SizeClass.values();
+            encoders = new HexEngine[sizeClasses.length];
+            decoders = new HexEngine[sizeClasses.length];
+            boolean pinned = false;
+            for (final SizeClass sizeClass : sizeClasses) {
+                encoders[sizeClass.ordinal()] =
+                    engineOrDefault(calibration.getEncoder(sizeClass));
+                decoders[sizeClass.ordinal()] =
+                    engineOrDefault(calibration.getDecoder(sizeClass));
+                pinned |= encoders[sizeClass.ordinal()] != TABLE
+                          || decoders[sizeClass.ordinal()] != TABLE;
+            }
+            specialized = calibration.isMeasured() || !pinned;
+        }
+
+
+        final HexCalibration calibration;
+
+
+        /**
+         * Whether fixed-size paths may bypass engines; not when an engine
+         * other than the default is pinned without measurement.
+         */
+        final boolean specialized;
+
+
+        final HexEngine[] encoders;
+
+
+        final HexEngine[] decoders;
+
+
+    }
+
+
+    /**
+     * The built-in default engine which needs no service discovery.
+     */
+    private static final HexEngine TABLE = new TableHexEngine();
+
+
+    private static List<HexEngine> engines;
+
+
+    private static volatile Dispatch dispatch;
+
+
+    /**
+     * Returns all available engines.
+     *
+     * @return an unmodifiable list of available engines.
+     */
+    public static synchronized List<HexEngine> engines() {
+
+        if (engines == null) {
+            final List<HexEngine> loaded = new ArrayList<HexEngine>();
+            final Iterator<HexEngine> i = ServiceLoader.load(
+                HexEngine.class, HexEngine.class.getClassLoader()).iterator();
+            while (true) {
+                try {
+                    if (!i.hasNext()) {
+                        break;
+                    }
+                    loaded.add(i.next());
+                } catch (final ServiceConfigurationError sce) {
+                    // skip the broken provider
+                }
+            }
+            if (loaded.isEmpty()) {
+                loaded.add(TABLE);
+            }
+            engines = Collections.unmodifiableList(loaded);
+        }
+
+        return engines;
+    }
+
+
+    /**
+     * Finds an available engine by its name.
+     *
+     * @param name the name of the engine.
+     *
+     * @return the engine found or {@code null} if not found.
+     */
+    public static HexEngine engine(final String name) {
+
+        if (name == null) {
+            throw new NullPointerException("name");
+        }
+
+        for (final HexEngine engine : engines()) {
+            if (name.equals(engine.name())) {
+                return engine;
+            }
+        }
+
+        return null;
+    }
+
+
+    private static HexEngine engineOrDefault(final String name) {
+
+        if (TableHexEngine.NAME.equals(name)) {
+            return TABLE; // spares the default dispatch a provider scan
+        }
+
+        final HexEngine engine = engine(name);
+        if (engine != null) {
+            return engine;
+        }
+
+        return TABLE;
+    }
+
+
+    private static Dispatch dispatch() {
+
+        final Dispatch current = dispatch;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (HexEngines.class) {
+            if (dispatch == null) {
+                dispatch = new Dispatch(initial());
+            }
+            return dispatch;
+        }
+    }
+
+
+    /**
+     * Resolves the initial calibration from system properties.
+     *
+     * @return the initial calibration.
+     */
+    private static HexCalibration initial() {
+
+        final String pinned = System.getProperty(ENGINE_PROPERTY);
+        if (pinned != null) {
+            return HexCalibration.fixed(pinned);
+        }
+
+        final String path = System.getProperty(CALIBRATION_FILE_PROPERTY);
+        final File file = path == null ? null : new File(path);
+        if (file != null && file.isFile()) {
+            try {
+                final InputStream input = new FileInputStream(file);
+                try {
+                    final HexCalibration loaded = HexCalibration.load(input);
+                    if (loaded.isCurrent()
+                        && loaded.getEngines().equals(names())) {
+                        return loaded;
+                    }
+                } finally {
+                    input.close();
+                }
+            } catch (final IOException ioe) {
+                // recalibrate
+            } catch (final RuntimeException re) {
+                // recalibrate
+            }
+        }
+
+        if (file == null && !Boolean.getBoolean(CALIBRATE_PROPERTY)) {
+            return HexCalibration.fixed(TableHexEngine.NAME);
+        }
+
+        final HexCalibration measured = measure(
+            Long.getLong(CALIBRATION_BUDGET_PROPERTY,
+                         DEFAULT_CALIBRATION_BUDGET));
+
+        if (file != null) {
+            try {
+                final File parent = file.getAbsoluteFile().getParentFile();
+                if (parent != null) {
+                    parent.mkdirs();
+                }
+                final OutputStream output = new FileOutputStream(file);
+                try {
+                    measured.store(output);
+                    output.flush();
+                } finally {
+                    output.close();
+                }
+            } catch (final IOException ioe) {
+                // the cache is best-effort
+            }
+        }
+
+        return measured;
+    }
+
+
+    private static Set<String> names() {
+
+        final Set<String> names =
+            new LinkedHashSet<String>();
+        for (final HexEngine engine : engines()) {
+            names.add(engine.name());
+        }
+
+        return names;
+    }
+
+
+    /**
+     * Returns the calibration currently in use.
+     *
+     * @return the current calibration.
+     */
+    public static HexCalibration calibration() {
+
+        return dispatch().calibration;
+    }
+
+
+    /**
+     * Measures all available engines and installs the result.
+     *
+     * @param budget the time budget in milliseconds.
+     *
+     * @return the result of the calibration.
+     */
+    public static HexCalibration calibrate(final long budget) {
+
+        final HexCalibration calibration = measure(budget);
+        install(calibration);
+
+        return calibration;
+    }
+
+
+    /**
+     * Installs given calibration. Engines unavailable in this environment are
+     * replaced with the {@value TableHexEngine#NAME} engine.
+     *
+     * @param calibration the calibration to install.
+     */
+    public static void install(final HexCalibration calibration) {
+
+        if (calibration == null) {
+            throw new NullPointerException("calibration");
+        }
+
+        dispatch = new Dispatch(calibration);
+    }
+
+
+    /**
+     * Checks whether {@link HexFixedSizes} may be used instead of engines.
+     *
+     * @return {@code true} if fixed-size paths may be used.
+     */
+    static boolean specialized() {
+
+        return dispatch().specialized;
+    }
+
+
+    /**
+     * Returns the engine for encoding given number of octets.
+     *
+     * @param count the number of octets.
+     *
+     * @return the engine for encoding.
+     */
+    static HexEngine encoder(final int count) {
+
+        return dispatch().encoders[SizeClass.of(count).ordinal()];
+    }
+
+
+    /**
+     * Returns the engine for decoding given number of octets.
+     *
+     * @param count the number of octets.
+     *
+     * @return the engine for decoding.
+     */
+    static HexEngine decoder(final int count) {
+
+        return dispatch().decoders[SizeClass.of(count).ordinal()];
+    }
+
+
+    /**
+     * Measures each available engine on each size class.
+     *
+     * @param budget the time budget in milliseconds.
+     *
+     * @return the result.
+     */
+    static HexCalibration measure(final long budget) {
+
+        if (budget <= 0L) {
+            throw new IllegalArgumentException("budget(" + budget + ") <= 0");
+        }
+
+        final List<HexEngine> candidates = engines();
+        final SizeClass[] sizeClasses = SizeClass.values();
+        final long slice = budget * 1000000L
+                           / (candidates.size() * sizeClasses.length * 2);
+
+        final Map<String, double[]> encodeNanos =
+            new LinkedHashMap<String, double[]>();
+        final Map<String, double[]> decodeNanos =
+            new LinkedHashMap<String, double[]>();
+        for (final HexEngine engine : candidates) {
+            final double[] nanos = new double[sizeClasses.length];
+            Arrays.fill(nanos, Double.NaN);
+            encodeNanos.put(engine.name(), nanos);
+            decodeNanos.put(engine.name(), nanos.clone());
+        }
+
+        final Random random = new Random(0L);
+        final String[] encoders = new String[sizeClasses.length];
+        final String[] decoders = new String[sizeClasses.length];
+        for (final SizeClass sizeClass : sizeClasses) {
+            final int count = sizeClass.getSample();
+            final byte[] decoded = new byte[count];
+            random.nextBytes(decoded);
+            final byte[] encoded = new byte[count << 1];
+            TableHexEngine.encodeTable(decoded, 0, encoded, 0, count);
+            for (int i = 0; i < encoded.length; i++) {
+                if (encoded[i] >= 0x41 && random.nextBoolean()) {
+                    encoded[i] += 0x20; // mixed cases
+                }
+            }
+            final byte[] output = new byte[count << 1];
+            double bestEncode = Double.MAX_VALUE;
+            double bestDecode = Double.MAX_VALUE;
+            for (final HexEngine engine : candidates) {
+                final String name = engine.name();
+                if (!verify(engine, decoded, encoded, output)) {
+                    continue;
+                }
+                final double encode =
+                    time(engine, false, decoded, output, count, slice);
+                encodeNanos.get(name)[sizeClass.ordinal()] = encode;
+                if (encode < bestEncode) {
+                    bestEncode = encode;
+                    encoders[sizeClass.ordinal()] = name;
+                }
+                final double decode =
+                    time(engine, true, encoded, output, count, slice);
+                decodeNanos.get(name)[sizeClass.ordinal()] = decode;
+                if (decode < bestDecode) {
+                    bestDecode = decode;
+                    decoders[sizeClass.ordinal()] = name;
+                }
+            }
+            if (encoders[sizeClass.ordinal()] == null) {
+                encoders[sizeClass.ordinal()] = TableHexEngine.NAME;
+                decoders[sizeClass.ordinal()] = TableHexEngine.NAME;
+            }
+        }
+
+        return new HexCalibration(HexCalibration.environment(), encoders,
+                                  decoders, encodeNanos, decodeNanos);
+    }
+
+
+    /**
+     * Checks if given engine produces the same results as the table.
+     */
+    private static boolean verify(final HexEngine engine, final byte[] decoded,
+                                  final byte[] encoded, final byte[] output) {
+
+        final int count = decoded.length;
+        final byte[] expected = new byte[count << 1];
+        TableHexEngine.encodeTable(decoded, 0, expected, 0, count);
+
+        try {
+            engine.encode(decoded, 0, output, 0, count);
+            if (!Arrays.equals(output, expected)) {
+                return false;
+            }
+            engine.decode(encoded, 0, output, 0, count);
+            for (int i = 0; i < count; i++) {
+                if (output[i] != decoded[i]) {
+                    return false;
+                }
+            }
+        } catch (final RuntimeException re) {
+            return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Returns the best nanoseconds per octet within given time slice.
+     */
+    private static double time(final HexEngine engine, final boolean decode,
+                               final byte[] input, final byte[] output,
+                               final int count, final long slice) {
+
+        final int repeat = Math.max(1, 65536 / count);
+        final long deadline = System.nanoTime() + slice;
+        long best = Long.MAX_VALUE;
+        do {
+            final long start = System.nanoTime();
+            for (int i = 0; i < repeat; i++) {
+                if (decode) {
+                    engine.decode(input, 0, output, 0, count);
+                } else {
+                    engine.encode(input, 0, output, 0, count);
+                }
+            }
+            final long elapsed = System.nanoTime() - start;
+            if (elapsed < best) {
+                best = elapsed;
+            }
+        } while (System.nanoTime() < deadline);
+
+        return (double) best / ((double) repeat * count);
+    }
+
+
+    private HexEngines() {
+
+        super();
+    }
+
+
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * An asynchronous file transcoder which encodes or decodes a whole file with
+ * overlapped I/O. A ring of {@code depth} blocks is kept in flight over
+ * {@link AsynchronousFileChannel}s; while one block is being read, another can
+ * be transcoded and another written. Blocks are read from and written to fixed
+ * positions, so they may complete in any order. Block buffers are borrowed from
+ * the {@link HexBufferPool#getDefault() default pool} for each transcoding.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexFileTranscoder {
+
+
+    /**
+     * The default number of input octets of each block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 65536;
+
+
+    /**
+     * The default number of blocks in flight.
+     */
+    public static final int DEFAULT_DEPTH = 4;
+
+
+    /**
+     * The outcome of a transcoding.
+     */
+    public static final class Result {
+
+
+        private Result(final long read, final long written, final long nanos) {
+
+            super();
+
+            this.read = read;
+            this.written = written;
+            this.nanos = nanos;
+        }
+
+
+        /**
+         * Returns the number of octets read.
+         *
+         * @return the number of octets read.
+         */
+        public long getRead() {
+
+            return read;
+        }
+
+
+        /**
+         * Returns the number of octets written.
+         *
+         * @return the number of octets written.
+         */
+        public long getWritten() {
+
+            return written;
+        }
+
+
+        /**
+         * Returns the elapsed time in nanoseconds.
+         *
+         * @return the elapsed time in nanoseconds.
+         */
+        public long getNanos() {
+
+            return nanos;
+        }
+
+
+        /**
+         * Returns the throughput in octets read per second.
+         *
+         * @return the throughput in octets per second.
+         */
+        public double getThroughput() {
+
+            return nanos == 0L ? 0.0d : read * 1000000000.0d / nanos;
+        }
+
+
+        @Override
+        public String toString() {
+
+            return super.toString() + "?read=" + read + "&written=" + written
+                   + "&nanos=" + nanos;
+        }
+
+
+        private final long read;
+
+
+        private final long written;
+
+
+        private final long nanos;
+
+
+    }
+
+
+    /**
+     * Returns a transcoder which encodes with the default block size and
+     * depth.
+     *
+     * @return a new encoding transcoder.
+     */
+    public static HexFileTranscoder encoder() {
+
+        return encoder(DEFAULT_BLOCK_SIZE, DEFAULT_DEPTH);
+    }
+
+
+    /**
+     * Returns a transcoder which encodes.
+     *
+     * @param blockSize the number of input octets of each block.
+     * @param depth the number of blocks in flight.
+     *
+     * @return a new encoding transcoder.
+     */
+    public static HexFileTranscoder encoder(final int blockSize,
+                                            final int depth) {
+
+        if (blockSize <= 0 || blockSize > (Integer.MAX_VALUE >> 1)) {
+            throw new IllegalArgumentException(
+                "blockSize(" + blockSize + ") is not valid");
+        }
+
+        return new HexFileTranscoder(true, blockSize, depth);
+    }
+
+
+    /**
+     * Returns a transcoder which decodes with the default block size and
+     * depth.
+     *
+     * @return a new decoding transcoder.
+     */
+    public static HexFileTranscoder decoder() {
+
+        return decoder(DEFAULT_BLOCK_SIZE, DEFAULT_DEPTH);
+    }
+
+
+    /**
+     * Returns a transcoder which decodes.
+     *
+     * @param blockSize the number of input units of each block; must be a
+     * positive even number.
+     * @param depth the number of blocks in flight.
+     *
+     * @return a new decoding transcoder.
+     */
+    public static HexFileTranscoder decoder(final int blockSize,
+                                            final int depth) {
+
+        if (blockSize <= 0 || (blockSize & 0x01) == 0x01) {
+            throw new IllegalArgumentException(
+                "blockSize(" + blockSize + ") is not a positive even number");
+        }
+
+        return new HexFileTranscoder(false, blockSize, depth);
+    }
+
+
+    private HexFileTranscoder(final boolean encoding, final int blockSize,
+                              final int depth) {
+
+        super();
+
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth(" + depth + ") <= 0");
+        }
+
+        this.encoding = encoding;
+        this.blockSize = blockSize;
+        this.depth = depth;
+    }
+
+
+    /**
+     * Transcodes given source file into given target file. The target file is
+     * created or truncated. Both files are closed when the returned future
+     * completes.
+     *
+     * @param source the source file.
+     * @param target the target file.
+     *
+     * @return a future of the result.
+     *
+     * @throws IOException if an I/O error occurs while opening files.
+     */
+    public CompletableFuture<Result> transcode(final Path source,
+                                               final Path target)
+        throws IOException {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        if (target == null) {
+            throw new NullPointerException("target");
+        }
+
+        final AsynchronousFileChannel input =
+            AsynchronousFileChannel.open(source, StandardOpenOption.READ);
+        final AsynchronousFileChannel output;
+        try {
+            output = AsynchronousFileChannel.open(
+                target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (final IOException ioe) {
+            input.close();
+            throw ioe;
+        }
+
+        CompletableFuture<Result> future;
+        try {
+            future = transcode(input, output);
+        } catch (final IOException ioe) {
+            future = new CompletableFuture<Result>();
+            future.completeExceptionally(ioe);
+        }
+
+        return future.whenComplete((result, thrown) -> {
+            try {
+                try {
+                    input.close();
+                } finally {
+                    output.close();
+                }
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        });
+    }
+
+
+    /**
+     * Transcodes all octets of given source channel into given target channel
+     * starting at position {@code 0}. Neither channel is closed.
+     *
+     * @param source the source channel.
+     * @param target the target channel.
+     *
+     * @return a future of the result.
+     *
+     * @throws IOException if an I/O error occurs while querying the size of
+     * the source channel.
+     */
+    public CompletableFuture<Result> transcode(
+        final AsynchronousFileChannel source,
+        final AsynchronousFileChannel target)
+        throws IOException {
+
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+
+        if (target == null) {
+            throw new NullPointerException("target");
+        }
+
+        final Job job = new Job(source, target, source.size());
+        if (!encoding && (job.size & 0x01L) == 0x01L) {
+            job.future.completeExceptionally(new IllegalArgumentException(
+                "source size(" + job.size + ") is not even"));
+            return job.future;
+        }
+
+        for (int i = 0; i < depth; i++) {
+            new Slot(job).next();
+        }
+
+        return job.future;
+    }
+
+
+    /**
+     * The state shared by all slots of a single transcoding.
+     */
+    private final class Job {
+
+
+        Job(final AsynchronousFileChannel source,
+            final AsynchronousFileChannel target, final long size) {
+
+            super();
+
+            this.source = source;
+            this.target = target;
+            this.size = size;
+
+            blocks = (size + blockSize - 1) / blockSize;
+            active = new AtomicInteger(depth);
+        }
+
+
+        void retire() {
+
+            if (active.decrementAndGet() == 0) {
+                future.complete(new Result(
+                    size, written.get(), System.nanoTime() - started));
+            }
+        }
+
+
+        final AsynchronousFileChannel source;
+
+
+        final AsynchronousFileChannel target;
+
+
+        final long size;
+
+
+        final long blocks;
+
+
+        final AtomicLong next = new AtomicLong();
+
+
+        final AtomicInteger active;
+
+
+        final AtomicLong written = new AtomicLong();
+
+
+        final long started = System.nanoTime();
+
+
+        final CompletableFuture<Result> future =
+            new CompletableFuture<Result>();
+
+
+    }
+
+
+    /**
+     * A block buffer which repeatedly reads, transcodes and writes blocks.
+     * The attachment of each completion tells whether it was a read.
+     */
+    private final class Slot implements CompletionHandler<Integer, Boolean> {
+
+
+        Slot(final Job job) {
+
+            super();
+
+            this.job = job;
+
+            final HexBufferPool pool = HexBufferPool.getDefault();
+            input = pool.acquire(blockSize, false);
+            output = pool.acquire(
+                encoding ? blockSize << 1 : blockSize >> 1, false);
+        }
+
+
+        void retire() {
+
+            final HexBufferPool pool = HexBufferPool.getDefault();
+            pool.release(input);
+            pool.release(output);
+            job.retire();
+        }
+
+
+        void next() {
+
+            if (job.future.isDone()) {
+                retire();
+                return;
+            }
+
+            block = job.next.getAndIncrement();
+            if (block >= job.blocks) {
+                retire();
+                return;
+            }
+
+            final long position = block * blockSize;
+            input.clear();
+            input.limit((int) Math.min(blockSize, job.size - position));
+            job.source.read(input, position, Boolean.TRUE, this);
+        }
+
+
+        @Override
+        public void completed(final Integer result, final Boolean reading) {
+
+            if (reading) {
+                if (result < 0) {
+                    failed(new EOFException("unexpected end of file"),
+                           reading);
+                    return;
+                }
+                if (input.hasRemaining()) {
+                    job.source.read(input, block * blockSize + input.position(),
+                                    Boolean.TRUE, this);
+                    return;
+                }
+                input.flip();
+                output.clear();
+                try {
+                    if (encoding) {
+                        HexEncoder.encodeMultiple(input, output);
+                    } else {
+                        HexDecoder.decodeMultiple(input, output);
+                    }
+                } catch (final RuntimeException re) {
+                    failed(re, reading);
+                    return;
+                }
+                output.flip();
+                job.target.write(output, offset(), Boolean.FALSE, this);
+                return;
+            }
+
+            job.written.addAndGet(result);
+            if (output.hasRemaining()) {
+                job.target.write(output, offset() + output.position(),
+                                 Boolean.FALSE, this);
+                return;
+            }
+            next();
+        }
+
+
+        @Override
+        public void failed(final Throwable thrown, final Boolean reading) {
+
+            job.future.completeExceptionally(thrown);
+            retire();
+        }
+
+
+        private long offset() {
+
+            final long position = block * blockSize;
+
+            return encoding ? position << 1 : position >> 1;
+        }
+
+
+        private final Job job;
+
+
+        private final ByteBuffer input;
+
+
+        private final ByteBuffer output;
+
+
+        private long block;
+
+
+    }
+
+
+    private final boolean encoding;
+
+
+    private final int blockSize;
+
+
+    private final int depth;
+
+
+}
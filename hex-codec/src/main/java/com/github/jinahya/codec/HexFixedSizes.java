@@ -0,0 +1,230 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+
+/**
+ * Unrolled paths for the lengths of common digests; {@code 16} (MD5),
+ * {@code 20} (SHA-1), {@code 32} (SHA-256) and {@code 64} (SHA-512) octets.
+ * Each step loads eight octets, or sixteen hex chars, with wide accesses and
+ * transcodes them with the lane arithmetic of {@link SwarHexEngine}.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+final class HexFixedSizes {
+
+
+    private static final VarHandle LONGS = MethodHandles
+        .byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+
+    private static final VarHandle INTS = MethodHandles
+        .byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+
+    private static final long LANES_80 = 0x8080808080808080L;
+
+
+    /**
+     * Checks whether given number of octets has a fixed-size path.
+     *
+     * @param count the number of octets.
+     *
+     * @return {@code true} if {@code count} is one of the fixed sizes.
+     */
+    static boolean fixed(final int count) {
+
+        return count == 16 || count == 20 || count == 32 || count == 64;
+    }
+
+
+    /**
+     * Encodes {@code count} octets if {@code count} is one of the fixed sizes.
+     * Ranges should be already checked.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of octets to encode
+     *
+     * @return {@code true} if encoded; {@code false} otherwise.
+     */
+    static boolean encode(final byte[] input, final int inoff,
+                          final byte[] output, final int outoff,
+                          final int count) {
+
+        switch (count) {
+            case 16:
+                encode8(input, inoff, output, outoff);
+                encode8(input, inoff + 8, output, outoff + 16);
+                return true;
+            case 20:
+                encode8(input, inoff, output, outoff);
+                encode8(input, inoff + 8, output, outoff + 16);
+                encode4(input, inoff + 16, output, outoff + 32);
+                return true;
+            case 32:
+                encode8(input, inoff, output, outoff);
+                encode8(input, inoff + 8, output, outoff + 16);
+                encode8(input, inoff + 16, output, outoff + 32);
+                encode8(input, inoff + 24, output, outoff + 48);
+                return true;
+            case 64:
+                encode8(input, inoff, output, outoff);
+                encode8(input, inoff + 8, output, outoff + 16);
+                encode8(input, inoff + 16, output, outoff + 32);
+                encode8(input, inoff + 24, output, outoff + 48);
+                encode8(input, inoff + 32, output, outoff + 64);
+                encode8(input, inoff + 40, output, outoff + 80);
+                encode8(input, inoff + 48, output, outoff + 96);
+                encode8(input, inoff + 56, output, outoff + 112);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+
+    /**
+     * Decodes {@code count} octets if {@code count} is one of the fixed sizes.
+     * Ranges should be already checked.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of octets to decode
+     *
+     * @return {@code true} if decoded; {@code false} otherwise.
+     *
+     * @throws IllegalArgumentException if an illegal hex char found.
+     */
+    static boolean decode(final byte[] input, final int inoff,
+                          final byte[] output, final int outoff,
+                          final int count) {
+
+        final long valid;
+        switch (count) {
+            case 16:
+                valid = decode8(input, inoff, output, outoff)
+                        & decode8(input, inoff + 16, output, outoff + 8);
+                break;
+            case 20:
+                valid = decode8(input, inoff, output, outoff)
+                        & decode8(input, inoff + 16, output, outoff + 8)
+                        & decode4(input, inoff + 32, output, outoff + 16);
+                break;
+            case 32:
+                valid = decode8(input, inoff, output, outoff)
+                        & decode8(input, inoff + 16, output, outoff + 8)
+                        & decode8(input, inoff + 32, output, outoff + 16)
+                        & decode8(input, inoff + 48, output, outoff + 24);
+                break;
+            case 64:
+                valid = decode8(input, inoff, output, outoff)
+                        & decode8(input, inoff + 16, output, outoff + 8)
+                        & decode8(input, inoff + 32, output, outoff + 16)
+                        & decode8(input, inoff + 48, output, outoff + 24)
+                        & decode8(input, inoff + 64, output, outoff + 32)
+                        & decode8(input, inoff + 80, output, outoff + 40)
+                        & decode8(input, inoff + 96, output, outoff + 48)
+                        & decode8(input, inoff + 112, output, outoff + 56);
+                break;
+            default:
+                return false;
+        }
+
+        if (valid != LANES_80) {
+            // let the table report the illegal char
+            TableHexEngine.decodeTable(input, inoff, output, outoff, count);
+        }
+
+        return true;
+    }
+
+
+    private static void encode8(final byte[] input, final int inoff,
+                                final byte[] output, final int outoff) {
+
+        final long octets = (long) LONGS.get(input, inoff);
+        LONGS.set(output, outoff,
+                  SwarHexEngine.encodeLanes(SwarHexEngine.spread(
+                      octets >>> 32)));
+        LONGS.set(output, outoff + 8,
+                  SwarHexEngine.encodeLanes(SwarHexEngine.spread(
+                      octets & 0xFFFFFFFFL)));
+    }
+
+
+    private static void encode4(final byte[] input, final int inoff,
+                                final byte[] output, final int outoff) {
+
+        final long octets = (int) INTS.get(input, inoff) & 0xFFFFFFFFL;
+        LONGS.set(output, outoff,
+                  SwarHexEngine.encodeLanes(SwarHexEngine.spread(octets)));
+    }
+
+
+    /**
+     * Decodes sixteen hex chars into eight octets.
+     *
+     * @return the mask of valid lanes.
+     */
+    private static long decode8(final byte[] input, final int inoff,
+                                final byte[] output, final int outoff) {
+
+        final long high = (long) LONGS.get(input, inoff);
+        final long low = (long) LONGS.get(input, inoff + 8);
+        LONGS.set(output, outoff,
+                  (SwarHexEngine.decodeLanes(high) << 32)
+                  | SwarHexEngine.decodeLanes(low));
+
+        return SwarHexEngine.classifyLanes(high)
+               & SwarHexEngine.classifyLanes(low);
+    }
+
+
+    /**
+     * Decodes eight hex chars into four octets.
+     *
+     * @return the mask of valid lanes.
+     */
+    private static long decode4(final byte[] input, final int inoff,
+                                final byte[] output, final int outoff) {
+
+        final long chars = (long) LONGS.get(input, inoff);
+        INTS.set(output, outoff, (int) SwarHexEngine.decodeLanes(chars));
+
+        return SwarHexEngine.classifyLanes(chars);
+    }
+
+
+    private HexFixedSizes() {
+
+        super();
+    }
+
+
+}
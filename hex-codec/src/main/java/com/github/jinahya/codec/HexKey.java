@@ -0,0 +1,345 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+
+/**
+ * An immutable hex identifier, such as a digest, stored as octets but behaving
+ * like its upper-case hex string. Keys of up to {@value #PACKED} octets are
+ * packed into {@code long} fields; a SHA-256 key takes about half the heap of
+ * its 64-char {@code String}. Hex chars are re-encoded on demand and never
+ * cached.
+ *
+ * <p>Equality is case-insensitive on the hex chars, and the natural ordering
+ * is identical to the case-insensitive lexicographic ordering of the hex
+ * chars.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class HexKey implements CharSequence, Comparable<HexKey> {
+
+
+    /**
+     * The maximum number of octets packed into {@code long} fields.
+     */
+    public static final int PACKED = 32;
+
+
+    /**
+     * Decodes given hex chars into a key.
+     *
+     * @param hex the hex chars to decode.
+     *
+     * @return a key of the decoded octets.
+     *
+     * @throws IllegalArgumentException if {@code hex} has an odd length or an
+     * illegal hex char.
+     */
+    public static HexKey valueOf(final CharSequence hex) {
+
+        if (hex == null) {
+            throw new NullPointerException("hex");
+        }
+
+        if ((hex.length() & 0x01) == 0x01) {
+            throw new IllegalArgumentException(
+                "hex.length(" + hex.length() + ") is not even");
+        }
+
+        final byte[] octets = new byte[hex.length() >> 1];
+        HexDecoder.decodeMultiple(hex, 0, octets, 0, octets.length);
+
+        return new HexKey(octets);
+    }
+
+
+    /**
+     * Returns a key of given octets. The array is copied.
+     *
+     * @param octets the octets.
+     *
+     * @return a key of the octets.
+     */
+    public static HexKey of(final byte[] octets) {
+
+        if (octets == null) {
+            throw new NullPointerException("octets");
+        }
+
+        return new HexKey(octets.length > PACKED ? octets.clone() : octets);
+    }
+
+
+    private static long pack(final byte[] octets, final int offset) {
+
+        long word = 0L;
+        for (int i = 0; i < 8; i++) {
+            final int index = offset + i;
+            word <<= 8;
+            if (index < octets.length) {
+                word |= octets[index] & 0xFFL;
+            }
+        }
+
+        return word;
+    }
+
+
+    /**
+     * Creates a new instance. Arrays longer than {@value #PACKED} are kept as
+     * is.
+     */
+    private HexKey(final byte[] octets) {
+
+        super();
+
+        length = octets.length;
+        if (length > PACKED) {
+            this.octets = octets;
+            word0 = word1 = word2 = word3 = 0L;
+        } else {
+            this.octets = null;
+            word0 = pack(octets, 0);
+            word1 = pack(octets, 8);
+            word2 = pack(octets, 16);
+            word3 = pack(octets, 24);
+        }
+    }
+
+
+    /**
+     * Returns the number of octets.
+     *
+     * @return the number of octets.
+     */
+    public int octets() {
+
+        return length;
+    }
+
+
+    /**
+     * Returns the octet at given index.
+     *
+     * @param index the index of the octet.
+     *
+     * @return the octet as an unsigned value.
+     */
+    private int octet(final int index) {
+
+        if (octets != null) {
+            return octets[index] & 0xFF;
+        }
+
+        final long word;
+        switch (index >> 3) {
+            case 0:
+                word = word0;
+                break;
+            case 1:
+                word = word1;
+                break;
+            case 2:
+                word = word2;
+                break;
+            default:
+                word = word3;
+                break;
+        }
+
+        return (int) (word >>> (56 - ((index & 0x07) << 3))) & 0xFF;
+    }
+
+
+    /**
+     * Returns a new array of the octets.
+     *
+     * @return a new array of the octets.
+     */
+    public byte[] toByteArray() {
+
+        if (octets != null) {
+            return octets.clone();
+        }
+
+        final byte[] array = new byte[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = (byte) octet(i);
+        }
+
+        return array;
+    }
+
+
+    @Override
+    public int length() {
+
+        return length << 1;
+    }
+
+
+    @Override
+    public char charAt(final int index) {
+
+        if (index < 0 || index >= length << 1) {
+            throw new IndexOutOfBoundsException(
+                "index(" + index + ") is out of [0, " + (length << 1) + ")");
+        }
+
+        final int octet = octet(index >> 1);
+
+        return (char) HexTables.ENCODE[
+            (index & 0x01) == 0 ? octet >> 4 : octet & 0x0F];
+    }
+
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+
+        return toString().subSequence(start, end);
+    }
+
+
+    /**
+     * Returns the upper-case hex chars of the octets. The result is encoded
+     * each time, through a pooled block, so that the string is the only
+     * object allocated.
+     *
+     * @return the hex chars.
+     */
+    @Override
+    public String toString() {
+
+        if (octets != null) {
+            return HexCharsets.encode(octets, 0, length);
+        }
+
+        final HexBufferPool pool = HexBufferPool.getDefault();
+        final ByteBuffer block = pool.acquire(length << 1, false);
+        try {
+            final byte[] hex = block.array();
+            for (int i = 0; i < length; i++) {
+                final int octet = octet(i);
+                hex[i << 1] = HexTables.ENCODE[octet >> 4];
+                hex[(i << 1) + 1] = HexTables.ENCODE[octet & 0x0F];
+            }
+            return new String(hex, 0, length << 1,
+                              StandardCharsets.ISO_8859_1);
+        } finally {
+            pool.release(block);
+        }
+    }
+
+
+    @Override
+    public boolean equals(final Object obj) {
+
+        if (obj == this) {
+            return true;
+        }
+
+        if (!(obj instanceof HexKey)) {
+            return false;
+        }
+
+        final HexKey key = (HexKey) obj;
+        if (length != key.length) {
+            return false;
+        }
+
+        if (octets != null) {
+            return Arrays.equals(octets, key.octets);
+        }
+
+        return word0 == key.word0 && word1 == key.word1 && word2 == key.word2
+               && word3 == key.word3;
+    }
+
+
+    @Override
+    public int hashCode() {
+
+        if (octets != null) {
+            return Arrays.hashCode(octets);
+        }
+
+        int hash = length;
+        hash = 31 * hash + Long.hashCode(word0);
+        hash = 31 * hash + Long.hashCode(word1);
+        hash = 31 * hash + Long.hashCode(word2);
+        hash = 31 * hash + Long.hashCode(word3);
+
+        return hash;
+    }
+
+
+    @Override
+    public int compareTo(final HexKey key) {
+
+        if (octets == null && key.octets == null) {
+            // unused tails are zero so a prefix comes first
+            int result = Long.compareUnsigned(word0, key.word0);
+            if (result == 0) {
+                result = Long.compareUnsigned(word1, key.word1);
+            }
+            if (result == 0) {
+                result = Long.compareUnsigned(word2, key.word2);
+            }
+            if (result == 0) {
+                result = Long.compareUnsigned(word3, key.word3);
+            }
+            return result != 0 ? result : Integer.compare(length, key.length);
+        }
+
+        final int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            final int result = Integer.compare(octet(i), key.octet(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return Integer.compare(length, key.length);
+    }
+
+
+    private final int length;
+
+
+    private final byte[] octets;
+
+
+    private final long word0;
+
+
+    private final long word1;
+
+
+    private final long word2;
+
+
+    private final long word3;
+
+
+}
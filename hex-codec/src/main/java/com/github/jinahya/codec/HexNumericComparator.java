@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.util.Comparator;
+
+
+/**
+ * A comparator orders hex strings by the unsigned values they represent,
+ * without decoding them. Leading zeros are ignored, lengths may be odd, and
+ * chars are compared case-insensitively; an empty string is zero.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class HexNumericComparator implements Comparator<CharSequence> {
+
+
+    private static final HexNumericComparator INSTANCE =
+        new HexNumericComparator();
+
+
+    /**
+     * Returns the shared instance. The instance is stateless and thread-safe.
+     *
+     * @return the shared instance.
+     */
+    public static HexNumericComparator getInstance() {
+
+        return INSTANCE;
+    }
+
+
+    private static int nibble(final CharSequence hex, final int index) {
+
+        final char c = hex.charAt(index);
+        final int nibble = c > 0xFF ? -1 : HexTables.DECODE[c];
+        if (nibble < 0) {
+            throw new IllegalArgumentException(
+                "illegal hex char: " + c + " at " + index);
+        }
+
+        return nibble;
+    }
+
+
+    /**
+     * Returns the index of the first non-zero nibble; validating leading
+     * zeros on the way.
+     */
+    private static int significant(final CharSequence hex) {
+
+        final int length = hex.length();
+        int index = 0;
+        while (index < length && nibble(hex, index) == 0) {
+            index++;
+        }
+
+        return index;
+    }
+
+
+    private HexNumericComparator() {
+
+        super();
+    }
+
+
+    /**
+     * Compares two hex strings numerically.
+     *
+     * @param o1 the first hex string.
+     * @param o2 the second hex string.
+     *
+     * @return a negative integer, zero, or a positive integer as the first
+     * value is less than, equal to, or greater than the second.
+     *
+     * @throws IllegalArgumentException if either contains an illegal char.
+     */
+    @Override
+    public int compare(final CharSequence o1, final CharSequence o2) {
+
+        if (o1 == null) {
+            throw new NullPointerException("o1");
+        }
+
+        if (o2 == null) {
+            throw new NullPointerException("o2");
+        }
+
+        int index1 = significant(o1);
+        int index2 = significant(o2);
+        final int digits1 = o1.length() - index1;
+        final int digits2 = o2.length() - index2;
+
+        int result = Integer.compare(digits1, digits2);
+        while (index1 < o1.length() && index2 < o2.length()) {
+            final int nibble1 = nibble(o1, index1++);
+            final int nibble2 = nibble(o2, index2++);
+            if (result == 0) {
+                result = Integer.compare(nibble1, nibble2);
+            }
+        }
+        while (index1 < o1.length()) {
+            nibble(o1, index1++); // validates
+        }
+        while (index2 < o2.length()) {
+            nibble(o2, index2++); // validates
+        }
+
+        return result;
+    }
+
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+
+/**
+ * Transcodes arrays of primitives straight to and from hex chars, without an
+ * intermediate array of octets. Each value is reordered, if little-endian, in
+ * a register and transcoded with the lane arithmetic of
+ * {@link SwarHexEngine}. Ranges should be already checked.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+final class HexPrimitives {
+
+
+    private static final VarHandle LONGS = MethodHandles
+        .byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+
+    private static final VarHandle INTS = MethodHandles
+        .byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+
+    private static final long LANES_80 = 0x8080808080808080L;
+
+
+    /**
+     * Four {@code '0'}s in the upper lanes.
+     */
+    private static final long ZEROS = 0x3030303000000000L;
+
+
+    /**
+     * Encodes {@code count} long values into {@code 16} hex chars each.
+     */
+    static void encode(final long[] input, int inoff, final byte[] output,
+                       int outoff, final int count, final ByteOrder order) {
+
+        final boolean little = order == ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < count; i++) {
+            final long value = little ? Long.reverseBytes(input[inoff++])
+                               : input[inoff++];
+            LONGS.set(output, outoff, SwarHexEngine.encodeLanes(
+                SwarHexEngine.spread(value >>> 32)));
+            LONGS.set(output, outoff + 8, SwarHexEngine.encodeLanes(
+                SwarHexEngine.spread(value & 0xFFFFFFFFL)));
+            outoff += 16;
+        }
+    }
+
+
+    /**
+     * Encodes {@code count} int values into {@code 8} hex chars each.
+     */
+    static void encode(final int[] input, int inoff, final byte[] output,
+                       int outoff, final int count, final ByteOrder order) {
+
+        final boolean little = order == ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < count; i++) {
+            final int value = little ? Integer.reverseBytes(input[inoff++])
+                              : input[inoff++];
+            LONGS.set(output, outoff, SwarHexEngine.encodeLanes(
+                SwarHexEngine.spread(value & 0xFFFFFFFFL)));
+            outoff += 8;
+        }
+    }
+
+
+    /**
+     * Encodes {@code count} short values into {@code 4} hex chars each.
+     */
+    static void encode(final short[] input, int inoff, final byte[] output,
+                       int outoff, final int count, final ByteOrder order) {
+
+        final boolean little = order == ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < count; i++) {
+            final short value = little ? Short.reverseBytes(input[inoff++])
+                                : input[inoff++];
+            INTS.set(output, outoff, (int) SwarHexEngine.encodeLanes(
+                SwarHexEngine.spread(value & 0xFFFFL)));
+            outoff += 4;
+        }
+    }
+
+
+    /**
+     * Throws an exception for the illegal hex char in given range.
+     */
+    private static void illegal(final byte[] input, final int inoff,
+                                final int length) {
+
+        // let the table report the illegal char
+        TableHexEngine.decodeTable(input, inoff, new byte[length >> 1], 0,
+                                   length >> 1);
+        throw new AssertionError("no illegal char found");
+    }
+
+
+    /**
+     * Decodes {@code count} long values from {@code 16} hex chars each.
+     *
+     * @throws IllegalArgumentException if an illegal hex char found.
+     */
+    static void decode(final byte[] input, int inoff, final long[] output,
+                       int outoff, final int count, final ByteOrder order) {
+
+        final boolean little = order == ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < count; i++) {
+            final long high = (long) LONGS.get(input, inoff);
+            final long low = (long) LONGS.get(input, inoff + 8);
+            if ((SwarHexEngine.classifyLanes(high)
+                 & SwarHexEngine.classifyLanes(low)) != LANES_80) {
+                illegal(input, inoff, 16);
+            }
+            final long value = (SwarHexEngine.decodeLanes(high) << 32)
+                               | SwarHexEngine.decodeLanes(low);
+            output[outoff++] = little ? Long.reverseBytes(value) : value;
+            inoff += 16;
+        }
+    }
+
+
+    /**
+     * Decodes {@code count} int values from {@code 8} hex chars each.
+     *
+     * @throws IllegalArgumentException if an illegal hex char found.
+     */
+    static void decode(final byte[] input, int inoff, final int[] output,
+                       int outoff, final int count, final ByteOrder order) {
+
+        final boolean little = order == ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < count; i++) {
+            final long chars = (long) LONGS.get(input, inoff);
+            if (SwarHexEngine.classifyLanes(chars) != LANES_80) {
+                illegal(input, inoff, 8);
+            }
+            final int value = (int) SwarHexEngine.decodeLanes(chars);
+            output[outoff++] = little ? Integer.reverseBytes(value) : value;
+            inoff += 8;
+        }
+    }
+
+
+    /**
+     * Decodes {@code count} short values from {@code 4} hex chars each.
+     *
+     * @throws IllegalArgumentException if an illegal hex char found.
+     */
+    static void decode(final byte[] input, int inoff, final short[] output,
+                       int outoff, final int count, final ByteOrder order) {
+
+        final boolean little = order == ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < count; i++) {
+            final long chars =
+                ZEROS | ((int) INTS.get(input, inoff) & 0xFFFFFFFFL);
+            if (SwarHexEngine.classifyLanes(chars) != LANES_80) {
+                illegal(input, inoff, 4);
+            }
+            final short value = (short) SwarHexEngine.decodeLanes(chars);
+            output[outoff++] = little ? Short.reverseBytes(value) : value;
+            inoff += 4;
+        }
+    }
+
+
+    private HexPrimitives() {
+
+        super();
+    }
+
+
+}
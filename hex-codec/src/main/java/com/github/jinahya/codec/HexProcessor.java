@@ -0,0 +1,376 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * A {@link Flow.Processor} transcodes chunks of octets. Each upstream chunk is
+ * transcoded into one or more output chunks of at most {@code blockSize}
+ * octets; upstream chunks are requested one at a time and only while the
+ * subscriber has demand, so memory stays bounded regardless of the payload
+ * size. Upstream chunks are not modified.
+ *
+ * <p>Output chunks are acquired from a {@link HexBufferPool}. A subscriber may
+ * hand a chunk back with {@link #release(ByteBuffer)} once it is done with it;
+ * chunks never released are garbage collected, and are counted and logged as
+ * leaks when the pool is in debug mode.</p>
+ *
+ * <p>A processor serves a single subscriber. This class is not meant to be
+ * extended outside this package; use {@link HexEncoderProcessor} or
+ * {@link HexDecoderProcessor}.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public abstract class HexProcessor
+    implements Flow.Processor<ByteBuffer, ByteBuffer>, Flow.Subscription {
+
+
+    /**
+     * The default size of output chunks.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 8192;
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param blockSize the capacity of output chunks.
+     * @param direct {@code true} for direct output chunks.
+     * @param pool the pool from which output chunks are acquired.
+     */
+    HexProcessor(final int blockSize, final boolean direct,
+                 final HexBufferPool pool) {
+
+        super();
+
+        if (blockSize < 2) {
+            throw new IllegalArgumentException(
+                "blockSize(" + blockSize + ") < 2");
+        }
+
+        if (pool == null) {
+            throw new NullPointerException("pool");
+        }
+
+        this.blockSize = blockSize;
+        this.direct = direct;
+        this.pool = pool;
+    }
+
+
+    /**
+     * Transcodes as many octets as possible from given input into given
+     * output.
+     *
+     * @param input the input chunk.
+     * @param output the output chunk.
+     *
+     * @throws IllegalArgumentException if the input is illegal.
+     */
+    abstract void transcode(ByteBuffer input, ByteBuffer output);
+
+
+    /**
+     * Checks the end of the stream.
+     *
+     * @throws IllegalArgumentException if the stream ended prematurely.
+     */
+    abstract void finish();
+
+
+    // ------------------------------------------------------------- Publisher
+    @Override
+    public void subscribe(
+        final Flow.Subscriber<? super ByteBuffer> subscriber) {
+
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException(
+                "already subscribed"));
+            return;
+        }
+
+        downstream = subscriber;
+        subscriber.onSubscribe(this);
+        drain();
+    }
+
+
+    // ------------------------------------------------------------ Subscriber
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+
+        if (subscription == null) {
+            throw new NullPointerException("subscription");
+        }
+
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+
+        upstream = subscription;
+        drain();
+    }
+
+
+    @Override
+    public void onNext(final ByteBuffer item) {
+
+        if (item == null) {
+            throw new NullPointerException("item");
+        }
+
+        pending = item.duplicate();
+        drain();
+    }
+
+
+    @Override
+    public void onError(final Throwable throwable) {
+
+        if (throwable == null) {
+            throw new NullPointerException("throwable");
+        }
+
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+
+    @Override
+    public void onComplete() {
+
+        done = true;
+        drain();
+    }
+
+
+    // ---------------------------------------------------------- Subscription
+    @Override
+    public void request(final long n) {
+
+        if (n <= 0L) {
+            error = new IllegalArgumentException("n(" + n + ") <= 0");
+            cancelUpstream();
+            done = true;
+            pending = null;
+            drain();
+            return;
+        }
+
+        for (long current; ; ) {
+            current = demand.get();
+            if (current == Long.MAX_VALUE) {
+                break;
+            }
+            long next = current + n;
+            if (next < 0L) {
+                next = Long.MAX_VALUE;
+            }
+            if (demand.compareAndSet(current, next)) {
+                break;
+            }
+        }
+
+        drain();
+    }
+
+
+    @Override
+    public void cancel() {
+
+        cancelled = true;
+        cancelUpstream();
+    }
+
+
+    // ------------------------------------------------------------------ pool
+    /**
+     * Hands an output chunk back to the pool. The chunk must not be used
+     * afterwards.
+     *
+     * @param chunk the chunk to release.
+     */
+    public void release(final ByteBuffer chunk) {
+
+        pool.release(chunk);
+    }
+
+
+    // ----------------------------------------------------------------- drain
+    private void cancelUpstream() {
+
+        final Flow.Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+
+    /**
+     * Emits as many chunks as demanded. Only one thread runs the loop at a
+     * time; calls made while it runs make it go around again.
+     */
+    private void drain() {
+
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            final Flow.Subscriber<? super ByteBuffer> subscriber = downstream;
+            while (subscriber != null && !terminated) {
+                if (cancelled) {
+                    terminated = true;
+                    pending = null;
+                    break;
+                }
+                final ByteBuffer input = pending;
+                if (input != null) {
+                    if (demand.get() == 0L) {
+                        break;
+                    }
+                    final ByteBuffer output = pool.acquire(blockSize, direct);
+                    try {
+                        transcode(input, output);
+                    } catch (final IllegalArgumentException iae) {
+                        pool.release(output);
+                        pending = null;
+                        cancelUpstream();
+                        terminate(subscriber, iae);
+                        break;
+                    }
+                    if (!input.hasRemaining()) {
+                        pending = null;
+                        requested = false;
+                    }
+                    output.flip();
+                    if (output.hasRemaining()) {
+                        if (demand.get() != Long.MAX_VALUE) {
+                            demand.decrementAndGet();
+                        }
+                        subscriber.onNext(output);
+                    } else {
+                        release(output);
+                    }
+                    continue;
+                }
+                if (done) {
+                    Throwable thrown = error;
+                    if (thrown == null) {
+                        try {
+                            finish();
+                        } catch (final IllegalArgumentException iae) {
+                            thrown = iae;
+                        }
+                    }
+                    terminate(subscriber, thrown);
+                    break;
+                }
+                final Flow.Subscription subscription = upstream;
+                if (!requested && subscription != null
+                    && demand.get() > 0L) {
+                    requested = true;
+                    subscription.request(1L);
+                    continue;
+                }
+                break;
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+
+    private void terminate(final Flow.Subscriber<? super ByteBuffer> subscriber,
+                           final Throwable thrown) {
+
+        terminated = true;
+        if (thrown != null) {
+            subscriber.onError(thrown);
+        } else {
+            subscriber.onComplete();
+        }
+    }
+
+
+    private final int blockSize;
+
+
+    private final boolean direct;
+
+
+    private final HexBufferPool pool;
+
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+
+    private final AtomicLong demand = new AtomicLong();
+
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+
+    private volatile Flow.Subscriber<? super ByteBuffer> downstream;
+
+
+    private volatile Flow.Subscription upstream;
+
+
+    private volatile ByteBuffer pending;
+
+
+    private volatile boolean done;
+
+
+    private volatile Throwable error;
+
+
+    private volatile boolean cancelled;
+
+
+    // accessed only within the drain loop
+    private boolean requested;
+
+
+    private boolean terminated;
+
+
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+
+/**
+ * A positional decoder reads sections of octets encoded in a hex file. Only
+ * the hex chars covering the requested octets are read, with positional reads
+ * of the channel, so reading a section costs {@code O(section)} regardless of
+ * the size of the file. Unlike {@link HexView#map(FileChannel, boolean)},
+ * nothing is mapped.
+ *
+ * <p>Files with fixed line wrapping are supported; each line, except the last
+ * one, has {@code lineWidth} hex chars followed by a line terminator of
+ * {@code terminatorLength} octets. The file offset of the {@code n}th hex
+ * char is {@code (n / lineWidth) * (lineWidth + terminatorLength) + n %
+ * lineWidth}. The last line, or the only line of a file without line
+ * wrapping, may or may not be terminated.</p>
+ *
+ * <p>Instances are thread-safe as long as the channel is; reading buffers are
+ * borrowed from the {@link HexBufferPool#getDefault() default pool} for each
+ * read.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexRangeDecoder {
+
+
+    /**
+     * The capacity of reading buffers.
+     */
+    private static final int BLOCK = 65536;
+
+
+    /**
+     * The maximum number of octets of a line terminator.
+     */
+    private static final int TAIL = 2;
+
+
+    /**
+     * Creates a new instance for a file without line wrapping. The line may
+     * be terminated with {@code "\n"} or {@code "\r\n"}.
+     *
+     * @param channel the channel of the file.
+     */
+    public HexRangeDecoder(final FileChannel channel) {
+
+        super();
+
+        if (channel == null) {
+            throw new NullPointerException("channel");
+        }
+
+        this.channel = channel;
+
+        lineWidth = Integer.MAX_VALUE;
+        terminatorLength = 0;
+        chunk = BLOCK;
+    }
+
+
+    /**
+     * Creates a new instance for a file wrapped at given width.
+     *
+     * @param channel the channel of the file.
+     * @param lineWidth the number of hex chars of each line.
+     * @param terminatorLength the number of octets of each line terminator;
+     * {@code 1} for {@code "\n"} or {@code 2} for {@code "\r\n"}.
+     */
+    public HexRangeDecoder(final FileChannel channel, final int lineWidth,
+                           final int terminatorLength) {
+
+        super();
+
+        if (channel == null) {
+            throw new NullPointerException("channel");
+        }
+
+        if (lineWidth < 1) {
+            throw new IllegalArgumentException(
+                "lineWidth(" + lineWidth + ") < 1");
+        }
+
+        if (terminatorLength < 1 || terminatorLength > 2) {
+            throw new IllegalArgumentException(
+                "terminatorLength(" + terminatorLength
+                + ") is neither 1 nor 2");
+        }
+
+        this.channel = channel;
+        this.lineWidth = lineWidth;
+        this.terminatorLength = terminatorLength;
+
+        // the largest even number of hex chars spans at most BLOCK octets
+        chunk = (int) (((BLOCK - terminatorLength) * (long) lineWidth
+                        / (lineWidth + terminatorLength)) & ~1L);
+    }
+
+
+    /**
+     * Returns the file offset of the hex char at given index.
+     */
+    private long offset(final long index) {
+
+        return index / lineWidth * (lineWidth + terminatorLength)
+               + index % lineWidth;
+    }
+
+
+    /**
+     * Returns the number of octets encoded in the file.
+     *
+     * @return the number of octets.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public long size() throws IOException {
+
+        final HexBufferPool pool = HexBufferPool.getDefault();
+        final ByteBuffer block = pool.acquire(TAIL, false);
+        try {
+            return size(block);
+        } finally {
+            pool.release(block);
+        }
+    }
+
+
+    /**
+     * Returns the number of octets encoded in the file, reading the tail of
+     * the file into given block.
+     */
+    private long size(final ByteBuffer block) throws IOException {
+
+        long size = channel.size();
+
+        // strip the terminator of the last line, if any
+        final int tail = (int) Math.min(
+            terminatorLength == 0 ? TAIL : terminatorLength, size);
+        block.clear().limit(tail);
+        while (block.hasRemaining()) {
+            if (channel.read(block, size - tail + block.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        for (int i = tail - 1;
+             i >= 0 && (block.get(i) == '\r' || block.get(i) == '\n'); i--) {
+            size--;
+        }
+
+        if (terminatorLength == 0) {
+            return size >> 1;
+        }
+
+        final long line = lineWidth + terminatorLength;
+        final long chars = size / line * lineWidth
+                           + Math.min(size % line, lineWidth);
+
+        return chars >> 1;
+    }
+
+
+    /**
+     * Removes line terminators from {@code count} hex chars, starting at
+     * {@code index}, read into given array.
+     *
+     * @return the number of hex chars left in the array.
+     */
+    private int compact(final byte[] buffer, long index, final int count,
+                        final long offset) {
+
+        if (terminatorLength == 0) {
+            return count;
+        }
+
+        final long end = index + count;
+        int read = 0;
+        int written = 0;
+        while (true) {
+            final int length = (int) Math.min(lineWidth - index % lineWidth,
+                                              end - index);
+            if (read != written) {
+                System.arraycopy(buffer, read, buffer, written, length);
+            }
+            read += length;
+            written += length;
+            index += length;
+            if (index == end) {
+                return written;
+            }
+            for (int i = 0; i < terminatorLength; i++) {
+                final int terminator = buffer[read++];
+                if (terminator != '\r' && terminator != '\n') {
+                    throw new IllegalArgumentException(
+                        "illegal line terminator(" + (terminator & 0xFF)
+                        + ") at " + (offset + read - 1));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Decodes a sequence of octets, starting at given position, into given
+     * buffer. This method decodes as many octets as the buffer can hold or the
+     * file has, and advances the position of the buffer.
+     *
+     * @param dst the buffer.
+     * @param position the index of the first octet to decode.
+     *
+     * @return the number of octets decoded; {@code -1} if {@code position} is
+     * not less than the {@link #size() size}.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public int read(final ByteBuffer dst, final long position)
+        throws IOException {
+
+        if (dst == null) {
+            throw new NullPointerException("dst");
+        }
+
+        if (position < 0L) {
+            throw new IllegalArgumentException(
+                "position(" + position + ") < 0");
+        }
+
+        final HexBufferPool pool = HexBufferPool.getDefault();
+        final ByteBuffer block = pool.acquire(BLOCK, false);
+        try {
+            final long size = size(block);
+            if (position >= size) {
+                return -1;
+            }
+            return read(dst, position, size, block);
+        } finally {
+            pool.release(block);
+        }
+    }
+
+
+    /**
+     * Decodes octets, starting at given position which is less than given
+     * size, into given buffer using given block for reading.
+     */
+    private int read(final ByteBuffer dst, final long position,
+                     final long size, final ByteBuffer block)
+        throws IOException {
+
+        final int count = (int) Math.min(dst.remaining(), size - position);
+        final byte[] buffer = block.array();
+        long index = position << 1;
+        final long end = (position + count) << 1;
+        while (index < end) {
+            final int chars = (int) Math.min(chunk, end - index);
+            final long offset = offset(index);
+            block.clear().limit((int) (offset(index + chars - 1) + 1
+                                       - offset));
+            while (block.hasRemaining()) {
+                if (channel.read(block, offset + block.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+            final int length = compact(buffer, index, chars, offset);
+            if (dst.hasArray()) {
+                HexDecoder.decodeMultiple(
+                    buffer, 0, dst.array(),
+                    dst.arrayOffset() + dst.position(), length >> 1);
+                dst.position(dst.position() + (length >> 1));
+            } else {
+                dst.put(buffer, 0,
+                        HexDecoder.decodeInPlace(buffer, 0, length));
+            }
+            index += chars;
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Decodes octets in {@code [from, to)} into a new array.
+     *
+     * @param from the index of the first octet, inclusive.
+     * @param to the index of the last octet, exclusive.
+     *
+     * @return an array of decoded octets.
+     *
+     * @throws IOException if an I/O error occurs.
+     * @throws EOFException if {@code to} is greater than the
+     * {@link #size() size}.
+     */
+    public byte[] read(final long from, final long to) throws IOException {
+
+        if (from < 0L) {
+            throw new IllegalArgumentException("from(" + from + ") < 0");
+        }
+
+        if (to < from) {
+            throw new IllegalArgumentException(
+                "to(" + to + ") < from(" + from + ")");
+        }
+
+        if (to - from > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                "to(" + to + ") - from(" + from + ") > " + Integer.MAX_VALUE);
+        }
+
+        final HexBufferPool pool = HexBufferPool.getDefault();
+        final ByteBuffer block = pool.acquire(BLOCK, false);
+        try {
+            final long size = size(block);
+            if (to > size) {
+                throw new EOFException("to(" + to + ") > size(" + size + ")");
+            }
+            final ByteBuffer dst = ByteBuffer.allocate((int) (to - from));
+            if (from < to) {
+                read(dst, from, size, block);
+            }
+            return dst.array();
+        } finally {
+            pool.release(block);
+        }
+    }
+
+
+    private final FileChannel channel;
+
+
+    /**
+     * The number of hex chars of each line; {@link Integer#MAX_VALUE} for
+     * files without line wrapping.
+     */
+    private final int lineWidth;
+
+
+    private final int terminatorLength;
+
+
+    /**
+     * The maximum number of hex chars read at once.
+     */
+    private final int chunk;
+
+
+}
+
@@ -0,0 +1,435 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * A decoder for newline-delimited hex records, such as files with one encoded
+ * record per line. Input is read in chunks split on line boundaries and the
+ * chunks are decoded in parallel on an executor. Records are delivered to a
+ * {@link Handler} in input order, on the calling thread.
+ *
+ * <p>At most {@code parallelism} chunks are in flight; reading waits for the
+ * oldest chunk to be delivered, so memory is bounded by about
+ * {@code parallelism * chunkSize} octets. Lines may end with {@code "\n"} or
+ * {@code "\r\n"}. An illegal line is reported with its line number while the
+ * other lines keep being decoded. Chunk buffers are borrowed from the
+ * {@link HexBufferPool#getDefault() default pool}.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexRecordDecoder {
+
+
+    /**
+     * The default number of octets read for each chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1048576;
+
+
+    /**
+     * A callback receives decoded records and errors in input order.
+     */
+    public static interface Handler {
+
+
+        /**
+         * Receives a decoded record. The array is reused after this method
+         * returns.
+         *
+         * @param line the line number starting at {@code 1}.
+         * @param buffer the array contains the record.
+         * @param offset the offset of the record in the array.
+         * @param length the length of the record.
+         */
+        void record(long line, byte[] buffer, int offset, int length);
+
+
+        /**
+         * Receives an error of a line.
+         *
+         * @param line the line number starting at {@code 1}.
+         * @param cause the cause.
+         */
+        void error(long line, IllegalArgumentException cause);
+
+
+    }
+
+
+    /**
+     * Lines of a chunk decoded in place.
+     */
+    private static final class Chunk implements Callable<Chunk> {
+
+
+        Chunk(final ByteBuffer block, final int length) {
+
+            super();
+
+            this.block = block;
+            this.length = length;
+
+            buffer = block.array();
+        }
+
+
+        @Override
+        public Chunk call() {
+
+            if (!claimed.compareAndSet(false, true)) {
+                return this; // discarded before started
+            }
+
+            int lines = 0;
+            for (int i = 0; i < length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+            if (length > 0 && buffer[length - 1] != '\n') {
+                lines++; // the last line without a terminator
+            }
+
+            offsets = new int[lines];
+            lengths = new int[lines];
+
+            int written = 0;
+            int start = 0;
+            for (int line = 0; line < lines; line++) {
+                int end = start;
+                while (end < length && buffer[end] != '\n') {
+                    end++;
+                }
+                final int next = end + 1;
+                if (end > start && buffer[end - 1] == '\r') {
+                    end--;
+                }
+                final int count = end - start;
+                try {
+                    if ((count & 0x01) == 0x01) {
+                        throw new IllegalArgumentException(
+                            "length(" + count + ") is not even");
+                    }
+                    TableHexEngine.decodeTable(
+                        buffer, start, buffer, written, count >> 1);
+                    offsets[line] = written;
+                    lengths[line] = count >> 1;
+                    written += count >> 1;
+                } catch (final IllegalArgumentException iae) {
+                    if (errors == null) {
+                        errors = new IllegalArgumentException[lines];
+                    }
+                    errors[line] = iae;
+                    lengths[line] = -1;
+                }
+                start = next;
+            }
+
+            return this;
+        }
+
+
+        final ByteBuffer block;
+
+
+        final byte[] buffer;
+
+
+        final int length;
+
+
+        int[] offsets;
+
+
+        int[] lengths;
+
+
+        IllegalArgumentException[] errors;
+
+
+        /**
+         * Set by whichever of the task and the discarding comes first.
+         */
+        final AtomicBoolean claimed = new AtomicBoolean();
+
+
+        Future<Chunk> future;
+
+
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param executor the executor on which chunks are decoded.
+     */
+    public HexRecordDecoder(final ExecutorService executor) {
+
+        this(executor, DEFAULT_CHUNK_SIZE,
+             Runtime.getRuntime().availableProcessors() << 1);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param executor the executor on which chunks are decoded.
+     * @param chunkSize the number of octets read for each chunk.
+     * @param parallelism the maximum number of chunks in flight.
+     */
+    public HexRecordDecoder(final ExecutorService executor,
+                            final int chunkSize, final int parallelism) {
+
+        super();
+
+        if (executor == null) {
+            throw new NullPointerException("executor");
+        }
+
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(
+                "chunkSize(" + chunkSize + ") <= 0");
+        }
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(
+                "parallelism(" + parallelism + ") <= 0");
+        }
+
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+
+    /**
+     * Decodes all records in given file.
+     *
+     * @param file the file to read.
+     * @param handler the handler to receive records.
+     *
+     * @return the number of lines processed.
+     *
+     * @throws IOException if an I/O error occurs.
+     * @throws InterruptedException if interrupted while waiting for chunks.
+     */
+    public long decode(final File file, final Handler handler)
+        throws IOException, InterruptedException {
+
+        if (file == null) {
+            throw new NullPointerException("file");
+        }
+
+        final FileInputStream stream = new FileInputStream(file);
+        try {
+            return decode(stream.getChannel(), handler);
+        } finally {
+            stream.close();
+        }
+    }
+
+
+    /**
+     * Decodes all records read from given channel. The channel is not closed.
+     *
+     * @param channel the channel to read.
+     * @param handler the handler to receive records.
+     *
+     * @return the number of lines processed.
+     *
+     * @throws IOException if an I/O error occurs.
+     * @throws InterruptedException if interrupted while waiting for chunks.
+     */
+    public long decode(final ReadableByteChannel channel,
+                       final Handler handler)
+        throws IOException, InterruptedException {
+
+        if (channel == null) {
+            throw new NullPointerException("channel");
+        }
+
+        if (handler == null) {
+            throw new NullPointerException("handler");
+        }
+
+        final HexBufferPool pool = HexBufferPool.getDefault();
+        final Deque<Chunk> pending = new ArrayDeque<Chunk>();
+        ByteBuffer unsubmitted = null; // neither submitted nor released
+        long lines = 0L;
+        try {
+            ByteBuffer carry = null; // the block holding carried octets
+            int from = 0;
+            int carried = 0;
+            while (true) {
+                final ByteBuffer target =
+                    pool.acquire(Math.max(chunkSize, carried << 1), false);
+                final byte[] buffer = target.array();
+                if (carried > 0) {
+                    System.arraycopy(carry.array(), from, buffer, 0, carried);
+                    if (from == 0) { // never submitted
+                        pool.release(carry);
+                    }
+                }
+                unsubmitted = target;
+                carry = null;
+                boolean eof = false;
+                target.position(carried);
+                while (target.hasRemaining()) {
+                    if (channel.read(target) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                final int length = target.position();
+                int end = length;
+                if (!eof) {
+                    while (end > 0 && buffer[end - 1] != '\n') {
+                        end--;
+                    }
+                    if (end == 0) { // a line longer than the chunk
+                        carry = target;
+                        from = 0;
+                        carried = length;
+                        continue;
+                    }
+                }
+                // the chunk only touches octets before the end
+                carry = target;
+                from = end;
+                carried = length - end;
+                if (pending.size() == parallelism) {
+                    lines = deliver(pending, lines, handler);
+                }
+                final Chunk chunk = new Chunk(target, end);
+                chunk.future = executor.submit(chunk);
+                pending.addLast(chunk);
+                unsubmitted = null;
+                if (eof) {
+                    break;
+                }
+            }
+            while (!pending.isEmpty()) {
+                lines = deliver(pending, lines, handler);
+            }
+        } finally {
+            if (unsubmitted != null) {
+                pool.release(unsubmitted);
+            }
+            discard(pending);
+        }
+
+        return lines;
+    }
+
+
+    /**
+     * Delivers the records of the first pending chunk. The chunk stays
+     * pending if interrupted while waiting for it.
+     */
+    private static long deliver(final Deque<Chunk> pending, long lines,
+                                final Handler handler)
+        throws IOException, InterruptedException {
+
+        final Chunk chunk = pending.getFirst();
+        try {
+            chunk.future.get();
+        } catch (final ExecutionException ee) {
+            pending.removeFirst();
+            HexBufferPool.getDefault().release(chunk.block);
+            throw new IOException("failed to decode a chunk", ee.getCause());
+        }
+        pending.removeFirst();
+
+        try {
+            for (int i = 0; i < chunk.lengths.length; i++) {
+                lines++;
+                if (chunk.lengths[i] < 0) {
+                    handler.error(lines, chunk.errors[i]);
+                } else {
+                    handler.record(lines, chunk.buffer, chunk.offsets[i],
+                                   chunk.lengths[i]);
+                }
+            }
+        } finally {
+            HexBufferPool.getDefault().release(chunk.block);
+        }
+
+        return lines;
+    }
+
+
+    /**
+     * Discards pending chunks and releases their blocks. Chunks not yet
+     * started are skipped; chunks started are waited for, since their blocks
+     * are being written.
+     */
+    private static void discard(final Deque<Chunk> pending) {
+
+        boolean interrupted = false;
+        for (final Chunk chunk : pending) {
+            if (chunk.claimed.compareAndSet(false, true)) {
+                chunk.future.cancel(false);
+            } else {
+                while (true) {
+                    try {
+                        chunk.future.get();
+                        break;
+                    } catch (final InterruptedException ie) {
+                        interrupted = true;
+                    } catch (final ExecutionException ee) {
+                        break;
+                    }
+                }
+            }
+            HexBufferPool.getDefault().release(chunk.block);
+        }
+        pending.clear();
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private final ExecutorService executor;
+
+
+    private final int chunkSize;
+
+
+    private final int parallelism;
+
+
+}
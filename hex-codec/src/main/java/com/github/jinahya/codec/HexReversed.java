@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+
+/**
+ * Transcodes octets in reversed order. The encoder walks the octets backwards
+ * while writing hex chars forward; the decoder reads hex chars forward while
+ * writing octets backwards. Each step moves eight octets, reordered in a
+ * register, through the lane arithmetic of {@link SwarHexEngine}; remaining
+ * octets go through {@link HexTables}. Ranges should be already checked and
+ * should not overlap.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+final class HexReversed {
+
+
+    private static final VarHandle LONGS = MethodHandles
+        .byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+
+    private static final long LANES_80 = 0x8080808080808080L;
+
+
+    /**
+     * Encodes {@code count} octets, from the last to the first, into hex
+     * chars.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of octets to encode
+     */
+    static void encode(final byte[] input, final int inoff,
+                       final byte[] output, int outoff, final int count) {
+
+        int index = inoff + count; // exclusive
+        for (; index - 8 >= inoff; index -= 8) {
+            final long octets
+                = Long.reverseBytes((long) LONGS.get(input, index - 8));
+            LONGS.set(output, outoff, SwarHexEngine.encodeLanes(
+                SwarHexEngine.spread(octets >>> 32)));
+            LONGS.set(output, outoff + 8, SwarHexEngine.encodeLanes(
+                SwarHexEngine.spread(octets & 0xFFFFFFFFL)));
+            outoff += 16;
+        }
+
+        final byte[] table = HexTables.ENCODE;
+        while (index > inoff) {
+            final int octet = input[--index] & 0xFF;
+            output[outoff++] = table[octet >> 4];
+            output[outoff++] = table[octet & 0x0F];
+        }
+    }
+
+
+    /**
+     * Decodes {@code count} units into octets, from the last to the first.
+     *
+     * @param input the input array
+     * @param inoff the offset in input array
+     * @param output the output array
+     * @param outoff the offset in output array
+     * @param count the number of units to decode
+     *
+     * @throws IllegalArgumentException if an illegal hex char found.
+     */
+    static void decode(final byte[] input, int inoff, final byte[] output,
+                       final int outoff, final int count) {
+
+        int index = outoff + count; // exclusive
+        for (; index - 8 >= outoff; index -= 8) {
+            final long high = (long) LONGS.get(input, inoff);
+            final long low = (long) LONGS.get(input, inoff + 8);
+            if ((SwarHexEngine.classifyLanes(high)
+                 & SwarHexEngine.classifyLanes(low)) != LANES_80) {
+                // let the table report the illegal char
+                TableHexEngine.decodeTable(input, inoff, new byte[8], 0, 8);
+                throw new AssertionError("no illegal char found");
+            }
+            final long octets = (SwarHexEngine.decodeLanes(high) << 32)
+                                | SwarHexEngine.decodeLanes(low);
+            LONGS.set(output, index - 8, Long.reverseBytes(octets));
+            inoff += 16;
+        }
+
+        final byte[] table = HexTables.DECODE;
+        while (index > outoff) {
+            final int high = table[input[inoff] & 0xFF];
+            final int low = table[input[inoff + 1] & 0xFF];
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException(
+                    "illegal input: " + (input[high < 0 ? inoff : inoff + 1]
+                                         & 0xFF));
+            }
+            output[--index] = (byte) ((high << 4) | low);
+            inoff += 2;
+        }
+    }
+
+
+    private HexReversed() {
+
+        super();
+    }
+
+
+}
+
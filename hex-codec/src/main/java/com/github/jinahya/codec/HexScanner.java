@@ -0,0 +1,530 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+
+
+/**
+ * A scanner finds runs of hex chars, such as trace identifiers or digests,
+ * embedded in text. A run is a maximal sequence of hex chars; it is reported
+ * only if its length is accepted and, if bounded, neither of its neighbours is
+ * a word char ({@code [0-9A-Za-z_]}), as {@code \b} of regular expressions
+ * does. Note that a run can't be adjacent to a hex char, so {@code "0x1F"}
+ * has a run of {@code "0"} and, unless bounded, a run of {@code "1F"}.
+ *
+ * <p>Octets are classified eight at a time with the lane arithmetic of
+ * {@link SwarHexEngine}. Runs may be decoded, in the same pass, into an arena
+ * supplied by the caller; no object is allocated while scanning. Instances of
+ * this class are immutable and thread-safe.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class HexScanner {
+
+
+    /**
+     * A callback receives runs found by a scanner.
+     */
+    public static interface Handler {
+
+
+        /**
+         * Receives a run of hex chars.
+         *
+         * @param offset the index of the first char of the run in the input.
+         * @param length the number of chars in the run.
+         * @param arena the arena holds the decoded octets of the run;
+         * {@code null} if not decoding.
+         * @param position the index of the decoded octets in {@code arena};
+         * {@code 0} if not decoding.
+         *
+         * @return {@code true} to continue scanning; {@code false} to stop.
+         */
+        boolean found(int offset, int length, byte[] arena, int position);
+
+
+    }
+
+
+    private static final VarHandle LONGS = MethodHandles
+        .byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+
+    private static final long LANES_7F = 0x7F7F7F7F7F7F7F7FL;
+
+
+    private static final long LANES_80 = 0x8080808080808080L;
+
+
+    /**
+     * Returns a mask whose high bit in each lane is set if the lane is a hex
+     * char. Unlike {@link SwarHexEngine#classifyLanes(long)}, lanes of
+     * non-ASCII octets can't carry into their neighbours.
+     */
+    private static long classify(final long chars) {
+
+        return SwarHexEngine.classifyLanes(chars & LANES_7F) & ~chars;
+    }
+
+
+    private static boolean hex(final int c) {
+
+        return c < 0x100 && HexTables.DECODE[c] >= 0;
+    }
+
+
+    private static boolean word(final int c) {
+
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z')
+               || (c >= 'a' && c <= 'z') || c == '_';
+    }
+
+
+    /**
+     * Returns the index of the first char in given input, starting at
+     * {@code index}, which is a hex char if {@code hex} is {@code true} and is
+     * not otherwise. The input is a {@code byte[]}, a {@link ByteBuffer} or a
+     * {@link CharSequence}; it is dispatched once per call, rather than with
+     * objects, so that scanning allocates nothing.
+     */
+    private static int skip(final Object input, final int index,
+                            final int end, final boolean hex) {
+
+        if (input instanceof byte[]) {
+            return skip((byte[]) input, index, end, hex);
+        }
+
+        if (input instanceof ByteBuffer) {
+            return skip((ByteBuffer) input, index, end, hex);
+        }
+
+        return skip((CharSequence) input, index, end, hex);
+    }
+
+
+    private static int skip(final byte[] input, int index, final int end,
+                            final boolean hex) {
+
+        for (; end - index >= 8; index += 8) {
+            long lanes = classify((long) LONGS.get(input, index));
+            if (!hex) {
+                lanes ^= LANES_80;
+            }
+            if (lanes != 0L) {
+                return index + (Long.numberOfLeadingZeros(lanes) >>> 3);
+            }
+        }
+
+        for (; index < end; index++) {
+            if (HexTables.DECODE[input[index] & 0xFF] >= 0 == hex) {
+                break;
+            }
+        }
+
+        return index;
+    }
+
+
+    private static int skip(final ByteBuffer input, int index, final int end,
+                            final boolean hex) {
+
+        final boolean little = input.order() == ByteOrder.LITTLE_ENDIAN;
+        for (; end - index >= 8; index += 8) {
+            final long chars = input.getLong(index);
+            long lanes = classify(little ? Long.reverseBytes(chars) : chars);
+            if (!hex) {
+                lanes ^= LANES_80;
+            }
+            if (lanes != 0L) {
+                return index + (Long.numberOfLeadingZeros(lanes) >>> 3);
+            }
+        }
+
+        for (; index < end; index++) {
+            if (HexTables.DECODE[input.get(index) & 0xFF] >= 0 == hex) {
+                break;
+            }
+        }
+
+        return index;
+    }
+
+
+    private static int skip(final CharSequence input, int index,
+                            final int end, final boolean hex) {
+
+        for (; index < end; index++) {
+            if (hex(input.charAt(index)) == hex) {
+                break;
+            }
+        }
+
+        return index;
+    }
+
+
+    private static int charAt(final Object input, final int index) {
+
+        if (input instanceof byte[]) {
+            return ((byte[]) input)[index] & 0xFF;
+        }
+
+        if (input instanceof ByteBuffer) {
+            return ((ByteBuffer) input).get(index) & 0xFF;
+        }
+
+        return ((CharSequence) input).charAt(index);
+    }
+
+
+    /**
+     * Decodes {@code count} units of valid hex chars in given input.
+     */
+    private static void decode(final Object input, int index,
+                               final byte[] arena, int position,
+                               final int count) {
+
+        if (input instanceof byte[]) {
+            HexEngines.decoder(count).decode((byte[]) input, index, arena,
+                                             position, count);
+            return;
+        }
+
+        final byte[] table = HexTables.DECODE;
+        if (input instanceof ByteBuffer) {
+            final ByteBuffer buffer = (ByteBuffer) input;
+            for (int i = 0; i < count; i++) {
+                arena[position++] = (byte) ((table[buffer.get(index)] << 4)
+                                            | table[buffer.get(index + 1)]);
+                index += 2;
+            }
+            return;
+        }
+
+        final CharSequence sequence = (CharSequence) input;
+        for (int i = 0; i < count; i++) {
+            arena[position++] = (byte) ((table[sequence.charAt(index)] << 4)
+                                        | table[sequence.charAt(index + 1)]);
+            index += 2;
+        }
+    }
+
+
+    /**
+     * Creates a new instance that accepts runs of lengths between given
+     * values.
+     *
+     * @param minimumLength the minimum number of chars in a run.
+     * @param maximumLength the maximum number of chars in a run.
+     * @param bounded a flag for requiring non-word chars around each run.
+     */
+    public HexScanner(final int minimumLength, final int maximumLength,
+                      final boolean bounded) {
+
+        super();
+
+        if (minimumLength < 1) {
+            throw new IllegalArgumentException(
+                "minimumLength(" + minimumLength + ") < 1");
+        }
+
+        if (maximumLength < minimumLength) {
+            throw new IllegalArgumentException(
+                "maximumLength(" + maximumLength + ") < minimumLength("
+                + minimumLength + ")");
+        }
+
+        this.minimumLength = minimumLength;
+        this.maximumLength = maximumLength;
+        this.bounded = bounded;
+
+        lengths = null;
+    }
+
+
+    /**
+     * Creates a new instance that accepts runs of given lengths only; e.g.
+     * {@code 32}, {@code 40} and {@code 64} for MD5, SHA-1 and SHA-256
+     * digests.
+     *
+     * @param bounded a flag for requiring non-word chars around each run.
+     * @param lengths the numbers of chars of acceptable runs.
+     */
+    public HexScanner(final boolean bounded, final int... lengths) {
+
+        super();
+
+        if (lengths == null) {
+            throw new NullPointerException("lengths");
+        }
+
+        if (lengths.length == 0) {
+            throw new IllegalArgumentException("no lengths");
+        }
+
+        int minimum = Integer.MAX_VALUE;
+        int maximum = 0;
+        this.lengths = new BitSet();
+        for (final int length : lengths) {
+            if (length < 1) {
+                throw new IllegalArgumentException(
+                    "length(" + length + ") < 1");
+            }
+            minimum = Math.min(minimum, length);
+            maximum = Math.max(maximum, length);
+            this.lengths.set(length);
+        }
+
+        minimumLength = minimum;
+        maximumLength = maximum;
+        this.bounded = bounded;
+    }
+
+
+    private boolean accepts(final int length, final boolean decoding) {
+
+        if (length < minimumLength || length > maximumLength) {
+            return false;
+        }
+
+        if (decoding && (length & 0x01) == 0x01) {
+            return false;
+        }
+
+        return lengths == null || lengths.get(length);
+    }
+
+
+    /**
+     * Scans runs in given range.
+     *
+     * @return the index where scanning stopped.
+     */
+    private int scan(final Object input, final int offset, final int end,
+                     final int base, final byte[] arena,
+                     final Handler handler) {
+
+        int position = 0;
+        int index = offset;
+        while (index < end) {
+            final int start = skip(input, index, end, true);
+            if (start == end) {
+                return end;
+            }
+            index = skip(input, start, end, false);
+            final int length = index - start;
+            if (!accepts(length, arena != null)) {
+                continue;
+            }
+            if (bounded
+                && ((start > offset && word(charAt(input, start - 1)))
+                    || (index < end && word(charAt(input, index))))) {
+                continue;
+            }
+            if (arena == null) {
+                if (!handler.found(start - base, length, null, 0)) {
+                    return index;
+                }
+                continue;
+            }
+            final int count = length >> 1;
+            if (count > arena.length - position) {
+                return start; // the arena is full
+            }
+            decode(input, start, arena, position, count);
+            if (!handler.found(start - base, length, arena, position)) {
+                return index;
+            }
+            position += count;
+        }
+
+        return index;
+    }
+
+
+    /**
+     * Scans runs of hex chars in given range of given array. If
+     * {@code arena} is not {@code null}, only runs of even lengths are
+     * reported and each of them is decoded into {@code arena}, starting at
+     * {@code 0}, before it's reported. Scanning stops when the handler
+     * returns {@code false} or when {@code arena} can't hold a run; the
+     * returned index can be used for resuming in the latter case.
+     *
+     * @param input the input array
+     * @param offset the offset in input array
+     * @param length the number of octets to scan
+     * @param arena an array for decoded octets; may be {@code null}
+     * @param handler the handler receives each run
+     *
+     * @return the index in {@code input} where scanning stopped;
+     * {@code offset + length} if all octets were scanned.
+     */
+    public int scan(final byte[] input, final int offset, final int length,
+                    final byte[] arena, final Handler handler) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset(" + offset + ") < 0");
+        }
+
+        if (length < 0) {
+            throw new IllegalArgumentException("length(" + length + ") < 0");
+        }
+
+        if (length > input.length - offset) {
+            throw new IllegalArgumentException(
+                "offset(" + offset + ") + length(" + length
+                + ") > input.length(" + input.length + ")");
+        }
+
+        if (handler == null) {
+            throw new NullPointerException("handler");
+        }
+
+        return scan(input, offset, offset + length, 0, arena, handler);
+    }
+
+
+    /**
+     * Scans runs of hex chars in given range of given array without decoding.
+     *
+     * @param input the input array
+     * @param offset the offset in input array
+     * @param length the number of octets to scan
+     * @param handler the handler receives each run
+     *
+     * @return the index in {@code input} where scanning stopped.
+     *
+     * @see #scan(byte[], int, int, byte[], Handler)
+     */
+    public int scan(final byte[] input, final int offset, final int length,
+                    final Handler handler) {
+
+        return scan(input, offset, length, null, handler);
+    }
+
+
+    /**
+     * Scans runs of hex chars remaining in given buffer. Offsets reported are
+     * indices in the buffer. The position of the buffer is set to the index
+     * where scanning stopped.
+     *
+     * @param input the input buffer
+     * @param arena an array for decoded octets; may be {@code null}
+     * @param handler the handler receives each run
+     *
+     * @return the new position of the buffer.
+     *
+     * @see #scan(byte[], int, int, byte[], Handler)
+     */
+    public int scan(final ByteBuffer input, final byte[] arena,
+                    final Handler handler) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (handler == null) {
+            throw new NullPointerException("handler");
+        }
+
+        final int stopped;
+        if (input.hasArray()) {
+            final int base = input.arrayOffset();
+            stopped = scan(input.array(), base + input.position(),
+                           base + input.limit(), base, arena, handler) - base;
+        } else {
+            stopped = scan(input, input.position(), input.limit(), 0, arena,
+                           handler);
+        }
+        input.position(stopped);
+
+        return stopped;
+    }
+
+
+    /**
+     * Scans runs of hex chars in given range of given char sequence.
+     *
+     * @param input the input char sequence
+     * @param start the index of the first char to scan
+     * @param end the index after the last char to scan
+     * @param arena an array for decoded octets; may be {@code null}
+     * @param handler the handler receives each run
+     *
+     * @return the index in {@code input} where scanning stopped.
+     *
+     * @see #scan(byte[], int, int, byte[], Handler)
+     */
+    public int scan(final CharSequence input, final int start, final int end,
+                    final byte[] arena, final Handler handler) {
+
+        if (input == null) {
+            throw new NullPointerException("input");
+        }
+
+        if (start < 0) {
+            throw new IllegalArgumentException("start(" + start + ") < 0");
+        }
+
+        if (end < start) {
+            throw new IllegalArgumentException(
+                "end(" + end + ") < start(" + start + ")");
+        }
+
+        if (end > input.length()) {
+            throw new IllegalArgumentException(
+                "end(" + end + ") > input.length(" + input.length() + ")");
+        }
+
+        if (handler == null) {
+            throw new NullPointerException("handler");
+        }
+
+        return scan(input, start, end, 0, arena, handler);
+    }
+
+
+    private final int minimumLength;
+
+
+    private final int maximumLength;
+
+
+    /**
+     * Acceptable lengths; {@code null} for any length in range.
+     */
+    private final BitSet lengths;
+
+
+    private final boolean bounded;
+
+
+}
+
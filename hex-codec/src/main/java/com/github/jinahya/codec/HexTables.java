@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+/**
+ * Lookup tables shared by engines and char-based paths.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+final class HexTables {
+
+
+    /**
+     * Upper-case hex chars indexed by nibbles.
+     */
+    static final byte[] ENCODE = {
+        0x30, 0x31, 0x32, 0x33, 0x34, 0x35, 0x36, 0x37, // '0' ~ '7'
+        0x38, 0x39, 0x41, 0x42, 0x43, 0x44, 0x45, 0x46 // '8' ~ 'F'
+    };
+
+
+    /**
+     * Nibbles indexed by hex chars; {@code -1} for illegal chars.
+     */
+    static final byte[] DECODE = new byte[256];
+
+
+    static {
+        for (int i = 0; i < DECODE.length; i++) {
+            DECODE[i] = -1;
+        }
+        for (int i = 0; i < 10; i++) {
+            DECODE[0x30 + i] = (byte) i; // '0' ~ '9'
+        }
+        for (int i = 0; i < 6; i++) {
+            DECODE[0x41 + i] = (byte) (i + 10); // 'A' ~ 'F'
+            DECODE[0x61 + i] = (byte) (i + 10); // 'a' ~ 'f'
+        }
+    }
+
+
+    private HexTables() {
+
+        super();
+    }
+
+
+}
@@ -0,0 +1,549 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+
+/**
+ * A read-only, random-access view of the octets encoded in hex chars. Only the
+ * hex chars covering the octets read are decoded; nothing is decoded up front.
+ *
+ * <p>With validation enabled, hex chars are validated a block of
+ * {@value #BLOCK} octets at a time, the first time the block is touched, and
+ * never again. Without validation, illegal hex chars decode into unspecified
+ * values.</p>
+ *
+ * <p>A trailing odd hex char, if any, is ignored. Instances are not
+ * thread-safe except for concurrent reads.</p>
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class HexView {
+
+
+    /**
+     * The number of octets validated at once.
+     */
+    public static final int BLOCK = 4096;
+
+
+    private static final int BLOCK_SHIFT = 12;
+
+
+    /**
+     * The number of hex chars mapped at once from a file.
+     */
+    private static final long SEGMENT = 1L << 30;
+
+
+    /**
+     * Hex chars to decode.
+     */
+    private abstract static class Source {
+
+
+        abstract long length();
+
+
+        abstract int charAt(long index);
+
+
+    }
+
+
+    private static final class ArraySource extends Source {
+
+
+        ArraySource(final byte[] array) {
+
+            super();
+
+            this.array = array;
+        }
+
+
+        @Override
+        long length() {
+
+            return array.length;
+        }
+
+
+        @Override
+        int charAt(final long index) {
+
+            return array[(int) index] & 0xFF;
+        }
+
+
+        private final byte[] array;
+
+
+    }
+
+
+    private static final class CharSequenceSource extends Source {
+
+
+        CharSequenceSource(final CharSequence sequence) {
+
+            super();
+
+            this.sequence = sequence;
+        }
+
+
+        @Override
+        long length() {
+
+            return sequence.length();
+        }
+
+
+        @Override
+        int charAt(final long index) {
+
+            return sequence.charAt((int) index);
+        }
+
+
+        private final CharSequence sequence;
+
+
+    }
+
+
+    private static final class BufferSource extends Source {
+
+
+        BufferSource(final ByteBuffer[] buffers, final long segment,
+                     final long length) {
+
+            super();
+
+            this.buffers = buffers;
+            this.segment = segment;
+            this.length = length;
+        }
+
+
+        @Override
+        long length() {
+
+            return length;
+        }
+
+
+        @Override
+        int charAt(final long index) {
+
+            return buffers[(int) (index / segment)]
+                .get((int) (index % segment)) & 0xFF;
+        }
+
+
+        private final ByteBuffer[] buffers;
+
+
+        /**
+         * The number of hex chars in each buffer but the last.
+         */
+        private final long segment;
+
+
+        private final long length;
+
+
+    }
+
+
+    /**
+     * Returns a view of hex chars in given array. Hex chars are validated.
+     *
+     * @param hex the array of hex chars.
+     *
+     * @return a view.
+     */
+    public static HexView wrap(final byte[] hex) {
+
+        return wrap(hex, true);
+    }
+
+
+    /**
+     * Returns a view of hex chars in given array.
+     *
+     * @param hex the array of hex chars.
+     * @param validate a flag for validating hex chars.
+     *
+     * @return a view.
+     */
+    public static HexView wrap(final byte[] hex, final boolean validate) {
+
+        if (hex == null) {
+            throw new NullPointerException("hex");
+        }
+
+        return new HexView(new ArraySource(hex), validate);
+    }
+
+
+    /**
+     * Returns a view of given hex chars. Hex chars are validated.
+     *
+     * @param hex the hex chars.
+     *
+     * @return a view.
+     */
+    public static HexView wrap(final CharSequence hex) {
+
+        return wrap(hex, true);
+    }
+
+
+    /**
+     * Returns a view of given hex chars.
+     *
+     * @param hex the hex chars.
+     * @param validate a flag for validating hex chars.
+     *
+     * @return a view.
+     */
+    public static HexView wrap(final CharSequence hex,
+                               final boolean validate) {
+
+        if (hex == null) {
+            throw new NullPointerException("hex");
+        }
+
+        return new HexView(new CharSequenceSource(hex), validate);
+    }
+
+
+    /**
+     * Returns a view of hex chars remaining in given buffer. Hex chars are
+     * validated.
+     *
+     * @param hex the buffer of hex chars.
+     *
+     * @return a view.
+     */
+    public static HexView wrap(final ByteBuffer hex) {
+
+        return wrap(hex, true);
+    }
+
+
+    /**
+     * Returns a view of hex chars remaining in given buffer. The buffer's
+     * position and limit are not changed.
+     *
+     * @param hex the buffer of hex chars.
+     * @param validate a flag for validating hex chars.
+     *
+     * @return a view.
+     */
+    public static HexView wrap(final ByteBuffer hex, final boolean validate) {
+
+        if (hex == null) {
+            throw new NullPointerException("hex");
+        }
+
+        if (hex.hasArray()) {
+            final byte[] array = hex.array();
+            if (hex.arrayOffset() == 0 && hex.position() == 0
+                && hex.limit() == array.length) {
+                return wrap(array, validate);
+            }
+        }
+
+        final ByteBuffer slice = hex.slice();
+
+        return new HexView(
+            new BufferSource(new ByteBuffer[]{slice}, Integer.MAX_VALUE,
+                             slice.remaining()),
+            validate);
+    }
+
+
+    /**
+     * Returns a view of hex chars in given file. The file is mapped in
+     * read-only mode, in segments, so files larger than 2 GiB are supported.
+     *
+     * @param channel the channel of the file.
+     * @param validate a flag for validating hex chars.
+     *
+     * @return a view.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public static HexView map(final FileChannel channel,
+                              final boolean validate)
+        throws IOException {
+
+        if (channel == null) {
+            throw new NullPointerException("channel");
+        }
+
+        final long size = channel.size();
+        final MappedByteBuffer[] buffers =
+            new MappedByteBuffer[(int) ((size + SEGMENT - 1) / SEGMENT)];
+        for (int i = 0; i < buffers.length; i++) {
+            final long position = i * SEGMENT;
+            buffers[i] = channel.map(MapMode.READ_ONLY, position,
+                                     Math.min(SEGMENT, size - position));
+        }
+
+        return new HexView(new BufferSource(buffers, SEGMENT, size), validate);
+    }
+
+
+    private HexView(final Source source, final boolean validate) {
+
+        super();
+
+        this.source = source;
+        capacity = source.length() >> 1;
+        validated = validate
+                    ? new long[(int) ((((capacity + BLOCK - 1) >> BLOCK_SHIFT)
+                                       + 63) >> 6)]
+                    : null;
+    }
+
+
+    /**
+     * Returns the number of octets in this view.
+     *
+     * @return the number of octets.
+     */
+    public long capacity() {
+
+        return capacity;
+    }
+
+
+    /**
+     * Returns the byte order used by multi-byte getters. The default is
+     * {@link ByteOrder#BIG_ENDIAN}.
+     *
+     * @return the byte order.
+     */
+    public ByteOrder order() {
+
+        return order;
+    }
+
+
+    /**
+     * Sets the byte order used by multi-byte getters.
+     *
+     * @param order the byte order.
+     *
+     * @return this view.
+     */
+    public HexView order(final ByteOrder order) {
+
+        if (order == null) {
+            throw new NullPointerException("order");
+        }
+
+        this.order = order;
+
+        return this;
+    }
+
+
+    private void check(final long index, final long length) {
+
+        if (index < 0L || index > capacity - length) {
+            throw new IndexOutOfBoundsException(
+                "index: " + index + ", length: " + length + ", capacity: "
+                + capacity);
+        }
+
+        if (validated == null || length == 0L) {
+            return;
+        }
+
+        final long last = (index + length - 1) >> BLOCK_SHIFT;
+        for (long block = index >> BLOCK_SHIFT; block <= last; block++) {
+            final int word = (int) (block >> 6);
+            final long bit = 1L << block;
+            if ((validated[word] & bit) != 0L) {
+                continue;
+            }
+            final long from = block << (BLOCK_SHIFT + 1);
+            final long to = Math.min(from + (BLOCK << 1), capacity << 1);
+            for (long i = from; i < to; i++) {
+                final int c = source.charAt(i);
+                if (c > 0xFF || HexTables.DECODE[c] < 0) {
+                    throw new IllegalArgumentException(
+                        "illegal input: " + c + " at " + i);
+                }
+            }
+            validated[word] |= bit;
+        }
+    }
+
+
+    private int decode(final long index) {
+
+        final long position = index << 1;
+
+        return ((HexTables.DECODE[source.charAt(position) & 0xFF] & 0x0F) << 4)
+               | (HexTables.DECODE[source.charAt(position + 1) & 0xFF] & 0x0F);
+    }
+
+
+    /**
+     * Reads the octet at given index.
+     *
+     * @param index the index of the octet.
+     *
+     * @return the octet.
+     */
+    public byte get(final long index) {
+
+        check(index, 1L);
+
+        return (byte) decode(index);
+    }
+
+
+    private long getBits(final long index, final int length) {
+
+        check(index, length);
+
+        long bits = 0L;
+        if (order == ByteOrder.BIG_ENDIAN) {
+            for (int i = 0; i < length; i++) {
+                bits = (bits << 8) | decode(index + i);
+            }
+        } else {
+            for (int i = length - 1; i >= 0; i--) {
+                bits = (bits << 8) | decode(index + i);
+            }
+        }
+
+        return bits;
+    }
+
+
+    /**
+     * Reads a {@code short} at given index in current byte order.
+     *
+     * @param index the index of the first octet.
+     *
+     * @return the value.
+     */
+    public short getShort(final long index) {
+
+        return (short) getBits(index, 2);
+    }
+
+
+    /**
+     * Reads an {@code int} at given index in current byte order.
+     *
+     * @param index the index of the first octet.
+     *
+     * @return the value.
+     */
+    public int getInt(final long index) {
+
+        return (int) getBits(index, 4);
+    }
+
+
+    /**
+     * Reads a {@code long} at given index in current byte order.
+     *
+     * @param index the index of the first octet.
+     *
+     * @return the value.
+     */
+    public long getLong(final long index) {
+
+        return getBits(index, 8);
+    }
+
+
+    /**
+     * Reads octets starting at given index into given array.
+     *
+     * @param index the index of the first octet.
+     * @param dst the destination array.
+     * @param offset the offset in the destination array.
+     * @param length the number of octets to read.
+     *
+     * @return this view.
+     */
+    public HexView get(final long index, final byte[] dst, final int offset,
+                       final int length) {
+
+        if (dst == null) {
+            throw new NullPointerException("dst");
+        }
+
+        if (offset < 0 || length < 0 || length > dst.length - offset) {
+            throw new IndexOutOfBoundsException(
+                "dst.length: " + dst.length + ", offset: " + offset
+                + ", length: " + length);
+        }
+
+        check(index, length);
+
+        if (source instanceof ArraySource && validated != null) {
+            HexDecoder.decodeMultiple(((ArraySource) source).array,
+                                      (int) (index << 1), dst, offset,
+                                      length);
+            return this;
+        }
+
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = (byte) decode(index + i);
+        }
+
+        return this;
+    }
+
+
+    private final Source source;
+
+
+    private final long capacity;
+
+
+    /**
+     * Bits of validated blocks; {@code null} if not validating.
+     */
+    private final long[] validated;
+
+
+    private ByteOrder order = ByteOrder.BIG_ENDIAN;
+
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+/**
+ * An engine processes eight hex chars at once within a {@code long} (SIMD
+ * within a register).
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class SwarHexEngine implements HexEngine {
+
+
+    /**
+     * The name of this engine.
+     */
+    public static final String NAME = "swar";
+
+
+    private static final long LANES_01 = 0x0101010101010101L;
+
+
+    private static final long LANES_80 = 0x8080808080808080L;
+
+
+    /**
+     * Spreads four octets in the lower 32 bits of given value into eight
+     * nibbles each in its own lane; the high nibble of the first octet goes to
+     * the most significant lane.
+     *
+     * @param octets the octets to spread.
+     *
+     * @return the spread nibbles.
+     */
+    static long spread(long octets) {
+
+        octets = ((octets & 0xFFFF0000L) << 16) | (octets & 0x0000FFFFL);
+        octets = ((octets & 0x0000FF000000FF00L) << 8)
+                 | (octets & 0x000000FF000000FFL);
+        octets = ((octets & 0x00F000F000F000F0L) << 4)
+                 | (octets & 0x000F000F000F000FL);
+
+        return octets;
+    }
+
+
+    /**
+     * Encodes eight nibbles, each in its own lane, into eight upper-case hex
+     * chars.
+     *
+     * @param nibbles the nibbles to encode.
+     *
+     * @return the encoded hex chars.
+     */
+    static long encodeLanes(final long nibbles) {
+
+        // 0x01 in each lane whose nibble is greater than 9
+        final long alpha = ((nibbles + 0x0606060606060606L) >>> 4) & LANES_01;
+
+        return nibbles + 0x3030303030303030L + alpha * 0x07;
+    }
+
+
+    /**
+     * Returns a mask whose high bit in each lane is set if the lane is a hex
+     * char.
+     *
+     * @param chars the chars to classify.
+     *
+     * @return the mask of valid lanes.
+     */
+    static long classifyLanes(final long chars) {
+
+        // v + (0x80 - lo) sets the high bit of a lane iff v >= lo (v < 0x80)
+        final long ge0 = chars + 0x5050505050505050L; // >= '0'
+        final long gt9 = chars + 0x4646464646464646L; // >  '9'
+        final long folded = chars | 0x2020202020202020L;
+        final long gea = folded + 0x1F1F1F1F1F1F1F1FL; // >= 'a'
+        final long gtf = folded + 0x1919191919191919L; // >  'f'
+
+        return ((ge0 & ~gt9) | (gea & ~gtf)) & ~chars & LANES_80;
+    }
+
+
+    /**
+     * Decodes eight valid hex chars into four octets.
+     *
+     * @param chars the hex chars to decode.
+     *
+     * @return the decoded octets in the lower 32 bits.
+     */
+    static long decodeLanes(final long chars) {
+
+        // 0x01 in each lane of 'A' ~ 'F' or 'a' ~ 'f'
+        final long alpha = (chars >>> 6) & LANES_01;
+        long nibbles = (chars & 0x0F0F0F0F0F0F0F0FL) + alpha * 0x09;
+
+        nibbles = (nibbles | (nibbles >>> 4)) & 0x00FF00FF00FF00FFL;
+        nibbles = (nibbles | (nibbles >>> 8)) & 0x0000FFFF0000FFFFL;
+        nibbles = (nibbles | (nibbles >>> 16)) & 0x00000000FFFFFFFFL;
+
+        return nibbles;
+    }
+
+
+    @Override
+    public String name() {
+
+        return NAME;
+    }
+
+
+    @Override
+    public void encode(final byte[] input, int inoff, final byte[] output,
+                       int outoff, final int count) {
+
+        final int limit = inoff + (count & ~0x03);
+        while (inoff < limit) {
+            final long octets = ((input[inoff] & 0xFFL) << 24)
+                                | ((input[inoff + 1] & 0xFFL) << 16)
+                                | ((input[inoff + 2] & 0xFFL) << 8)
+                                | (input[inoff + 3] & 0xFFL);
+            final long chars = encodeLanes(spread(octets));
+            output[outoff] = (byte) (chars >>> 56);
+            output[outoff + 1] = (byte) (chars >>> 48);
+            output[outoff + 2] = (byte) (chars >>> 40);
+            output[outoff + 3] = (byte) (chars >>> 32);
+            output[outoff + 4] = (byte) (chars >>> 24);
+            output[outoff + 5] = (byte) (chars >>> 16);
+            output[outoff + 6] = (byte) (chars >>> 8);
+            output[outoff + 7] = (byte) chars;
+            inoff += 4;
+            outoff += 8;
+        }
+
+        TableHexEngine.encodeTable(input, inoff, output, outoff, count & 0x03);
+    }
+
+
+    @Override
+    public void decode(final byte[] input, int inoff, final byte[] output,
+                       int outoff, final int count) {
+
+        final int limit = outoff + (count & ~0x03);
+        while (outoff < limit) {
+            final long chars = ((input[inoff] & 0xFFL) << 56)
+                               | ((input[inoff + 1] & 0xFFL) << 48)
+                               | ((input[inoff + 2] & 0xFFL) << 40)
+                               | ((input[inoff + 3] & 0xFFL) << 32)
+                               | ((input[inoff + 4] & 0xFFL) << 24)
+                               | ((input[inoff + 5] & 0xFFL) << 16)
+                               | ((input[inoff + 6] & 0xFFL) << 8)
+                               | (input[inoff + 7] & 0xFFL);
+            if (classifyLanes(chars) == LANES_80) {
+                final long octets = decodeLanes(chars);
+                output[outoff] = (byte) (octets >>> 24);
+                output[outoff + 1] = (byte) (octets >>> 16);
+                output[outoff + 2] = (byte) (octets >>> 8);
+                output[outoff + 3] = (byte) octets;
+            } else {
+                // let the table report the illegal char
+                TableHexEngine.decodeTable(input, inoff, output, outoff, 4);
+            }
+            inoff += 8;
+            outoff += 4;
+        }
+
+        TableHexEngine.decodeTable(input, inoff, output, outoff, count & 0x03);
+    }
+
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+/**
+ * An engine uses the per-nibble {@code switch} statements of
+ * {@link HexEncoder} and {@link HexDecoder}.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class SwitchHexEngine implements HexEngine {
+
+
+    /**
+     * The name of this engine.
+     */
+    public static final String NAME = "switch";
+
+
+    @Override
+    public String name() {
+
+        return NAME;
+    }
+
+
+    @Override
+    public void encode(final byte[] input, int inoff, final byte[] output,
+                       int outoff, final int count) {
+
+        for (int i = 0; i < count; i++) {
+            final int octet = input[inoff++];
+            output[outoff++] =
+                (byte) HexEncoder.encodeHalf((octet >> 4) & 0x0F);
+            output[outoff++] = (byte) HexEncoder.encodeHalf(octet & 0x0F);
+        }
+    }
+
+
+    @Override
+    public void decode(final byte[] input, int inoff, final byte[] output,
+                       int outoff, final int count) {
+
+        for (int i = 0; i < count; i++) {
+            output[outoff++] =
+                (byte) ((HexDecoder.decodeHalf(input[inoff++] & 0xFF) << 4)
+                        | HexDecoder.decodeHalf(input[inoff++] & 0xFF));
+        }
+    }
+
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+/**
+ * An engine uses lookup tables for both encoding and decoding.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public final class TableHexEngine implements HexEngine {
+
+
+    /**
+     * The name of this engine.
+     */
+    public static final String NAME = "table";
+
+
+    /**
+     * Encodes with lookup tables.
+     *
+     * @param input the input array of octets.
+     * @param inoff the offset in the input array.
+     * @param output the output array of hex chars.
+     * @param outoff the offset in the output array.
+     * @param count the number of octets to encode.
+     */
+    static void encodeTable(final byte[] input, int inoff, final byte[] output,
+                            int outoff, final int count) {
+
+        final byte[] table = HexTables.ENCODE;
+        for (int i = 0; i < count; i++) {
+            final int octet = input[inoff++] & 0xFF;
+            output[outoff++] = table[octet >> 4];
+            output[outoff++] = table[octet & 0x0F];
+        }
+    }
+
+
+    /**
+     * Decodes with lookup tables.
+     *
+     * @param input the input array of hex chars.
+     * @param inoff the offset in the input array.
+     * @param output the output array of octets.
+     * @param outoff the offset in the output array.
+     * @param count the number of octets to decode.
+     */
+    static void decodeTable(final byte[] input, int inoff, final byte[] output,
+                            int outoff, final int count) {
+
+        final byte[] table = HexTables.DECODE;
+        for (int i = 0; i < count; i++) {
+            final int high = table[input[inoff] & 0xFF];
+            final int low = table[input[inoff + 1] & 0xFF];
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException(
+                    "illegal input: " + (input[high < 0 ? inoff : inoff + 1]
+                                         & 0xFF));
+            }
+            output[outoff++] = (byte) ((high << 4) | low);
+            inoff += 2;
+        }
+    }
+
+
+    @Override
+    public String name() {
+
+        return NAME;
+    }
+
+
+    @Override
+    public void encode(final byte[] input, final int inoff, final byte[] output,
+                       final int outoff, final int count) {
+
+        encodeTable(input, inoff, output, outoff, count);
+    }
+
+
+    @Override
+    public void decode(final byte[] input, final int inoff, final byte[] output,
+                       final int outoff, final int count) {
+
+        decodeTable(input, inoff, output, outoff, count);
+    }
+
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+/**
+ * A dependency-free hex codec.
+ *
+ * @uses com.github.jinahya.codec.HexEngine
+ * @provides com.github.jinahya.codec.HexEngine
+ */
+module com.github.jinahya.codec {
+
+    exports com.github.jinahya.codec;
+
+    uses com.github.jinahya.codec.HexEngine;
+
+    provides com.github.jinahya.codec.HexEngine with
+        com.github.jinahya.codec.SwitchHexEngine,
+        com.github.jinahya.codec.TableHexEngine,
+        com.github.jinahya.codec.SwarHexEngine,
+        com.github.jinahya.codec.ConstantTimeHexEngine;
+
+}
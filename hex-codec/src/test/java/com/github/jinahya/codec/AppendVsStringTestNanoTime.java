@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.math3.stat.StatUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ * Compares appending hex chars directly with appending an encoded string.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"benchmark"}, singleThreaded = true)
+public class AppendVsStringTestNanoTime {
+
+
+    private static final int ROUNDS = 1024;
+
+
+    private static final int REPEAT = 16;
+
+
+    private static final Logger LOGGER =
+        Logger.getLogger(AppendVsStringTestNanoTime.class.getName());
+
+
+    @DataProvider
+    private static Object[][] sizes() {
+
+        return new Object[][]{{32}, {1024}, {16384}};
+    }
+
+
+    @BeforeClass
+    private static void warmUp() throws IOException {
+        LOGGER.info("warmUp()");
+
+        final StringBuilder builder = new StringBuilder();
+        for (final Object[] size : sizes()) {
+            final byte[] decoded = new byte[(Integer) size[0]];
+            for (int i = 0; i < 4096; i++) {
+                ThreadLocalRandom.current().nextBytes(decoded);
+                appendDirect(decoded, builder);
+                appendString(decoded, builder);
+            }
+        }
+    }
+
+
+    private static long appendDirect(final byte[] decoded,
+                                     final StringBuilder builder)
+        throws IOException {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            builder.setLength(0);
+            HexEncoder.encodeTo(decoded, 0, decoded.length, builder);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    private static long appendString(final byte[] decoded,
+                                     final StringBuilder builder) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            builder.setLength(0);
+            builder.append(new String(HexEncoder.encodeMultiple(decoded),
+                                      StandardCharsets.US_ASCII));
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testAppend(final int count) throws IOException {
+
+        final double[] elapsedDirect = new double[ROUNDS];
+        final double[] elapsedString = new double[ROUNDS];
+
+        final byte[] decoded = new byte[count];
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < ROUNDS; i++) {
+            ThreadLocalRandom.current().nextBytes(decoded);
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedDirect[i] = appendDirect(decoded, builder);
+                elapsedString[i] = appendString(decoded, builder);
+            } else {
+                elapsedString[i] = appendString(decoded, builder);
+                elapsedDirect[i] = appendDirect(decoded, builder);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.append.direct.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedDirect)});
+        LOGGER.log(Level.INFO, "elapsed.append.string.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedString)});
+    }
+
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.math3.stat.StatUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ * Compares the fixed-size paths with the engines on digest lengths.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"benchmark"}, singleThreaded = true)
+public class FixedVsGenericTestNanoTime {
+
+
+    private static final int ROUNDS = 1024;
+
+
+    private static final int REPEAT = 64;
+
+
+    private static final Logger LOGGER =
+        Logger.getLogger(FixedVsGenericTestNanoTime.class.getName());
+
+
+    @DataProvider
+    private static Object[][] sizes() {
+
+        return new Object[][]{{16}, {20}, {32}, {64}};
+    }
+
+
+    @BeforeClass
+    private static void warmUp() {
+        LOGGER.info("warmUp()");
+
+        for (final Object[] size : sizes()) {
+            final int count = (Integer) size[0];
+            final byte[] decoded = new byte[count];
+            final byte[] encoded = new byte[count << 1];
+            for (int i = 0; i < 16384; i++) {
+                ThreadLocalRandom.current().nextBytes(decoded);
+                encodeFixed(decoded, encoded);
+                encodeGeneric(decoded, encoded);
+                decodeFixed(encoded, decoded);
+                decodeGeneric(encoded, decoded);
+            }
+        }
+    }
+
+
+    private static long encodeFixed(final byte[] decoded,
+                                    final byte[] encoded) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            HexFixedSizes.encode(decoded, 0, encoded, 0, decoded.length);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    private static long encodeGeneric(final byte[] decoded,
+                                      final byte[] encoded) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            HexEngines.encoder(decoded.length).encode(
+                decoded, 0, encoded, 0, decoded.length);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    private static long decodeFixed(final byte[] encoded,
+                                    final byte[] decoded) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            HexFixedSizes.decode(encoded, 0, decoded, 0, decoded.length);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    private static long decodeGeneric(final byte[] encoded,
+                                      final byte[] decoded) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            HexEngines.decoder(decoded.length).decode(
+                encoded, 0, decoded, 0, decoded.length);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testEncode(final int count) {
+
+        final double[] elapsedFixed = new double[ROUNDS];
+        final double[] elapsedGeneric = new double[ROUNDS];
+
+        final byte[] decoded = new byte[count];
+        final byte[] encoded = new byte[count << 1];
+        for (int i = 0; i < ROUNDS; i++) {
+            ThreadLocalRandom.current().nextBytes(decoded);
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedFixed[i] = encodeFixed(decoded, encoded);
+                elapsedGeneric[i] = encodeGeneric(decoded, encoded);
+            } else {
+                elapsedGeneric[i] = encodeGeneric(decoded, encoded);
+                elapsedFixed[i] = encodeFixed(decoded, encoded);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.encode.fixed.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedFixed)});
+        LOGGER.log(Level.INFO, "elapsed.encode.generic.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedGeneric)});
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testDecode(final int count) {
+
+        final double[] elapsedFixed = new double[ROUNDS];
+        final double[] elapsedGeneric = new double[ROUNDS];
+
+        final byte[] decoded = new byte[count];
+        final byte[] encoded = new byte[count << 1];
+        for (int i = 0; i < ROUNDS; i++) {
+            ThreadLocalRandom.current().nextBytes(decoded);
+            HexEncoder.encodeMultiple(decoded, 0, encoded, 0, count);
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedFixed[i] = decodeFixed(encoded, decoded);
+                elapsedGeneric[i] = decodeGeneric(encoded, decoded);
+            } else {
+                elapsedGeneric[i] = decodeGeneric(encoded, decoded);
+                elapsedFixed[i] = decodeFixed(encoded, decoded);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.decode.fixed.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedFixed)});
+        LOGGER.log(Level.INFO, "elapsed.decode.generic.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedGeneric)});
+    }
+
+
+}
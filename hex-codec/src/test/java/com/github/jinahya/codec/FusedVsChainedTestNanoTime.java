@@ -0,0 +1,176 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.math3.stat.StatUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ * Compares the charset paths of {@link HexCharsets} with chaining
+ * {@link String#getBytes(Charset)}, {@link HexEncoder} or {@link HexDecoder},
+ * and {@link String#String(byte[], Charset)}.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"benchmark"}, singleThreaded = true)
+public class FusedVsChainedTestNanoTime {
+
+
+    private static final int ROUNDS = 1024;
+
+
+    private static final int REPEAT = 16;
+
+
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+
+    private static final Logger LOGGER =
+        Logger.getLogger(FusedVsChainedTestNanoTime.class.getName());
+
+
+    @DataProvider
+    private static Object[][] texts() {
+
+        return new Object[][]{
+            {Tests.decodedString(256)}, {text(4096, 0x7F)},
+            {text(4096, 0x3FF)}};
+    }
+
+
+    private static String text(final int length, final int bound) {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append((char) random.nextInt(0x20, bound));
+        }
+
+        return builder.toString();
+    }
+
+
+    @BeforeClass
+    private static void warmUp() {
+        LOGGER.info("warmUp()");
+
+        for (final Object[] text : texts()) {
+            final String encoded = encodeChained((String) text[0]);
+            for (int i = 0; i < 4096; i++) {
+                encodeFused((String) text[0]);
+                encodeChained((String) text[0]);
+                decodeFused(encoded);
+                decodeChained(encoded);
+            }
+        }
+    }
+
+
+    private static String encodeFused(final String text) {
+
+        return HexCharsets.encode(text, CHARSET);
+    }
+
+
+    private static String encodeChained(final String text) {
+
+        return new String(HexEncoder.encodeMultiple(text.getBytes(CHARSET)),
+                          StandardCharsets.US_ASCII);
+    }
+
+
+    private static String decodeFused(final String hex) {
+
+        return HexCharsets.decode(hex, CHARSET);
+    }
+
+
+    private static String decodeChained(final String hex) {
+
+        return new String(HexDecoder.decodeMultiple(
+            hex.getBytes(StandardCharsets.US_ASCII)), CHARSET);
+    }
+
+
+    private static long time(final Runnable runnable) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            runnable.run();
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    @Test(dataProvider = "texts")
+    public void testEncode(final String text) {
+
+        final double[] elapsedFused = new double[ROUNDS];
+        final double[] elapsedChained = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedFused[i] = time(() -> encodeFused(text));
+                elapsedChained[i] = time(() -> encodeChained(text));
+            } else {
+                elapsedChained[i] = time(() -> encodeChained(text));
+                elapsedFused[i] = time(() -> encodeFused(text));
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.encode.fused.{0}: {1}",
+                   new Object[]{text.length(), StatUtils.mean(elapsedFused)});
+        LOGGER.log(Level.INFO, "elapsed.encode.chained.{0}: {1}",
+                   new Object[]{text.length(),
+                                StatUtils.mean(elapsedChained)});
+    }
+
+
+    @Test(dataProvider = "texts")
+    public void testDecode(final String text) {
+
+        final String hex = encodeChained(text);
+        final double[] elapsedFused = new double[ROUNDS];
+        final double[] elapsedChained = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedFused[i] = time(() -> decodeFused(hex));
+                elapsedChained[i] = time(() -> decodeChained(hex));
+            } else {
+                elapsedChained[i] = time(() -> decodeChained(hex));
+                elapsedFused[i] = time(() -> decodeFused(hex));
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.decode.fused.{0}: {1}",
+                   new Object[]{text.length(), StatUtils.mean(elapsedFused)});
+        LOGGER.log(Level.INFO, "elapsed.decode.chained.{0}: {1}",
+                   new Object[]{text.length(),
+                                StatUtils.mean(elapsedChained)});
+    }
+
+
+}
@@ -0,0 +1,507 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ * Checks the number of octets allocated by each call of hot paths, measured
+ * with {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}
+ * after warming up. Paths into caller buffers and streaming paths may not
+ * allocate at all; convenience methods may allocate their results only.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"allocation"}, singleThreaded = true)
+public class HexAllocationTest {
+
+
+    /**
+     * An operation measured.
+     */
+    private static interface Operation {
+
+
+        void run() throws Exception;
+
+
+    }
+
+
+    private static final Logger LOGGER =
+        Logger.getLogger(HexAllocationTest.class.getName());
+
+
+    /**
+     * The number of octets processed while warming up each operation.
+     */
+    private static final int WARM_UP = 1 << 24;
+
+
+    private static final int ROUNDS = 8;
+
+
+    private static final int CALLS = 256;
+
+
+    private static com.sun.management.ThreadMXBean threads;
+
+
+    /**
+     * The results of convenience methods; kept so they escape.
+     */
+    private static volatile Object sink;
+
+
+    @DataProvider
+    private static Object[][] sizes() {
+
+        return new Object[][]{{1}, {16}, {20}, {100}, {4096}, {65536}};
+    }
+
+
+    @BeforeClass
+    private static void checkSupported() {
+
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            throw new SkipException("com.sun.management is not available");
+        }
+        threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new SkipException("allocated memory is not supported");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+
+    /**
+     * Returns the minimum number of octets allocated by each call of given
+     * operation, after warming up, in {@link #ROUNDS} rounds.
+     */
+    private static double allocated(final Operation operation,
+                                    final int size)
+        throws Exception {
+
+        for (int i = WARM_UP / Math.max(size, 256); i >= 0; i--) {
+            operation.run();
+        }
+
+        final long id = Thread.currentThread().getId();
+        long minimum = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long before = threads.getThreadAllocatedBytes(id);
+            for (int i = 0; i < CALLS; i++) {
+                operation.run();
+            }
+            final long after = threads.getThreadAllocatedBytes(id);
+            // the measurement itself, if ever, allocates in a round
+            minimum = Math.min(minimum, after - before);
+        }
+
+        return (double) minimum / CALLS;
+    }
+
+
+    /**
+     * Asserts given operation allocates nothing.
+     */
+    private static void assertNone(final String name, final int size,
+                                   final Operation operation)
+        throws Exception {
+
+        final double allocated = allocated(operation, size);
+        LOGGER.log(Level.INFO, "allocated.{0}.{1}: {2}",
+                   new Object[]{name, size, allocated});
+        Assert.assertTrue(allocated < 1.0d,
+                          name + "(" + size + ") allocated " + allocated
+                          + " octets per call");
+    }
+
+
+    /**
+     * Asserts given operation allocates no more than {@code result} does.
+     */
+    private static void assertResult(final String name, final int size,
+                                     final Operation operation,
+                                     final Operation result)
+        throws Exception {
+
+        final double allocated = allocated(operation, size);
+        final double budget = allocated(result, size);
+        LOGGER.log(Level.INFO, "allocated.{0}.{1}: {2} / {3}",
+                   new Object[]{name, size, allocated, budget});
+        Assert.assertTrue(allocated < budget + 1.0d,
+                          name + "(" + size + ") allocated " + allocated
+                          + " octets per call; budget: " + budget);
+    }
+
+
+    private static byte[] random(final int size) {
+
+        final byte[] octets = new byte[size];
+        ThreadLocalRandom.current().nextBytes(octets);
+
+        return octets;
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testArrays(final int size) throws Exception {
+
+        final byte[] decoded = random(size);
+        final byte[] encoded = HexEncoder.encodeMultiple(decoded);
+        final byte[] octets = new byte[size];
+        final byte[] chars = new byte[size << 1];
+
+        assertNone("encodeMultiple", size, () -> HexEncoder.encodeMultiple(
+            decoded, 0, chars, 0, size));
+        assertNone("decodeMultiple", size, () -> HexDecoder.decodeMultiple(
+            encoded, 0, octets, 0, size));
+        assertNone("encodeReversed", size, () -> HexEncoder.encodeReversed(
+            decoded, 0, chars, 0, size));
+        assertNone("decodeReversed", size, () -> HexDecoder.decodeReversed(
+            encoded, 0, octets, 0, size));
+
+        final char[] output = new char[size << 1];
+        assertNone("encodeToChars", size, () -> HexEncoder.encodeToChars(
+            decoded, output, 0));
+
+        final byte[] buffer = new byte[size << 1];
+        assertNone("encodeInPlace", size, () -> {
+            System.arraycopy(decoded, 0, buffer, 0, size);
+            HexEncoder.encodeInPlace(buffer, 0, size);
+        });
+        assertNone("decodeInPlace", size, () -> {
+            System.arraycopy(encoded, 0, buffer, 0, size << 1);
+            HexDecoder.decodeInPlace(buffer, 0, size << 1);
+        });
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testBuffers(final int size) throws Exception {
+
+        final byte[] decoded = random(size);
+        final byte[] encoded = HexEncoder.encodeMultiple(decoded);
+
+        for (final boolean direct : new boolean[]{false, true}) {
+            final ByteBuffer octets = direct
+                                      ? ByteBuffer.allocateDirect(size)
+                                      : ByteBuffer.allocate(size);
+            octets.put(decoded).clear();
+            final ByteBuffer chars = direct
+                                     ? ByteBuffer.allocateDirect(size << 1)
+                                     : ByteBuffer.allocate(size << 1);
+            chars.put(encoded).clear();
+            final String suffix = direct ? ".direct" : ".heap";
+            assertNone("encodeMultiple" + suffix, size, () -> {
+                octets.clear();
+                chars.clear();
+                HexEncoder.encodeMultiple(octets, chars);
+            });
+            assertNone("decodeMultiple" + suffix, size, () -> {
+                chars.clear();
+                octets.clear();
+                HexDecoder.decodeMultiple(chars, octets);
+            });
+            assertNone("encodeReversed" + suffix, size, () -> {
+                octets.clear();
+                chars.clear();
+                HexEncoder.encodeReversed(octets, chars);
+            });
+        }
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testPrimitives(final int size) throws Exception {
+
+        final long[] values
+            = ThreadLocalRandom.current().longs(size).toArray();
+        final byte[] chars = new byte[size << 4];
+        final long[] decoded = new long[size];
+
+        for (final ByteOrder order : new ByteOrder[]{
+            ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            HexEncoder.encodeMultiple(values, 0, chars, 0, size, order);
+            assertNone("encodeLongs." + order, size << 3,
+                       () -> HexEncoder.encodeMultiple(
+                           values, 0, chars, 0, size, order));
+            assertNone("decodeLongs." + order, size << 3,
+                       () -> HexDecoder.decodeMultiple(
+                           chars, 0, decoded, 0, size, order));
+        }
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testStreams(final int size) throws Exception {
+
+        final byte[] decoded = random(size);
+        final byte[] encoded = HexEncoder.encodeMultiple(decoded);
+
+        final OutputStream discarding = new OutputStream() {
+
+            @Override
+            public void write(final int b) {
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+            }
+
+        };
+        final HexEncoderOutputStream encoder
+            = new HexEncoderOutputStream(discarding);
+        assertNone("HexEncoderOutputStream", size,
+                   () -> encoder.write(decoded, 0, size));
+        final HexDecoderOutputStream decoder
+            = new HexDecoderOutputStream(discarding);
+        assertNone("HexDecoderOutputStream", size,
+                   () -> decoder.write(encoded, 0, size << 1));
+
+        final WritableByteChannel draining = new WritableByteChannel() {
+
+            @Override
+            public int write(final ByteBuffer src) {
+                final int remaining = src.remaining();
+                src.position(src.limit());
+                return remaining;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+
+        };
+        final ByteBuffer octets = ByteBuffer.wrap(decoded);
+        final ByteBuffer chars = ByteBuffer.wrap(encoded);
+        try (HexEncoderChannel channel = new HexEncoderChannel(draining)) {
+            assertNone("HexEncoderChannel", size, () -> {
+                octets.clear();
+                channel.write(octets);
+            });
+        }
+        try (HexDecoderChannel channel = new HexDecoderChannel(draining)) {
+            assertNone("HexDecoderChannel", size, () -> {
+                chars.clear();
+                channel.write(chars);
+            });
+        }
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testAppendables(final int size) throws Exception {
+
+        final byte[] decoded = random(size);
+
+        final StringBuilder builder = new StringBuilder(size << 1);
+        assertNone("encodeTo.StringBuilder", size, () -> {
+            builder.setLength(0);
+            HexEncoder.encodeTo(decoded, 0, size, builder);
+        });
+
+        final Writer writer = new Writer() {
+
+            @Override
+            public void write(final int c) {
+            }
+
+            @Override
+            public void write(final char[] cbuf, final int off,
+                              final int len) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+
+        };
+        assertNone("encodeTo.Writer", size,
+                   () -> HexEncoder.encodeTo(decoded, 0, size, writer));
+
+        final Appendable appendable = new Appendable() {
+
+            @Override
+            public Appendable append(final CharSequence csq) {
+                return this;
+            }
+
+            @Override
+            public Appendable append(final CharSequence csq, final int start,
+                                     final int end) {
+                return this;
+            }
+
+            @Override
+            public Appendable append(final char c) {
+                return this;
+            }
+
+        };
+        assertNone("encodeTo.Appendable", size,
+                   () -> HexEncoder.encodeTo(decoded, 0, size, appendable));
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testScanner(final int size) throws Exception {
+
+        final byte[] text = new byte[size << 1];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = i % 41 == 40 ? (byte) ' ' : HexTables.ENCODE[i & 0x0F];
+        }
+        final byte[] arena = new byte[size];
+        final HexScanner scanner = new HexScanner(true, 40);
+        final HexScanner.Handler handler = (offset, length, a, p) -> true;
+
+        assertNone("HexScanner", size, () -> scanner.scan(
+            text, 0, text.length, arena, handler));
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(text.length);
+        buffer.put(text).clear();
+        assertNone("HexScanner.direct", size, () -> {
+            buffer.clear();
+            scanner.scan(buffer, arena, handler);
+        });
+
+        final String sequence = new String(text, StandardCharsets.ISO_8859_1);
+        assertNone("HexScanner.sequence", size, () -> scanner.scan(
+            sequence, 0, sequence.length(), arena, handler));
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testConveniences(final int size) throws Exception {
+
+        final byte[] decoded = random(size);
+        final byte[] encoded = HexEncoder.encodeMultiple(decoded);
+
+        assertResult("encodeMultiple", size,
+                     () -> sink = HexEncoder.encodeMultiple(decoded),
+                     () -> sink = new byte[size << 1]);
+        assertResult("decodeMultiple", size,
+                     () -> sink = HexDecoder.decodeMultiple(encoded),
+                     () -> sink = new byte[size]);
+        assertResult("encodeReversed", size,
+                     () -> sink = HexEncoder.encodeReversed(decoded),
+                     () -> sink = new byte[size << 1]);
+        assertResult("decodeReversed", size,
+                     () -> sink = HexDecoder.decodeReversed(encoded),
+                     () -> sink = new byte[size]);
+
+        final long[] values
+            = ThreadLocalRandom.current().longs(size).toArray();
+        final byte[] chars = HexEncoder.encodeMultiple(
+            values, ByteOrder.LITTLE_ENDIAN);
+        assertResult("decodeLongs", size << 3,
+                     () -> sink = HexDecoder.decodeLongs(
+                         chars, ByteOrder.LITTLE_ENDIAN),
+                     () -> sink = new long[size]);
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testStrings(final int size) throws Exception {
+
+        final Charset latin1 = StandardCharsets.ISO_8859_1;
+        final byte[] decoded = random(size);
+        final byte[] encoded = HexEncoder.encodeMultiple(decoded);
+
+        final HexEncoder encoder = new HexEncoder();
+        assertResult("encodedToString", size,
+                     () -> sink = encoder.encodedToString(decoded, latin1),
+                     () -> sink = new String(encoded, latin1));
+
+        final HexDigester digester
+            = HexDigester.of(MessageDigest.getInstance("SHA-256"));
+        final byte[] digested = new byte[digester.length() << 1];
+        assertResult("digestHex", size,
+                     () -> {
+                         digester.update(decoded, 0, size);
+                         sink = digester.digestHex();
+                     },
+                     () -> sink = new String(digested, latin1));
+
+        final HexKey key = HexKey.of(decoded);
+        assertResult("HexKey.toString", size,
+                     () -> sink = key.toString(),
+                     () -> sink = new String(encoded, latin1));
+
+        // text of ASCII chars so that each charset takes an octet per char
+        final byte[] ascii = new byte[size];
+        for (int i = 0; i < size; i++) {
+            ascii[i] = (byte) (decoded[i] & 0x7F);
+        }
+        final String text = new String(ascii, latin1);
+        final byte[] chars = HexEncoder.encodeMultiple(ascii);
+        final String hex = new String(chars, latin1);
+        for (final Charset charset : new Charset[]{
+            StandardCharsets.US_ASCII, latin1, StandardCharsets.UTF_8}) {
+            // String#getBytes outruns encoding chars inline; its octets are
+            // the only intermediate
+            assertResult("encodeToString." + charset, size,
+                         () -> sink = encoder.encodeToString(
+                             text, charset, charset),
+                         () -> {
+                             sink = text.getBytes(charset);
+                             sink = new String(chars, latin1);
+                         });
+            final HexDecoder decoder = new HexDecoder();
+            assertResult("decodeToString." + charset, size,
+                         () -> sink = decoder.decodeToString(
+                             hex, charset, charset),
+                         () -> sink = new String(ascii, charset));
+        }
+    }
+
+
+}
+
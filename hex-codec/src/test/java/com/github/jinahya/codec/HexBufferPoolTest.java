@@ -0,0 +1,221 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexBufferPoolTest {
+
+
+    @Test
+    public void testIndex() {
+
+        Assert.assertEquals(HexBufferPool.index(0), 0);
+        Assert.assertEquals(HexBufferPool.index(1), 0);
+        Assert.assertEquals(HexBufferPool.index(64), 0);
+        Assert.assertEquals(HexBufferPool.index(65), 1);
+        Assert.assertEquals(HexBufferPool.index(128), 1);
+        Assert.assertEquals(HexBufferPool.index(HexBufferPool.MAX_CAPACITY),
+                            14);
+        Assert.assertEquals(
+            HexBufferPool.index(HexBufferPool.MAX_CAPACITY + 1), -1);
+    }
+
+
+    @Test(invocationCount = 64)
+    public void testAcquire() {
+
+        final HexBufferPool pool = new HexBufferPool(4, 16, false);
+        final int capacity = Tests.random().nextInt(
+            HexBufferPool.MAX_CAPACITY << 1);
+        final boolean direct = Tests.random().nextBoolean();
+
+        final ByteBuffer buffer = pool.acquire(capacity, direct);
+        Assert.assertTrue(buffer.capacity() >= capacity);
+        Assert.assertEquals(buffer.position(), 0);
+        Assert.assertEquals(buffer.limit(), capacity);
+        Assert.assertEquals(buffer.isDirect(), direct);
+        if (!direct) {
+            Assert.assertEquals(buffer.arrayOffset(), 0);
+        }
+
+        pool.release(buffer);
+    }
+
+
+    @Test
+    public void testReuse() {
+
+        final HexBufferPool pool = new HexBufferPool(4, 16, false);
+        for (int i = 0; i < 1024; i++) {
+            final ByteBuffer heap = pool.acquire(4096, false);
+            final ByteBuffer direct = pool.acquire(4000, true);
+            heap.put((byte) i);
+            pool.release(heap);
+            pool.release(direct);
+        }
+
+        Assert.assertEquals(pool.getAllocationCount(), 2L);
+    }
+
+
+    @Test
+    public void testReuseAcrossThreads()
+        throws InterruptedException, ExecutionException {
+
+        final HexBufferPool pool = new HexBufferPool(0, 16, false);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 16; i++) {
+                final ByteBuffer buffer = executor.submit(
+                    () -> pool.acquire(HexBufferPool.MAX_CAPACITY, false))
+                    .get();
+                executor.submit(() -> pool.release(buffer)).get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(pool.getAllocationCount(), 1L);
+    }
+
+
+    @Test
+    public void testCaps() {
+
+        final HexBufferPool pool = new HexBufferPool(1, 2, false);
+        final ByteBuffer[] buffers = new ByteBuffer[4];
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = pool.acquire(256, false);
+            }
+            for (final ByteBuffer buffer : buffers) {
+                pool.release(buffer);
+            }
+        }
+
+        // one dropped in the first round
+        Assert.assertEquals(pool.getAllocationCount(), 5L);
+    }
+
+
+    @Test
+    public void testLarge() {
+
+        final HexBufferPool pool = new HexBufferPool(4, 16, true);
+        for (int i = 0; i < 2; i++) {
+            final ByteBuffer buffer =
+                pool.acquire(HexBufferPool.MAX_CAPACITY + 1, false);
+            Assert.assertEquals(buffer.capacity(),
+                                HexBufferPool.MAX_CAPACITY + 1);
+            pool.release(buffer);
+        }
+
+        Assert.assertEquals(pool.getAllocationCount(), 2L);
+    }
+
+
+    @Test
+    public void testReleaseSlices() {
+
+        final HexBufferPool pool = new HexBufferPool(4, 16, false);
+        final byte[] array = new byte[128];
+        pool.release(ByteBuffer.wrap(array, 64, 64).slice());
+        pool.release(ByteBuffer.wrap(array, 0, 64).slice());
+
+        final ByteBuffer buffer = pool.acquire(64, false);
+        Assert.assertEquals(buffer.arrayOffset(), 0);
+        Assert.assertNotSame(buffer.array(), array);
+        Assert.assertEquals(pool.getAllocationCount(), 1L);
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testReleaseTwice() {
+
+        final HexBufferPool pool = new HexBufferPool(4, 16, true);
+        final ByteBuffer buffer = pool.acquire(1024, false);
+        pool.release(buffer);
+        pool.release(buffer);
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testReleaseForeign() {
+
+        new HexBufferPool(4, 16, true).release(ByteBuffer.allocate(1024));
+    }
+
+
+    @Test
+    public void testLeak() throws InterruptedException {
+
+        final HexBufferPool pool = new HexBufferPool(4, 16, true);
+        pool.acquire(1024, false);
+        pool.release(pool.acquire(1024, false));
+
+        for (int i = 0; i < 100 && pool.getLeakCount() == 0L; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+
+        Assert.assertEquals(pool.getLeakCount(), 1L);
+    }
+
+
+    @Test
+    public void testStreamsSteadyState() throws IOException {
+
+        final HexBufferPool pool = HexBufferPool.getDefault();
+        final OutputStream sink = new ByteArrayOutputStream();
+        final byte[] decoded = Tests.decodedBytes(16384);
+        final byte[] encoded = HexEncoder.encodeMultiple(decoded);
+
+        long allocations = -1L;
+        for (int i = 0; i < 16; i++) {
+            if (i == 8) {
+                allocations = pool.getAllocationCount();
+            }
+            final OutputStream encoder = new HexEncoderOutputStream(sink);
+            encoder.write(decoded);
+            encoder.close();
+            final OutputStream decoder = new HexDecoderOutputStream(sink);
+            decoder.write(encoded);
+            decoder.close();
+        }
+
+        Assert.assertEquals(pool.getAllocationCount(), allocations);
+    }
+
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexCachingEncoderTest {
+
+
+    private static String expected(final byte[] input) {
+
+        return new HexEncoder().encodedToString(input,
+                                                StandardCharsets.US_ASCII);
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testEncodedToString() {
+
+        final HexCachingEncoder encoder = new HexCachingEncoder(16);
+        final byte[] input = Tests.decodedBytes(128);
+        final String expected = expected(input);
+
+        Assert.assertEquals(encoder.encodedToString(input), expected);
+        Assert.assertEquals(encoder.encodedToString(input), expected);
+        if (input.length > HexCachingEncoder.DEFAULT_MAXIMUM_LENGTH) {
+            Assert.assertEquals(encoder.getBypassCount(), 2L);
+            Assert.assertEquals(encoder.size(), 0);
+        } else {
+            Assert.assertEquals(encoder.getMissCount(), 1L);
+            Assert.assertEquals(encoder.getHitCount(), 1L);
+            Assert.assertEquals(encoder.size(), 1);
+        }
+    }
+
+
+    @Test
+    public void testCopiesInput() {
+
+        final HexCachingEncoder encoder = new HexCachingEncoder(16);
+        for (final int length : new int[]{4, 48}) {
+            final byte[] input = new byte[length];
+            final String zeros = encoder.encodedToString(input);
+            input[0] = 1;
+            Assert.assertEquals(encoder.encodedToString(input),
+                                expected(input));
+            Assert.assertNotEquals(encoder.encodedToString(input), zeros);
+        }
+    }
+
+
+    @Test
+    public void testEviction() {
+
+        final HexCachingEncoder encoder = new HexCachingEncoder(2, 64, 1);
+        final byte[] a = {1};
+        final byte[] b = {2};
+        final byte[] c = {3};
+
+        encoder.encodedToString(a);
+        encoder.encodedToString(b);
+        encoder.encodedToString(a); // b is the eldest now
+        encoder.encodedToString(c);
+        Assert.assertEquals(encoder.getEvictionCount(), 1L);
+        Assert.assertEquals(encoder.size(), 2);
+
+        final long misses = encoder.getMissCount();
+        encoder.encodedToString(a);
+        Assert.assertEquals(encoder.getMissCount(), misses);
+        encoder.encodedToString(b);
+        Assert.assertEquals(encoder.getMissCount(), misses + 1L);
+    }
+
+
+    @Test
+    public void testBounded() {
+
+        final HexCachingEncoder encoder = new HexCachingEncoder(64);
+        for (int i = 0; i < 4096; i++) {
+            encoder.encodedToString(Tests.decodedBytes(32));
+        }
+
+        Assert.assertTrue(encoder.size() <= 64);
+
+        encoder.clear();
+        Assert.assertEquals(encoder.size(), 0);
+    }
+
+
+    @Test
+    public void testBoundedBelowSegments() {
+
+        for (int maximumSize = 1;
+             maximumSize < HexCachingEncoder.DEFAULT_SEGMENTS; maximumSize++) {
+            final HexCachingEncoder encoder
+                = new HexCachingEncoder(maximumSize);
+            for (int i = 0; i < 1024; i++) {
+                encoder.encodedToString(Tests.decodedBytes(32));
+            }
+            Assert.assertTrue(encoder.size() <= maximumSize,
+                              "size(" + encoder.size() + ") > maximumSize("
+                              + maximumSize + ")");
+        }
+    }
+
+
+    @Test
+    public void testConcurrent()
+        throws InterruptedException, ExecutionException {
+
+        final HexCachingEncoder encoder = new HexCachingEncoder(32);
+        final byte[][] inputs = new byte[64][];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new byte[32];
+            ThreadLocalRandom.current().nextBytes(inputs[i]);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    final ThreadLocalRandom random =
+                        ThreadLocalRandom.current();
+                    for (int i = 0; i < 4096; i++) {
+                        final byte[] input =
+                            inputs[random.nextInt(inputs.length)];
+                        Assert.assertEquals(encoder.encodedToString(input),
+                                            expected(input));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(encoder.getHitCount() + encoder.getMissCount(),
+                            4L * 4096L);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalMaximumSize() {
+
+        new HexCachingEncoder(0);
+    }
+
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexCharSequenceTest {
+
+
+    @Test(invocationCount = 128)
+    public void testAgainstCommonsCodecHex() {
+
+        final byte[] input = Tests.decodedBytes();
+        final int offset = input.length == 0
+                           ? 0 : Tests.random().nextInt(input.length);
+        final int length = Tests.random().nextInt(input.length - offset + 1);
+
+        final byte[] slice = new byte[length];
+        System.arraycopy(input, offset, slice, 0, length);
+        final String expected = new String(
+            Tests.uppercase(new Hex().encode(slice)),
+            StandardCharsets.US_ASCII);
+
+        final CharSequence actual = HexCharSequence.of(input, offset, length);
+        Assert.assertEquals(actual.length(), expected.length());
+        for (int i = 0; i < expected.length(); i++) {
+            Assert.assertEquals(actual.charAt(i), expected.charAt(i));
+        }
+        Assert.assertEquals(actual.toString(), expected);
+        Assert.assertSame(actual.toString(), actual.toString());
+
+        final int start = Tests.random().nextInt(expected.length() + 1);
+        final int end =
+            start + Tests.random().nextInt(expected.length() - start + 1);
+        final CharSequence sub = actual.subSequence(start, end);
+        Assert.assertEquals(sub.toString(), expected.substring(start, end));
+        Assert.assertEquals(sub.length(), end - start);
+    }
+
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testCharAtOutOfBounds() {
+
+        HexCharSequence.of(new byte[1]).charAt(2);
+    }
+
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testSubSequenceOutOfBounds() {
+
+        HexCharSequence.of(new byte[1]).subSequence(1, 3);
+    }
+
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexCharsetsTest {
+
+
+    @DataProvider
+    private static Object[][] charsets() {
+
+        return new Object[][]{
+            {StandardCharsets.US_ASCII}, {StandardCharsets.ISO_8859_1},
+            {StandardCharsets.UTF_8}, {StandardCharsets.UTF_16BE},
+            {Charset.forName("windows-1252")}};
+    }
+
+
+    /**
+     * Returns a random text including non-ASCII chars and surrogates, paired
+     * or not.
+     */
+    private static String text() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int length = random.nextInt(2048);
+        final StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    builder.append((char) random.nextInt(0x80, 0x800));
+                    break;
+                case 1:
+                    builder.append((char) random.nextInt(0x800, 0x10000));
+                    break;
+                case 2:
+                    builder.appendCodePoint(
+                        random.nextInt(0x10000, Character.MAX_CODE_POINT));
+                    break;
+                default:
+                    builder.append((char) random.nextInt(0x80));
+                    break;
+            }
+        }
+
+        return builder.toString();
+    }
+
+
+    @Test(dataProvider = "charsets", invocationCount = 16)
+    public void testEncodeToString(final Charset charset) {
+
+        final String text = text();
+        final String expected = new String(
+            HexEncoder.encodeMultiple(text.getBytes(charset)),
+            StandardCharsets.US_ASCII);
+
+        for (final Charset output : new Charset[]{
+            StandardCharsets.US_ASCII, StandardCharsets.UTF_8}) {
+            Assert.assertEquals(
+                new HexEncoder().encodeToString(text, charset, output),
+                expected);
+        }
+    }
+
+
+    @Test(dataProvider = "charsets", invocationCount = 16)
+    public void testDecodeToString(final Charset charset) {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final byte[] octets = Tests.decodedBytes(2048); // malformed mostly
+        final String hex = new String(HexEncoder.encodeMultiple(octets),
+                                      StandardCharsets.US_ASCII);
+        final String expected = new String(octets, charset);
+
+        Assert.assertEquals(new HexDecoder().decodeToString(
+            random.nextBoolean() ? hex : hex.toLowerCase(),
+            StandardCharsets.UTF_8, charset), expected);
+        Assert.assertEquals(new HexDecoder().decodeToString(
+            hex + "0", StandardCharsets.US_ASCII, charset), expected);
+    }
+
+
+    @Test(dataProvider = "charsets")
+    public void testRoundTrip(final Charset charset) {
+
+        final String text = text();
+        final String hex = new HexEncoder().encodeToString(
+            text, charset, StandardCharsets.ISO_8859_1);
+
+        Assert.assertEquals(
+            new HexDecoder().decodeToString(hex, StandardCharsets.ISO_8859_1,
+                                            charset),
+            new String(text.getBytes(charset), charset));
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeIllegal() {
+
+        new HexDecoder().decodeToString("0\u0130", StandardCharsets.UTF_8,
+                                        StandardCharsets.UTF_8);
+    }
+
+
+    @Test
+    public void testIncompatibleCharsets() {
+
+        final String text = text();
+        final byte[] hex = HexEncoder.encodeMultiple(
+            text.getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals(
+            new HexEncoder().encodeToString(text, StandardCharsets.UTF_8,
+                                            StandardCharsets.UTF_16LE),
+            new String(hex, StandardCharsets.UTF_16LE));
+        Assert.assertEquals(
+            new HexDecoder().decodeToString(
+                new String(hex, StandardCharsets.UTF_16LE),
+                StandardCharsets.UTF_16LE, StandardCharsets.UTF_8),
+            new String(text.getBytes(StandardCharsets.UTF_8),
+                       StandardCharsets.UTF_8));
+    }
+
+
+}
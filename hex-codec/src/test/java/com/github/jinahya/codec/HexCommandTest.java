@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexCommandTest {
+
+
+    private static byte[] run(final byte[] input, final int status,
+                              final String... args) {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final ByteArrayOutputStream error = new ByteArrayOutputStream();
+        Assert.assertEquals(
+            HexCommand.run(args, new ByteArrayInputStream(input), output,
+                           new PrintStream(error, true)),
+            status, new String(error.toByteArray(), StandardCharsets.UTF_8));
+
+        return output.toByteArray();
+    }
+
+
+    private static String format(final byte[] input, final boolean lower,
+                                 final String separator, final int width) {
+
+        final String encoded = Hex.encodeHexString(input);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < input.length; i++) {
+            if (i > 0 && (width == 0 || i % width != 0)) {
+                builder.append(separator);
+            }
+            builder.append(encoded, i << 1, (i << 1) + 2);
+            if (width > 0 && (i + 1) % width == 0) {
+                builder.append('\n');
+            }
+        }
+        if (width > 0 && input.length % width != 0) {
+            builder.append('\n');
+        }
+
+        return lower ? builder.toString()
+               : builder.toString().toUpperCase(Locale.ENGLISH);
+    }
+
+
+    @Test(invocationCount = 64)
+    public void testEncodeDecode() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final byte[] decoded = Tests.decodedBytes(4096);
+        final boolean lower = random.nextBoolean();
+        final String separator = random.nextBoolean() ? "" : ":";
+        final int width = random.nextBoolean() ? 0 : random.nextInt(1, 64);
+        final String parallelism = Integer.toString(random.nextInt(1, 4));
+
+        final byte[] encoded = run(
+            decoded, 0, lower ? "-l" : "-u", "-s", separator, "-w",
+            Integer.toString(width), "-p", parallelism);
+        Assert.assertEquals(new String(encoded, StandardCharsets.US_ASCII),
+                            format(decoded, lower, separator, width));
+
+        Assert.assertEquals(
+            run(encoded, 0, "-d", "-s", separator, "-p", parallelism),
+            decoded);
+    }
+
+
+    @Test
+    public void testFiles() throws IOException {
+
+        final byte[] decoded = Tests.decodedBytes(65536);
+
+        final Path source = Files.createTempFile("hex", ".bin");
+        final Path encoded = Files.createTempFile("hex", ".txt");
+        final Path target = Files.createTempFile("hex", ".bin");
+        try {
+            Files.write(source, decoded);
+            run(new byte[0], 0, "-e", "-v", source.toString(),
+                encoded.toString());
+            Assert.assertEquals(Files.readAllBytes(encoded),
+                                HexEncoder.encodeMultiple(decoded));
+            run(new byte[0], 0, "-d", encoded.toString(), target.toString());
+            Assert.assertEquals(Files.readAllBytes(target), decoded);
+        } finally {
+            Files.delete(source);
+            Files.delete(encoded);
+            Files.delete(target);
+        }
+    }
+
+
+    @Test
+    public void testDecodeIllegal() {
+
+        run("0A0".getBytes(StandardCharsets.US_ASCII), 1, "-d");
+        run("0G".getBytes(StandardCharsets.US_ASCII), 1, "-d");
+    }
+
+
+    @Test
+    public void testUsage() {
+
+        run(new byte[0], 2, "-x");
+        run(new byte[0], 2, "-w");
+        run(new byte[0], 2, "-p", "0");
+        run(new byte[0], 0, "-h");
+    }
+
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexDecoderChannelTest {
+
+
+    @Test(invocationCount = 128)
+    public void testWrite()
+        throws IOException, NoSuchAlgorithmException, DecoderException {
+
+        final byte[] encoded = Tests.encodedBytes();
+
+        final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        final HexDecoderChannel channel = new HexDecoderChannel(
+            Channels.newChannel(decoded),
+            HexDigester.of(MessageDigest.getInstance("SHA-256")));
+        int offset = 0;
+        while (offset < encoded.length) {
+            final int length =
+                Tests.random().nextInt(encoded.length - offset + 1);
+            final ByteBuffer src = Tests.random().nextBoolean()
+                                   ? ByteBuffer.allocateDirect(length)
+                                   : ByteBuffer.allocate(length);
+            src.put(encoded, offset, length).flip();
+            Assert.assertEquals(channel.write(src), length);
+            Assert.assertFalse(src.hasRemaining());
+            offset += length;
+        }
+        channel.close();
+
+        final byte[] expected = new Hex().decode(encoded);
+        Assert.assertEquals(decoded.toByteArray(), expected);
+        Assert.assertEquals(
+            channel.getDigester().digestHex(),
+            new String(Tests.uppercase(new Hex().encode(
+                MessageDigest.getInstance("SHA-256").digest(expected))),
+                       "US-ASCII"));
+    }
+
+
+    @Test(expectedExceptions = IOException.class)
+    public void testCloseWithOddNumberOfChars() throws IOException {
+
+        final HexDecoderChannel channel = new HexDecoderChannel(
+            Channels.newChannel(new ByteArrayOutputStream()));
+        channel.write(ByteBuffer.wrap(new byte[]{0x30, 0x31, 0x32}));
+        channel.close();
+    }
+
+
+    @Test
+    public void testCloseStalled() throws IOException {
+
+        final boolean[] closed = new boolean[1];
+        final WritableByteChannel stalled = new WritableByteChannel() {
+
+            @Override
+            public int write(final ByteBuffer src) {
+                return 0;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return !closed[0];
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+
+        };
+        final HexDecoderChannel channel = new HexDecoderChannel(stalled);
+        final ByteBuffer src
+            = ByteBuffer.wrap(new byte[]{0x30, 0x31, 0x32, 0x33});
+        Assert.assertEquals(channel.write(src), 4);
+        try {
+            channel.close();
+            Assert.fail("closed over a stalled channel");
+        } catch (final IOException expected) {
+        }
+
+        Assert.assertFalse(channel.isOpen());
+        Assert.assertTrue(closed[0]);
+    }
+
+
+}
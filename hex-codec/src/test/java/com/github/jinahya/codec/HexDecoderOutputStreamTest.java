@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexDecoderOutputStreamTest {
+
+
+    @Test(invocationCount = 128)
+    public void testWrite() throws IOException, DecoderException {
+
+        final byte[] encoded = Tests.encodedBytes();
+
+        final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        final HexDecoderOutputStream stream = new HexDecoderOutputStream(
+            decoded, HexDigester.of(new CRC32()));
+        int offset = 0;
+        while (offset < encoded.length) {
+            if (Tests.random().nextBoolean()) {
+                stream.write(encoded[offset++]);
+                continue;
+            }
+            final int length =
+                Tests.random().nextInt(encoded.length - offset + 1);
+            stream.write(encoded, offset, length);
+            offset += length;
+        }
+        stream.close();
+
+        final byte[] expected = new Hex().decode(encoded);
+        Assert.assertEquals(decoded.toByteArray(), expected);
+
+        final CRC32 crc32 = new CRC32();
+        crc32.update(expected, 0, expected.length);
+        Assert.assertEquals(stream.getDigester().digestHex(),
+                            String.format("%08X", crc32.getValue()));
+    }
+
+
+    @Test(expectedExceptions = IOException.class)
+    public void testWriteWithIllegalChars() throws IOException {
+
+        new HexDecoderOutputStream(new ByteArrayOutputStream())
+            .write(new byte[]{0x30, 0x47}); // '0', 'G'
+    }
+
+
+    @Test(expectedExceptions = IOException.class)
+    public void testCloseWithOddNumberOfChars() throws IOException {
+
+        final HexDecoderOutputStream stream =
+            new HexDecoderOutputStream(new ByteArrayOutputStream());
+        stream.write(0x30);
+        stream.close();
+    }
+
+
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.jinahya.codec;
+
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexDecoderTest {
+
+
+    /**
+     * logger.
+     */
+    private static final Logger LOGGER =
+        LoggerFactory.getLogger(HexDecoderTest.class);
+
+
+    @Test
+    public static void testDecodeSingle() {
+
+        final byte[] input = new byte[2];
+        for (int i = 0; i < 256; i++) {
+            final String hex = Integer.toHexString(i);
+            if (hex.length() == 1) {
+                input[0] = (byte) '0';
+                input[1] = (byte) hex.charAt(0);
+            } else {
+                input[0] = (byte) hex.charAt(0);
+                input[1] = (byte) hex.charAt(1);
+            }
+            final int decoded = HexDecoder.decodeSingle(input, 0);
+            Assert.assertEquals(decoded, i);
+        }
+    }
+
+
+    @Test(enabled = true, expectedExceptions = {NullPointerException.class})
+    public void testDecodeWithNullBytes() {
+
+        new HexDecoder().decode(null);
+    }
+
+
+    @Test(enabled = false, expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeWithOddLengthArray() {
+        new HexDecoder().decode(new byte[]{0x30}); // '0'
+    }
+
+
+    @Test(enabled = false, expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeWithIllegalSingle() {
+        new HexDecoder().decode(new byte[]{0x29, 0x30}); // '/', '0'
+    }
+
+
+    @Test(enabled = true)
+    public void testDecode() {
+        new HexDecoder().decode(new byte[0]);
+        new HexDecoder().decode(Tests.encodedBytes());
+    }
+
+
+    @Test(enabled = true, invocationCount = 128)
+    public void testDecodeAgainstCommonsCodecHex() throws DecoderException {
+
+        final byte[] encoded = Tests.encodedBytes();
+
+        final byte[] expected = new Hex().decode(encoded);
+
+        final byte[] actual = new HexDecoder().decode(encoded);
+
+        Assert.assertEquals(actual, expected);
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testDecodeConstantTimeAgainstCommonsCodecHex()
+        throws DecoderException {
+
+        final String encoded = Tests.encodedString();
+
+        final byte[] expected = Hex.decodeHex(encoded.toCharArray());
+
+        Assert.assertEquals(HexDecoder.decodeConstantTime(encoded), expected);
+
+        final byte[] actual = new byte[expected.length];
+        HexDecoder.decodeConstantTime(
+            encoded.getBytes(StandardCharsets.US_ASCII), 0, actual, 0,
+            actual.length);
+        Assert.assertEquals(actual, expected);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeConstantTimeWithIllegalChar() {
+
+        HexDecoder.decodeConstantTime("0g");
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeConstantTimeWithWideChar() {
+
+        HexDecoder.decodeConstantTime("0\u0130"); // 0x30 | 0x0100
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeConstantTimeWithOddLength() {
+
+        HexDecoder.decodeConstantTime("012");
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testEqualsHex() {
+
+        final byte[] raw = Tests.decodedBytes();
+        final String hex = new String(
+            Tests.uppercase(new Hex().encode(raw)), StandardCharsets.US_ASCII);
+
+        Assert.assertTrue(HexDecoder.equalsHex(raw, hex));
+        Assert.assertTrue(HexDecoder.equalsHex(raw, hex.toLowerCase()));
+        Assert.assertFalse(HexDecoder.equalsHex(raw, hex + "00"));
+
+        if (raw.length > 0) {
+            final int index = Tests.random().nextInt(raw.length);
+            raw[index] ^= 1 << Tests.random().nextInt(8);
+            Assert.assertFalse(HexDecoder.equalsHex(raw, hex));
+        }
+    }
+
+
+    @Test
+    public void testEqualsHexWithIllegalChars() {
+
+        Assert.assertFalse(HexDecoder.equalsHex(new byte[]{0x0A}, "0g"));
+        Assert.assertFalse(HexDecoder.equalsHex(new byte[]{0x0A}, "0:"));
+        Assert.assertFalse(
+            HexDecoder.equalsHex(new byte[]{0x0A}, "0\u0141")); // 'A' | 0x0100
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testDecodeCharsAgainstCommonsCodecHex()
+        throws DecoderException {
+
+        final String encoded = Tests.encodedString();
+
+        final byte[] expected = Hex.decodeHex(encoded.toCharArray());
+
+        final byte[] actual = new byte[expected.length];
+        HexDecoder.decodeMultiple(encoded, 0, actual, 0, actual.length);
+
+        Assert.assertEquals(actual, expected);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeCharsWithWideChar() {
+
+        HexDecoder.decodeMultiple("0\u0130", 0, new byte[1], 0, 1);
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testDecodeInPlace() throws DecoderException {
+
+        final byte[] encoded = Tests.encodedBytes();
+        final byte[] expected = new Hex().decode(encoded);
+
+        final byte[] buffer = new byte[encoded.length + 1];
+        System.arraycopy(encoded, 0, buffer, 1, encoded.length);
+        Assert.assertEquals(
+            HexDecoder.decodeInPlace(buffer, 1, encoded.length),
+            expected.length);
+
+        Assert.assertEquals(Arrays.copyOfRange(buffer, 1, 1 + expected.length),
+                            expected);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeInPlaceWithOddLength() {
+
+        HexDecoder.decodeInPlace(new byte[]{0x30, 0x30, 0x30}, 0, 3);
+    }
+
+
+
+    @Test(invocationCount = 128)
+    public void testDecodeSignedAndUnsigned() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final int length = random.nextInt(1, 512);
+        BigInteger value = new BigInteger(random.nextInt(length << 3), random);
+        if (random.nextBoolean()) {
+            value = value.negate();
+        }
+
+        final byte[] signed = HexEncoder.encodeSigned(value, length);
+        Assert.assertEquals(HexDecoder.decodeSigned(signed), value);
+        Assert.assertEquals(
+            HexDecoder.decodeSigned(
+                new String(signed, StandardCharsets.US_ASCII).toLowerCase()),
+            value);
+
+        final BigInteger magnitude = value.abs();
+        final byte[] unsigned = HexEncoder.encodeUnsigned(magnitude, length);
+        Assert.assertEquals(HexDecoder.decodeUnsigned(unsigned), magnitude);
+        Assert.assertEquals(
+            HexDecoder.decodeUnsigned(
+                new String(unsigned, StandardCharsets.US_ASCII)),
+            magnitude);
+    }
+
+
+    @Test
+    public void testDecodeSignedAndUnsignedEdges() {
+
+        Assert.assertEquals(HexDecoder.decodeSigned(new byte[0]),
+                            BigInteger.ZERO);
+        Assert.assertEquals(HexDecoder.decodeUnsigned(""), BigInteger.ZERO);
+        Assert.assertEquals(HexDecoder.decodeSigned("FF"),
+                            BigInteger.valueOf(-1L));
+        Assert.assertEquals(HexDecoder.decodeUnsigned("FF"),
+                            BigInteger.valueOf(255L));
+        Assert.assertEquals(HexDecoder.decodeSigned("00091A"),
+                            BigInteger.valueOf(0x091AL));
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeSignedWithOddLength() {
+
+        HexDecoder.decodeSigned("091");
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexDigesterTest {
+
+
+    @Test(invocationCount = 16)
+    public void testMessageDigest() throws NoSuchAlgorithmException {
+
+        final byte[] input = Tests.decodedBytes(1024);
+
+        final String expected = new String(
+            Tests.uppercase(new Hex().encode(
+                MessageDigest.getInstance("SHA-256").digest(input))),
+            StandardCharsets.US_ASCII);
+
+        final HexDigester digester =
+            HexDigester.of(MessageDigest.getInstance("SHA-256"));
+        Assert.assertEquals(digester.length(), 32);
+
+        digester.update(input, 0, input.length);
+        Assert.assertEquals(digester.digestHex(), expected);
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(input.length);
+        buffer.put(input).flip();
+        digester.update(buffer);
+        Assert.assertEquals(buffer.position(), 0);
+        final byte[] output = new byte[66];
+        Assert.assertEquals(digester.digestHex(output, 1), 64);
+        Assert.assertEquals(
+            new String(output, 1, 64, StandardCharsets.US_ASCII), expected);
+    }
+
+
+    @Test(invocationCount = 16)
+    public void testChecksum() {
+
+        final byte[] input = Tests.decodedBytes(1024);
+
+        final CRC32 crc32 = new CRC32();
+        crc32.update(input, 0, input.length);
+        final String expected = String.format("%08X", crc32.getValue());
+
+        final HexDigester digester = HexDigester.of(new CRC32());
+        Assert.assertEquals(digester.length(), 4);
+
+        digester.update(ByteBuffer.wrap(input));
+        Assert.assertEquals(digester.digestHex(), expected);
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(input.length);
+        buffer.put(input).flip();
+        digester.update(buffer);
+        Assert.assertEquals(buffer.position(), 0);
+        Assert.assertEquals(digester.digestHex(), expected);
+    }
+
+
+    @Test
+    public void testDigestHexWithShortOutput() {
+
+        final byte[] input = Tests.decodedBytes(1024);
+
+        final CRC32 crc32 = new CRC32();
+        crc32.update(input, 0, input.length);
+        final String expected = String.format("%08X", crc32.getValue());
+
+        final HexDigester digester = HexDigester.of(new CRC32());
+        digester.update(ByteBuffer.wrap(input));
+        try {
+            digester.digestHex(new byte[8], 1);
+            Assert.fail("no exception for a short output");
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        try {
+            digester.digestHex(null, 0);
+            Assert.fail("no exception for a null output");
+        } catch (final NullPointerException npe) {
+            // expected
+        }
+
+        // not consumed
+        Assert.assertEquals(digester.digestHex(), expected);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testChecksumWithIllegalLength() {
+
+        HexDigester.of(new CRC32(), 9);
+    }
+
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexEncoderOutputStreamTest {
+
+
+    @Test(invocationCount = 16)
+    public void testWrite() throws IOException, NoSuchAlgorithmException {
+
+        final byte[] decoded = Tests.decodedBytes(16384);
+
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        final HexEncoderOutputStream stream = new HexEncoderOutputStream(
+            encoded, HexDigester.of(MessageDigest.getInstance("SHA-1")));
+        int offset = 0;
+        while (offset < decoded.length) {
+            if (Tests.random().nextBoolean()) {
+                stream.write(decoded[offset++]);
+                continue;
+            }
+            final int length =
+                Tests.random().nextInt(decoded.length - offset + 1);
+            stream.write(decoded, offset, length);
+            offset += length;
+        }
+        stream.close();
+
+        Assert.assertEquals(encoded.toByteArray(),
+                            Tests.uppercase(new Hex().encode(decoded)));
+        Assert.assertEquals(
+            stream.getDigester().digestHex(),
+            new String(Tests.uppercase(new Hex().encode(
+                MessageDigest.getInstance("SHA-1").digest(decoded))),
+                       "US-ASCII"));
+    }
+
+
+}
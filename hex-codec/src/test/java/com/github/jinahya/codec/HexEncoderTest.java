@@ -0,0 +1,296 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.commons.codec.EncoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexEncoderTest {
+
+
+    /**
+     * logger.
+     */
+    private static final Logger LOGGER =
+        LoggerFactory.getLogger(HexEncoderTest.class);
+
+
+    @Test(enabled = true)
+    public static void testEncodeSingle() {
+
+        final byte[] output = new byte[2];
+        for (int i = 0; i < 256; i++) {
+            HexEncoder.encodeSingle(i, output, 0);
+            final String hex =
+                (i < 0x10 ? "0" : "") + Integer.toHexString(i).toUpperCase();
+            Assert.assertEquals(new String(output, StandardCharsets.US_ASCII),
+                                hex);
+        }
+    }
+
+
+    @Test(expectedExceptions = {NullPointerException.class})
+    public void testEncodeWithNullBytes() {
+
+        new HexEncoder().encode(null);
+    }
+
+
+    @Test(invocationCount = 1)
+    public void testEncode() {
+        new HexEncoder().encode(new byte[0]);
+        new HexEncoder().encode(Tests.decodedBytes());
+    }
+
+
+    @Test(enabled = true, invocationCount = 1)
+    public void testEncodeAgainstCommonsCodecHex() throws EncoderException {
+
+        final byte[] decoded = Tests.decodedBytes();
+
+        final byte[] expected = Tests.uppercase(new Hex().encode(decoded));
+        LOGGER.debug("expected: {}", expected);
+
+        final byte[] actual = new HexEncoder().encode(decoded);
+        LOGGER.debug("actual: {}", actual);
+
+        Assert.assertEquals(actual, expected);
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testEncodeToCharsAgainstCommonsCodecHex() {
+
+        final byte[] decoded = Tests.decodedBytes();
+
+        final char[] expected = new String(
+            Tests.uppercase(new Hex().encode(decoded)),
+            StandardCharsets.US_ASCII).toCharArray();
+
+        final char[] actual = new char[expected.length + 1];
+        HexEncoder.encodeToChars(decoded, 0, actual, 1, decoded.length);
+
+        Assert.assertEquals(Arrays.copyOfRange(actual, 1, actual.length),
+                            expected);
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testEncodeToCharsWhole() {
+
+        final byte[] decoded = Tests.decodedBytes();
+        final String expected = new String(HexEncoder.encodeMultiple(decoded),
+                                           StandardCharsets.US_ASCII);
+
+        final char[] actual = new char[expected.length() + 1];
+        Assert.assertEquals(HexEncoder.encodeToChars(decoded, actual, 1),
+                            expected.length());
+        Assert.assertEquals(new String(actual, 1, expected.length()),
+                            expected);
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testEncodeTo() throws IOException {
+
+        final byte[] decoded = Tests.decodedBytes(4096);
+        final int inoff = decoded.length == 0
+                          ? 0 : ThreadLocalRandom.current().nextInt(
+                              decoded.length);
+        final int count = decoded.length - inoff;
+        final String expected = new String(
+            HexEncoder.encodeMultiple(
+                Arrays.copyOfRange(decoded, inoff, decoded.length)),
+            StandardCharsets.US_ASCII);
+
+        final StringBuilder builder = new StringBuilder("{");
+        HexEncoder.encodeTo(decoded, inoff, count, builder);
+        Assert.assertEquals(builder.toString(), "{" + expected);
+
+        final StringWriter writer = new StringWriter();
+        HexEncoder.encodeTo(decoded, inoff, count, writer);
+        Assert.assertEquals(writer.toString(), expected);
+
+        final StringBuffer buffer = new StringBuffer();
+        HexEncoder.encodeTo(decoded, inoff, count, buffer);
+        Assert.assertEquals(buffer.toString(), expected);
+    }
+
+
+    @Test
+    public void testEncodeToReentrant() throws IOException {
+
+        final byte[] inner = {(byte) 0xAB};
+        final StringBuilder builder = new StringBuilder();
+        HexEncoder.encodeTo(new byte[]{0x01, 0x02}, 0, 2, new Appendable() {
+            @Override
+            public Appendable append(final CharSequence csq)
+                throws IOException {
+                return append(csq, 0, csq.length());
+            }
+            @Override
+            public Appendable append(final CharSequence csq, final int start,
+                                     final int end)
+                throws IOException {
+                HexEncoder.encodeTo(inner, 0, 1, builder);
+                builder.append(csq, start, end);
+                return this;
+            }
+            @Override
+            public Appendable append(final char c) throws IOException {
+                builder.append(c);
+                return this;
+            }
+        });
+
+        Assert.assertEquals(builder.toString(), "AB0102");
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testEncodeInPlace() {
+
+        final byte[] decoded = Tests.decodedBytes();
+        final byte[] expected = Tests.uppercase(new Hex().encode(decoded));
+
+        final byte[] buffer = new byte[1 + (decoded.length << 1)];
+        System.arraycopy(decoded, 0, buffer, 1, decoded.length);
+        HexEncoder.encodeInPlace(buffer, 1, decoded.length);
+
+        Assert.assertEquals(Arrays.copyOfRange(buffer, 1, buffer.length),
+                            expected);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testEncodeInPlaceWithSmallBuffer() {
+
+        HexEncoder.encodeInPlace(new byte[3], 0, 2);
+    }
+
+
+
+    @Test(invocationCount = 128)
+    public void testEncodeSigned() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final int length = random.nextInt(1, 512);
+        BigInteger value = new BigInteger(random.nextInt(length << 3), random);
+        if (random.nextBoolean()) {
+            value = value.negate();
+        }
+        final BigInteger modulus = BigInteger.ONE.shiftLeft(length << 3);
+
+        final String expected = String.format(
+            "%0" + (length << 1) + "X",
+            value.signum() < 0 ? value.add(modulus) : value);
+        Assert.assertEquals(
+            new String(HexEncoder.encodeSigned(value, length),
+                       StandardCharsets.US_ASCII),
+            expected);
+    }
+
+
+    @Test
+    public void testEncodeSignedBounds() {
+
+        Assert.assertEquals(HexEncoder.encodeSigned(BigInteger.ZERO, 0),
+                            new byte[0]);
+        Assert.assertEquals(
+            HexEncoder.encodeSigned(BigInteger.valueOf(127L), 1),
+            new byte[]{'7', 'F'});
+        Assert.assertEquals(
+            HexEncoder.encodeSigned(BigInteger.valueOf(-128L), 1),
+            new byte[]{'8', '0'});
+        Assert.assertEquals(
+            HexEncoder.encodeSigned(BigInteger.valueOf(-1L), 2),
+            new byte[]{'F', 'F', 'F', 'F'});
+        try {
+            HexEncoder.encodeSigned(BigInteger.valueOf(128L), 1);
+            Assert.fail("128 encoded into a signed octet");
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        try {
+            HexEncoder.encodeSigned(BigInteger.valueOf(-129L), 1);
+            Assert.fail("-129 encoded into a signed octet");
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testEncodeUnsigned() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final int length = random.nextInt(1, 512);
+        final BigInteger value =
+            new BigInteger(random.nextInt((length << 3) + 1), random);
+
+        Assert.assertEquals(
+            new String(HexEncoder.encodeUnsigned(value, length),
+                       StandardCharsets.US_ASCII),
+            String.format("%0" + (length << 1) + "X", value));
+    }
+
+
+    @Test
+    public void testEncodeUnsignedBounds() {
+
+        Assert.assertEquals(HexEncoder.encodeUnsigned(BigInteger.ZERO, 0),
+                            new byte[0]);
+        Assert.assertEquals(
+            HexEncoder.encodeUnsigned(BigInteger.valueOf(255L), 1),
+            new byte[]{'F', 'F'});
+        Assert.assertEquals(
+            HexEncoder.encodeUnsigned(BigInteger.valueOf(26L), 3),
+            new byte[]{'0', '0', '0', '0', '1', 'A'});
+        try {
+            HexEncoder.encodeUnsigned(BigInteger.valueOf(256L), 1);
+            Assert.fail("256 encoded into an octet");
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        try {
+            HexEncoder.encodeUnsigned(BigInteger.valueOf(-1L), 1);
+            Assert.fail("negative value encoded as unsigned");
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.util.List;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexEngineTest {
+
+
+    @DataProvider
+    public static Object[][] engines() {
+
+        final List<HexEngine> engines = HexEngines.engines();
+
+        final Object[][] data = new Object[engines.size()][];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new Object[]{engines.get(i)};
+        }
+
+        return data;
+    }
+
+
+    @Test
+    public void testBuiltInEnginesAreLoaded() {
+
+        Assert.assertNotNull(HexEngines.engine(SwitchHexEngine.NAME));
+        Assert.assertNotNull(HexEngines.engine(TableHexEngine.NAME));
+        Assert.assertNotNull(HexEngines.engine(SwarHexEngine.NAME));
+        Assert.assertNull(HexEngines.engine("none"));
+    }
+
+
+    @Test(dataProvider = "engines", invocationCount = 16)
+    public void testEncodeAgainstCommonsCodecHex(final HexEngine engine) {
+
+        final byte[] decoded = Tests.decodedBytes(1024);
+
+        final byte[] expected = Tests.uppercase(new Hex().encode(decoded));
+
+        final byte[] actual = new byte[decoded.length << 1];
+        engine.encode(decoded, 0, actual, 0, decoded.length);
+
+        Assert.assertEquals(actual, expected);
+    }
+
+
+    @Test(dataProvider = "engines", invocationCount = 16)
+    public void testDecodeAgainstCommonsCodecHex(final HexEngine engine)
+        throws DecoderException {
+
+        final byte[] encoded = Tests.encodedBytes();
+
+        final byte[] expected = new Hex().decode(encoded);
+
+        final byte[] actual = new byte[encoded.length >> 1];
+        engine.decode(encoded, 0, actual, 0, actual.length);
+
+        Assert.assertEquals(actual, expected);
+    }
+
+
+    @Test(dataProvider = "engines")
+    public void testEncodeWithOffsets(final HexEngine engine) {
+
+        final byte[] input = new byte[]{0x00, 0x12, 0x34, 0x56, 0x78, 0x00};
+        final byte[] output = new byte[12];
+
+        engine.encode(input, 1, output, 2, 4);
+
+        Assert.assertEquals(output, new byte[]{
+            0x00, 0x00, '1', '2', '3', '4', '5', '6', '7', '8', 0x00, 0x00});
+    }
+
+
+    @Test(dataProvider = "engines")
+    public void testDecodeWithIllegalChars(final HexEngine engine) {
+
+        for (final int illegal : new int[]{
+            0x00, 0x2F, 0x3A, 0x40, 0x47, 0x60, 0x67, 0x7F, 0x80, 0xB0,
+            0xC1, 0xE1, 0xFF}) {
+            for (int position = 0; position < 16; position++) {
+                final byte[] input = new byte[16];
+                for (int i = 0; i < input.length; i++) {
+                    input[i] = 0x61; // 'a'
+                }
+                input[position] = (byte) illegal;
+                try {
+                    engine.decode(input, 0, new byte[8], 0, 8);
+                    Assert.fail("decoded: " + illegal + " at " + position);
+                } catch (final IllegalArgumentException iae) {
+                    // expected
+                }
+            }
+        }
+    }
+
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import com.github.jinahya.codec.HexCalibration.SizeClass;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexEnginesTest {
+
+
+    @Test
+    public void testSizeClassOf() {
+
+        Assert.assertEquals(SizeClass.of(0), SizeClass.SMALL);
+        Assert.assertEquals(SizeClass.of(64), SizeClass.SMALL);
+        Assert.assertEquals(SizeClass.of(65), SizeClass.MEDIUM);
+        Assert.assertEquals(SizeClass.of(4096), SizeClass.MEDIUM);
+        Assert.assertEquals(SizeClass.of(4097), SizeClass.LARGE);
+    }
+
+
+    @Test
+    public void testMeasure() {
+
+        final HexCalibration calibration = HexEngines.measure(30L);
+
+        Assert.assertTrue(calibration.isMeasured());
+        Assert.assertTrue(calibration.isCurrent());
+        for (final HexEngine engine : HexEngines.engines()) {
+            Assert.assertTrue(
+                calibration.getEngines().contains(engine.name()));
+        }
+        for (final SizeClass sizeClass : SizeClass.values()) {
+            final String encoder = calibration.getEncoder(sizeClass);
+            Assert.assertNotNull(HexEngines.engine(encoder));
+            Assert.assertFalse(Double.isNaN(
+                calibration.getEncodeNanos(encoder, sizeClass)));
+            final String decoder = calibration.getDecoder(sizeClass);
+            Assert.assertNotNull(HexEngines.engine(decoder));
+            Assert.assertFalse(Double.isNaN(
+                calibration.getDecodeNanos(decoder, sizeClass)));
+        }
+    }
+
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+
+        final HexCalibration expected = HexEngines.measure(30L);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        expected.store(output);
+
+        final HexCalibration actual = HexCalibration.load(
+            new ByteArrayInputStream(output.toByteArray()));
+
+        Assert.assertEquals(actual.getEnvironment(),
+                            expected.getEnvironment());
+        Assert.assertEquals(actual.getEngines(), expected.getEngines());
+        for (final SizeClass sizeClass : SizeClass.values()) {
+            Assert.assertEquals(actual.getEncoder(sizeClass),
+                                expected.getEncoder(sizeClass));
+            Assert.assertEquals(actual.getDecoder(sizeClass),
+                                expected.getDecoder(sizeClass));
+            for (final String engine : expected.getEngines()) {
+                Assert.assertEquals(
+                    actual.getEncodeNanos(engine, sizeClass),
+                    expected.getEncodeNanos(engine, sizeClass));
+                Assert.assertEquals(
+                    actual.getDecodeNanos(engine, sizeClass),
+                    expected.getDecodeNanos(engine, sizeClass));
+            }
+        }
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLoadWithEmptyStream() throws IOException {
+
+        HexCalibration.load(new ByteArrayInputStream(new byte[0]));
+    }
+
+
+    @Test
+    public void testSpecialized() {
+
+        final HexCalibration previous = HexEngines.calibration();
+        try {
+            HexEngines.install(HexCalibration.fixed(TableHexEngine.NAME));
+            Assert.assertTrue(HexEngines.specialized());
+            HexEngines.install(
+                HexCalibration.fixed(ConstantTimeHexEngine.NAME));
+            Assert.assertFalse(HexEngines.specialized());
+            HexEngines.install(HexEngines.measure(30L));
+            Assert.assertTrue(HexEngines.specialized());
+        } finally {
+            HexEngines.install(previous);
+        }
+    }
+
+
+    @Test
+    public void testInstall() {
+
+        final HexCalibration previous = HexEngines.calibration();
+        try {
+            HexEngines.install(HexCalibration.fixed(SwarHexEngine.NAME));
+            Assert.assertEquals(HexEngines.encoder(1).name(),
+                                SwarHexEngine.NAME);
+            HexEngines.install(HexCalibration.fixed("none"));
+            Assert.assertEquals(HexEngines.decoder(1).name(),
+                                TableHexEngine.NAME);
+        } finally {
+            HexEngines.install(previous);
+        }
+    }
+
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexFileTranscoderTest {
+
+
+    @Test(invocationCount = 16)
+    public void testEncodeDecode()
+        throws IOException, InterruptedException, ExecutionException {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final byte[] decoded = new byte[random.nextInt(65536)];
+        random.nextBytes(decoded);
+
+        final Path source = Files.createTempFile("hex", ".bin");
+        final Path encoded = Files.createTempFile("hex", ".txt");
+        final Path target = Files.createTempFile("hex", ".bin");
+        try {
+            Files.write(source, decoded);
+
+            final HexFileTranscoder.Result encoding = HexFileTranscoder
+                .encoder(random.nextInt(1, 8192), random.nextInt(1, 8))
+                .transcode(source, encoded).get();
+            Assert.assertEquals(encoding.getRead(), decoded.length);
+            Assert.assertEquals(encoding.getWritten(), decoded.length * 2L);
+            Assert.assertEquals(Files.readAllBytes(encoded),
+                                HexEncoder.encodeMultiple(decoded));
+
+            final HexFileTranscoder.Result decoding = HexFileTranscoder
+                .decoder(random.nextInt(1, 4096) << 1, random.nextInt(1, 8))
+                .transcode(encoded, target).get();
+            Assert.assertEquals(decoding.getRead(), decoded.length * 2L);
+            Assert.assertEquals(decoding.getWritten(), decoded.length);
+            Assert.assertEquals(Files.readAllBytes(target), decoded);
+        } finally {
+            Files.delete(source);
+            Files.delete(encoded);
+            Files.delete(target);
+        }
+    }
+
+
+    @Test
+    public void testDecodeOddSize() throws IOException, InterruptedException {
+
+        final Path source = Files.createTempFile("hex", ".txt");
+        final Path target = Files.createTempFile("hex", ".bin");
+        try {
+            Files.write(source, new byte[]{'0', 'A', 'B'});
+            try {
+                HexFileTranscoder.decoder().transcode(source, target).get();
+                Assert.fail("odd size decoded");
+            } catch (final ExecutionException ee) {
+                Assert.assertTrue(
+                    ee.getCause() instanceof IllegalArgumentException);
+            }
+        } finally {
+            Files.delete(source);
+            Files.delete(target);
+        }
+    }
+
+
+    @Test
+    public void testDecodeIllegal() throws IOException, InterruptedException {
+
+        final Path source = Files.createTempFile("hex", ".txt");
+        final Path target = Files.createTempFile("hex", ".bin");
+        try {
+            Files.write(source, new byte[]{'0', 'A', 'B', 'G'});
+            try {
+                HexFileTranscoder.decoder(2, 2).transcode(source, target).get();
+                Assert.fail("illegal units decoded");
+            } catch (final ExecutionException ee) {
+                Assert.assertTrue(
+                    ee.getCause() instanceof IllegalArgumentException);
+            }
+        } finally {
+            Files.delete(source);
+            Files.delete(target);
+        }
+    }
+
+
+    @Test
+    public void testEmpty()
+        throws IOException, InterruptedException, ExecutionException {
+
+        final Path source = Files.createTempFile("hex", ".bin");
+        final Path target = Files.createTempFile("hex", ".txt");
+        try {
+            final HexFileTranscoder.Result result =
+                HexFileTranscoder.encoder().transcode(source, target).get();
+            Assert.assertEquals(result.getRead(), 0L);
+            Assert.assertEquals(result.getWritten(), 0L);
+            Assert.assertEquals(Files.size(target), 0L);
+        } finally {
+            Files.delete(source);
+            Files.delete(target);
+        }
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecoderOddBlockSize() {
+
+        HexFileTranscoder.decoder(3, 1);
+    }
+
+
+}
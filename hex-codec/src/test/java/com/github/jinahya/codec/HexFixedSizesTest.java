@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexFixedSizesTest {
+
+
+    @DataProvider
+    private static Object[][] sizes() {
+
+        return new Object[][]{{16}, {20}, {32}, {64}};
+    }
+
+
+    @Test
+    public void testFixed() {
+
+        for (int count = 0; count <= 128; count++) {
+            Assert.assertEquals(HexFixedSizes.fixed(count),
+                                count == 16 || count == 20 || count == 32
+                                || count == 64);
+        }
+    }
+
+
+    @Test(dataProvider = "sizes", invocationCount = 64)
+    public void testEncode(final int count) {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final int inoff = random.nextInt(8);
+        final byte[] input = new byte[inoff + count + random.nextInt(8)];
+        random.nextBytes(input);
+        final int outoff = random.nextInt(8);
+        final byte[] output = new byte[outoff + (count << 1)];
+
+        Assert.assertTrue(
+            HexFixedSizes.encode(input, inoff, output, outoff, count));
+
+        final byte[] expected = new byte[count << 1];
+        TableHexEngine.encodeTable(input, inoff, expected, 0, count);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(output[outoff + i], expected[i]);
+        }
+    }
+
+
+    @Test(dataProvider = "sizes", invocationCount = 64)
+    public void testDecode(final int count) throws DecoderException {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final byte[] decoded = new byte[count];
+        random.nextBytes(decoded);
+        final byte[] chars = (random.nextBoolean()
+                              ? Hex.encodeHexString(decoded)
+                              : Hex.encodeHexString(decoded).toUpperCase())
+            .getBytes(StandardCharsets.US_ASCII);
+
+        final int inoff = random.nextInt(8);
+        final byte[] input = new byte[inoff + chars.length];
+        System.arraycopy(chars, 0, input, inoff, chars.length);
+        final int outoff = random.nextInt(8);
+        final byte[] output = new byte[outoff + count];
+
+        Assert.assertTrue(
+            HexFixedSizes.decode(input, inoff, output, outoff, count));
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(output[outoff + i], decoded[i]);
+        }
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testDecodeIllegal(final int count) {
+
+        final byte[] decoded = new byte[count];
+        ThreadLocalRandom.current().nextBytes(decoded);
+        final byte[] valid = HexEncoder.encodeMultiple(decoded);
+
+        final byte[] illegals = {'/', ':', '@', 'G', '`', 'g', 0x00, -1};
+        for (int i = 0; i < valid.length; i++) {
+            for (final byte illegal : illegals) {
+                final byte[] input = valid.clone();
+                input[i] = illegal;
+                try {
+                    HexFixedSizes.decode(input, 0, new byte[count], 0, count);
+                    Assert.fail("illegal char decoded: " + illegal);
+                } catch (final IllegalArgumentException iae) {
+                    // expected
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testOtherSizes() {
+
+        final byte[] input = new byte[128];
+        final byte[] output = new byte[256];
+        for (int count = 0; count <= 128; count++) {
+            if (!HexFixedSizes.fixed(count)) {
+                Assert.assertFalse(
+                    HexFixedSizes.encode(input, 0, output, 0, count));
+                Assert.assertFalse(
+                    HexFixedSizes.decode(output, 0, input, 0, count));
+            }
+        }
+    }
+
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexKeyTest {
+
+
+    private static byte[] octets() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final byte[] octets = new byte[random.nextInt(HexKey.PACKED << 1)];
+        random.nextBytes(octets);
+
+        return octets;
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testValueOf() {
+
+        final byte[] octets = octets();
+        final String lower = Hex.encodeHexString(octets);
+        final String upper = lower.toUpperCase();
+
+        final HexKey key = HexKey.valueOf(lower);
+        Assert.assertEquals(key.octets(), octets.length);
+        Assert.assertEquals(key.toByteArray(), octets);
+        Assert.assertEquals(key.toString(), upper);
+        Assert.assertEquals(key.length(), upper.length());
+        for (int i = 0; i < upper.length(); i++) {
+            Assert.assertEquals(key.charAt(i), upper.charAt(i));
+        }
+
+        final HexKey other = HexKey.valueOf(upper);
+        Assert.assertEquals(other, key);
+        Assert.assertEquals(other.hashCode(), key.hashCode());
+        Assert.assertEquals(HexKey.of(octets), key);
+    }
+
+
+    @Test
+    public void testOfCopies() {
+
+        final byte[] octets = new byte[HexKey.PACKED + 1];
+        final HexKey key = HexKey.of(octets);
+        octets[0] = 1;
+        Assert.assertEquals(key.toByteArray()[0], 0);
+    }
+
+
+    @Test(invocationCount = 1024)
+    public void testCompareTo() {
+
+        final byte[] octets1 = octets();
+        final byte[] octets2 = ThreadLocalRandom.current().nextBoolean()
+                               ? octets()
+                               : Arrays.copyOf(octets1, octets().length);
+        final HexKey key1 = HexKey.of(octets1);
+        final HexKey key2 = HexKey.of(octets2);
+
+        Assert.assertEquals(
+            Integer.signum(key1.compareTo(key2)),
+            Integer.signum(Hex.encodeHexString(octets1).compareToIgnoreCase(
+                Hex.encodeHexString(octets2))));
+        Assert.assertEquals(key1.equals(key2), Arrays.equals(octets1, octets2));
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testValueOfWithOddLength() {
+
+        HexKey.valueOf("ABC");
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testValueOfWithIllegalChar() {
+
+        HexKey.valueOf("0G");
+    }
+
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testCharAtOutOfBounds() {
+
+        HexKey.valueOf("0A").charAt(2);
+    }
+
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexNumericComparatorTest {
+
+
+    private static String hex(final BigInteger value) {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final StringBuilder builder = new StringBuilder();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            builder.append('0');
+        }
+        if (value.signum() != 0 || random.nextBoolean()) {
+            builder.append(value.toString(16));
+        }
+
+        return random.nextBoolean() ? builder.toString()
+               : builder.toString().toUpperCase();
+    }
+
+
+    @Test(invocationCount = 1024)
+    public void testCompare() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final BigInteger value1 = new BigInteger(random.nextInt(80), random);
+        final BigInteger value2 = random.nextBoolean()
+                                  ? value1
+                                  : new BigInteger(random.nextInt(80), random);
+
+        Assert.assertEquals(
+            Integer.signum(HexNumericComparator.getInstance().compare(
+                hex(value1), hex(value2))),
+            value1.compareTo(value2));
+    }
+
+
+    @Test
+    public void testCompareEmpty() {
+
+        final HexNumericComparator comparator =
+            HexNumericComparator.getInstance();
+
+        Assert.assertEquals(comparator.compare("", "000"), 0);
+        Assert.assertTrue(comparator.compare("", "1") < 0);
+        Assert.assertTrue(comparator.compare("00F", "e") > 0);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCompareIllegal() {
+
+        HexNumericComparator.getInstance().compare("1", "0x1");
+    }
+
+
+}
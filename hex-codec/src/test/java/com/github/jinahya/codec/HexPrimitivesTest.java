@@ -0,0 +1,172 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexPrimitivesTest {
+
+
+    @DataProvider
+    private static Object[][] orders() {
+
+        return new Object[][]{
+            {ByteOrder.BIG_ENDIAN}, {ByteOrder.LITTLE_ENDIAN}};
+    }
+
+
+    private static byte[] expected(final ByteBuffer buffer) {
+
+        return HexEncoder.encodeMultiple(buffer.array());
+    }
+
+
+    @Test(dataProvider = "orders", invocationCount = 16)
+    public void testLongs(final ByteOrder order) {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long[] values = random.longs(random.nextInt(128)).toArray();
+        final ByteBuffer buffer
+            = ByteBuffer.allocate(values.length * Long.BYTES).order(order);
+        buffer.asLongBuffer().put(values);
+
+        final byte[] encoded = HexEncoder.encodeMultiple(values, order);
+        Assert.assertEquals(encoded, expected(buffer));
+
+        Assert.assertEquals(HexDecoder.decodeLongs(encoded, order), values);
+        final byte[] lower = new String(encoded, StandardCharsets.US_ASCII)
+            .toLowerCase(Locale.ENGLISH).getBytes(StandardCharsets.US_ASCII);
+        Assert.assertEquals(HexDecoder.decodeLongs(lower, order), values);
+    }
+
+
+    @Test(dataProvider = "orders", invocationCount = 16)
+    public void testInts(final ByteOrder order) {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int[] values = random.ints(random.nextInt(128)).toArray();
+        final ByteBuffer buffer
+            = ByteBuffer.allocate(values.length * Integer.BYTES).order(order);
+        buffer.asIntBuffer().put(values);
+
+        final byte[] encoded = HexEncoder.encodeMultiple(values, order);
+        Assert.assertEquals(encoded, expected(buffer));
+
+        Assert.assertEquals(HexDecoder.decodeInts(encoded, order), values);
+    }
+
+
+    @Test(dataProvider = "orders", invocationCount = 16)
+    public void testShorts(final ByteOrder order) {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final short[] values = new short[random.nextInt(128)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (short) random.nextInt();
+        }
+        final ByteBuffer buffer
+            = ByteBuffer.allocate(values.length * Short.BYTES).order(order);
+        buffer.asShortBuffer().put(values);
+
+        final byte[] encoded = HexEncoder.encodeMultiple(values, order);
+        Assert.assertEquals(encoded, expected(buffer));
+
+        Assert.assertEquals(HexDecoder.decodeShorts(encoded, order), values);
+    }
+
+
+    @Test
+    public void testOffsets() {
+
+        final int[] values = {0x01234567, 0x89ABCDEF, 0xDEADBEEF};
+        final byte[] output = new byte[2 + 16 + 2];
+        Arrays.fill(output, (byte) '-');
+        HexEncoder.encodeMultiple(values, 1, output, 2, 2,
+                                  ByteOrder.BIG_ENDIAN);
+        Assert.assertEquals(new String(output, StandardCharsets.US_ASCII),
+                            "--89ABCDEFDEADBEEF--");
+
+        final int[] decoded = new int[4];
+        HexDecoder.decodeMultiple(output, 2, decoded, 1, 2,
+                                  ByteOrder.LITTLE_ENDIAN);
+        Assert.assertEquals(decoded, new int[]{0, 0xEFCDAB89, 0xEFBEADDE, 0});
+    }
+
+
+    @Test(dataProvider = "orders")
+    public void testIllegal(final ByteOrder order) {
+
+        for (int i = 0; i < 16; i++) {
+            final byte[] input = HexEncoder.encodeMultiple(new long[2], order);
+            input[16 + i] = 'g';
+            try {
+                HexDecoder.decodeLongs(input, order);
+                Assert.fail("no exception for an illegal char at " + i);
+            } catch (final IllegalArgumentException iae) {
+                // expected
+            }
+        }
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeShortsWithOddLength() {
+
+        HexDecoder.decodeShorts(new byte[6], ByteOrder.BIG_ENDIAN);
+    }
+
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void testEncodeWithNullOrder() {
+
+        HexEncoder.encodeMultiple(new int[1], null);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testEncodeWithShortOutput() {
+
+        HexEncoder.encodeMultiple(new long[2], 0, new byte[31], 0, 2,
+                                  ByteOrder.BIG_ENDIAN);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeWithShortOutput() {
+
+        HexDecoder.decodeMultiple(new byte[16], 0, new short[3], 0, 4,
+                                  ByteOrder.BIG_ENDIAN);
+    }
+}
+
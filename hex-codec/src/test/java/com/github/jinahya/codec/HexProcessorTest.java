@@ -0,0 +1,367 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexProcessorTest {
+
+
+    /**
+     * Publishes random slices of an array, one per requested item.
+     */
+    private static class SlicePublisher implements Flow.Publisher<ByteBuffer> {
+
+
+        SlicePublisher(final byte[] array) {
+
+            super();
+
+            this.array = array;
+        }
+
+
+        @Override
+        public void subscribe(
+            final Flow.Subscriber<? super ByteBuffer> subscriber) {
+
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    for (long i = 0; i < n && !cancelled; i++) {
+                        if (offset == array.length) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                        final int length = ThreadLocalRandom.current()
+                            .nextInt(1, array.length - offset + 1);
+                        subscriber.onNext(
+                            ByteBuffer.wrap(array, offset, length));
+                        offset += length;
+                    }
+                }
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+                private int offset;
+                private boolean cancelled;
+            });
+        }
+
+
+        private final byte[] array;
+
+
+    }
+
+
+    /**
+     * Collects chunks, requesting a few at a time.
+     */
+    private static class Collector implements Flow.Subscriber<ByteBuffer> {
+
+
+        Collector(final HexProcessor processor, final int batch) {
+
+            super();
+
+            this.processor = processor;
+            this.batch = batch;
+        }
+
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+
+            this.subscription = subscription;
+            requested = batch;
+            subscription.request(batch);
+        }
+
+
+        @Override
+        public void onNext(final ByteBuffer item) {
+
+            if (++received > requested) {
+                result.completeExceptionally(
+                    new AssertionError("received more than requested"));
+                return;
+            }
+            while (item.hasRemaining()) {
+                output.write(item.get());
+            }
+            processor.release(item);
+            if (received == requested) {
+                requested += batch;
+                subscription.request(batch);
+            }
+        }
+
+
+        @Override
+        public void onError(final Throwable throwable) {
+
+            result.completeExceptionally(throwable);
+        }
+
+
+        @Override
+        public void onComplete() {
+
+            result.complete(output.toByteArray());
+        }
+
+
+        private final HexProcessor processor;
+
+
+        private final int batch;
+
+
+        private final ByteArrayOutputStream output =
+            new ByteArrayOutputStream();
+
+
+        final CompletableFuture<byte[]> result = new CompletableFuture<>();
+
+
+        private Flow.Subscription subscription;
+
+
+        private long requested;
+
+
+        private long received;
+
+
+    }
+
+
+    private static HexBufferPool pool() {
+
+        return new HexBufferPool(1, 1, true);
+    }
+
+
+    private static byte[] transcode(final HexProcessor processor,
+                                    final Flow.Publisher<ByteBuffer> publisher)
+        throws InterruptedException, ExecutionException, TimeoutException {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final Collector collector
+            = new Collector(processor, random.nextInt(1, 4));
+        processor.subscribe(collector);
+        publisher.subscribe(processor);
+
+        return collector.result.get(1L, TimeUnit.MINUTES);
+    }
+
+
+    @Test(invocationCount = 64)
+    public void testEncodeDecode()
+        throws InterruptedException, ExecutionException, TimeoutException {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final byte[] decoded = Tests.decodedBytes(65536);
+
+        final byte[] encoded = transcode(
+            new HexEncoderProcessor(random.nextInt(1, 1024) << 1,
+                                    random.nextBoolean(), pool()),
+            new SlicePublisher(decoded));
+        Assert.assertEquals(encoded, HexEncoder.encodeMultiple(decoded));
+
+        final byte[] actual = transcode(
+            new HexDecoderProcessor(random.nextInt(2, 1024),
+                                    random.nextBoolean(), pool()),
+            new SlicePublisher(encoded));
+        Assert.assertEquals(actual, decoded);
+    }
+
+
+    @Test(invocationCount = 16)
+    public void testSubmissionPublisher()
+        throws InterruptedException, ExecutionException, TimeoutException {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final byte[] encoded = Tests.encodedBytes();
+
+        final HexDecoderProcessor processor = new HexDecoderProcessor(
+            2, false, pool());
+        final Collector collector = new Collector(processor, 1);
+        processor.subscribe(collector);
+        try (SubmissionPublisher<ByteBuffer> publisher
+            = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int offset = 0; offset < encoded.length; ) {
+                final int length = Math.min(random.nextInt(1, 16),
+                                            encoded.length - offset);
+                publisher.submit(ByteBuffer.wrap(
+                    Arrays.copyOfRange(encoded, offset, offset + length)));
+                offset += length;
+            }
+        }
+
+        Assert.assertEquals(collector.result.get(1L, TimeUnit.MINUTES),
+                            HexDecoder.decodeMultiple(encoded));
+    }
+
+
+    @Test
+    public void testDecodeCarriesNibble()
+        throws InterruptedException, ExecutionException, TimeoutException {
+
+        final byte[] actual = transcode(
+            new HexDecoderProcessor(),
+            new Flow.Publisher<ByteBuffer>() {
+                @Override
+                public void subscribe(
+                    final Flow.Subscriber<? super ByteBuffer> subscriber) {
+                    subscriber.onSubscribe(new Flow.Subscription() {
+                        @Override
+                        public void request(final long n) {
+                            if (index < chunks.length) {
+                                subscriber.onNext(ByteBuffer.wrap(
+                                    chunks[index++].getBytes(
+                                        StandardCharsets.US_ASCII)));
+                            } else {
+                                subscriber.onComplete();
+                            }
+                        }
+                        @Override
+                        public void cancel() {
+                        }
+                        private final String[] chunks = {"0", "1a", "Bc", "D"};
+                        private int index;
+                    });
+                }
+            });
+
+        Assert.assertEquals(actual, new byte[]{0x01, (byte) 0xAB, (byte) 0xCD});
+    }
+
+
+    @Test
+    public void testDecodeOddNibbles() throws InterruptedException {
+
+        try {
+            transcode(new HexDecoderProcessor(),
+                      new SlicePublisher("abc".getBytes(
+                          StandardCharsets.US_ASCII)));
+            Assert.fail("odd nibbles decoded");
+        } catch (final ExecutionException ee) {
+            Assert.assertTrue(
+                ee.getCause() instanceof IllegalArgumentException);
+        } catch (final TimeoutException te) {
+            Assert.fail("timed out", te);
+        }
+    }
+
+
+    @Test
+    public void testDecodeIllegalNibble() throws InterruptedException {
+
+        try {
+            transcode(new HexDecoderProcessor(),
+                      new SlicePublisher("0g".getBytes(
+                          StandardCharsets.US_ASCII)));
+            Assert.fail("illegal nibble decoded");
+        } catch (final ExecutionException ee) {
+            Assert.assertTrue(
+                ee.getCause() instanceof IllegalArgumentException);
+        } catch (final TimeoutException te) {
+            Assert.fail("timed out", te);
+        }
+    }
+
+
+    @Test
+    public void testNonPositiveRequest() throws InterruptedException {
+
+        final HexEncoderProcessor processor = new HexEncoderProcessor();
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        processor.subscribe(new Flow.Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(0L);
+            }
+            @Override
+            public void onNext(final ByteBuffer item) {
+                result.completeExceptionally(new AssertionError("onNext"));
+            }
+            @Override
+            public void onError(final Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+            @Override
+            public void onComplete() {
+                result.complete(null);
+            }
+        });
+
+        try {
+            result.get(1L, TimeUnit.MINUTES);
+            Assert.fail("completed normally");
+        } catch (final ExecutionException ee) {
+            Assert.assertTrue(
+                ee.getCause() instanceof IllegalArgumentException);
+        } catch (final TimeoutException te) {
+            Assert.fail("timed out", te);
+        }
+    }
+
+
+    @Test
+    public void testSecondSubscriber() {
+
+        final HexEncoderProcessor processor = new HexEncoderProcessor();
+        processor.subscribe(new Collector(processor, 1));
+        final Collector second = new Collector(processor, 1);
+        processor.subscribe(second);
+        Assert.assertTrue(second.result.isCompletedExceptionally());
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalBlockSize() {
+
+        new HexEncoderProcessor(1, false, pool());
+    }
+
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexRangeDecoderTest {
+
+
+    @DataProvider
+    private static Object[][] layouts() {
+
+        return new Object[][]{
+            {0, ""}, {0, "\n"}, {0, "\r\n"}, {1, "\n"}, {2, "\r\n"},
+            {31, "\n"}, {32, "\r\n"}, {64, "\n"}};
+    }
+
+
+    /**
+     * Returns given octets encoded and wrapped at given width; a width of
+     * {@code 0} for a single line.
+     */
+    private static byte[] wrap(final byte[] decoded, final int width,
+                               final String terminator,
+                               final boolean terminated) {
+
+        final byte[] encoded = HexEncoder.encodeMultiple(decoded);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final byte[] bytes = terminator.getBytes(StandardCharsets.US_ASCII);
+        if (width == 0) {
+            stream.write(encoded, 0, encoded.length);
+            if (terminated) {
+                stream.write(bytes, 0, bytes.length);
+            }
+            return stream.toByteArray();
+        }
+
+        for (int i = 0; i < encoded.length; i += width) {
+            final int length = Math.min(width, encoded.length - i);
+            stream.write(encoded, i, length);
+            if (i + length < encoded.length || terminated) {
+                stream.write(bytes, 0, bytes.length);
+            }
+        }
+
+        return stream.toByteArray();
+    }
+
+
+    private static HexRangeDecoder decoder(final FileChannel channel,
+                                           final int width,
+                                           final String terminator) {
+
+        return width == 0
+               ? new HexRangeDecoder(channel)
+               : new HexRangeDecoder(channel, width, terminator.length());
+    }
+
+
+    @Test(dataProvider = "layouts", invocationCount = 4)
+    public void testRead(final int width, final String terminator)
+        throws IOException {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final byte[] decoded = new byte[random.nextInt(1, 200000)];
+        random.nextBytes(decoded);
+
+        final Path path = Files.createTempFile("hex", ".txt");
+        try {
+            Files.write(path, wrap(decoded, width, terminator,
+                                   random.nextBoolean()));
+            try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.READ)) {
+                final HexRangeDecoder decoder
+                    = decoder(channel, width, terminator);
+                Assert.assertEquals(decoder.size(), decoded.length);
+                Assert.assertEquals(decoder.read(0, decoded.length), decoded);
+                for (int i = 0; i < 64; i++) {
+                    final int from = random.nextInt(decoded.length);
+                    final int to = random.nextInt(from, decoded.length + 1);
+                    Assert.assertEquals(
+                        decoder.read(from, to),
+                        Arrays.copyOfRange(decoded, from, to));
+                    final ByteBuffer dst = ByteBuffer.allocateDirect(to - from);
+                    Assert.assertEquals(decoder.read(dst, from), to - from);
+                    Assert.assertEquals(
+                        dst.flip(),
+                        ByteBuffer.wrap(decoded, from, to - from));
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+
+    @Test
+    public void testReadBeyondSize() throws IOException {
+
+        final Path path = Files.createTempFile("hex", ".txt");
+        try {
+            Files.write(path, "0011\n2233\n44".getBytes(
+                StandardCharsets.US_ASCII));
+            try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.READ)) {
+                final HexRangeDecoder decoder
+                    = new HexRangeDecoder(channel, 4, 1);
+                Assert.assertEquals(decoder.size(), 5L);
+                final ByteBuffer dst = ByteBuffer.allocate(8);
+                Assert.assertEquals(decoder.read(dst, 3), 2);
+                Assert.assertEquals(dst.position(), 2);
+                Assert.assertEquals(decoder.read(dst, 5), -1);
+                try {
+                    decoder.read(4, 6);
+                    Assert.fail("no exception for reading beyond the size");
+                } catch (final EOFException eofe) {
+                    // expected
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testWrongWidth() throws IOException {
+
+        final Path path = Files.createTempFile("hex", ".txt");
+        try {
+            Files.write(path, "00112233\n44556677\n".getBytes(
+                StandardCharsets.US_ASCII));
+            try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.READ)) {
+                new HexRangeDecoder(channel, 4, 1).read(0, 4);
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalTerminatorLength() throws IOException {
+
+        final Path path = Files.createTempFile("hex", ".txt");
+        try (FileChannel channel = FileChannel.open(
+            path, StandardOpenOption.READ)) {
+            new HexRangeDecoder(channel, 64, 3);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
+
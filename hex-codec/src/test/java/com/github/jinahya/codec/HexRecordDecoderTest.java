@@ -0,0 +1,225 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexRecordDecoderTest {
+
+
+    private static class Collector implements HexRecordDecoder.Handler {
+
+
+        @Override
+        public void record(final long line, final byte[] buffer,
+                           final int offset, final int length) {
+
+            lines.add(line);
+            records.add(Arrays.copyOfRange(buffer, offset, offset + length));
+        }
+
+
+        @Override
+        public void error(final long line,
+                          final IllegalArgumentException cause) {
+
+            Assert.assertNotNull(cause);
+            lines.add(line);
+            records.add(null);
+        }
+
+
+        private final List<Long> lines = new ArrayList<Long>();
+
+
+        private final List<byte[]> records = new ArrayList<byte[]>();
+
+
+    }
+
+
+    @BeforeClass
+    public void createExecutor() {
+
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+
+    @AfterClass
+    public void shutdownExecutor() {
+
+        executor.shutdownNow();
+    }
+
+
+    @Test(invocationCount = 16)
+    public void testDecode() throws IOException, InterruptedException {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final List<byte[]> expected = new ArrayList<byte[]>();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final int count = random.nextInt(1, 512);
+        for (int i = 0; i < count; i++) {
+            final byte[] decoded = Tests.decodedBytes(64);
+            byte[] encoded = new HexEncoder().encode(decoded);
+            if (random.nextInt(16) == 0) {
+                encoded = Arrays.copyOf(encoded, encoded.length + 1);
+                encoded[encoded.length - 1] = 'x';
+                expected.add(null);
+            } else {
+                expected.add(decoded);
+            }
+            output.write(encoded);
+            final boolean cr = random.nextBoolean();
+            if (cr) {
+                output.write('\r');
+            }
+            // an empty last line exists only if terminated
+            if (i < count - 1 || (encoded.length == 0 && !cr)
+                || random.nextBoolean()) {
+                output.write('\n');
+            }
+        }
+
+        final File file = File.createTempFile("hex", ".txt");
+        file.deleteOnExit();
+        final FileOutputStream stream = new FileOutputStream(file);
+        try {
+            output.writeTo(stream);
+        } finally {
+            stream.close();
+        }
+
+        final Collector collector = new Collector();
+        final HexRecordDecoder decoder = new HexRecordDecoder(
+            executor, random.nextInt(1, 256), random.nextInt(1, 8));
+        Assert.assertEquals(decoder.decode(file, collector), count);
+
+        Assert.assertEquals(collector.records.size(), count);
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(collector.lines.get(i).longValue(), i + 1L);
+            Assert.assertEquals(collector.records.get(i), expected.get(i));
+        }
+    }
+
+
+    @Test
+    public void testDecodeEmpty() throws IOException, InterruptedException {
+
+        final Collector collector = new Collector();
+        final long lines = new HexRecordDecoder(executor).decode(
+            Channels.newChannel(new ByteArrayInputStream(new byte[0])),
+            collector);
+        Assert.assertEquals(lines, 0L);
+        Assert.assertTrue(collector.records.isEmpty());
+    }
+
+
+    @Test
+    public void testDecodeErrorLineNumber()
+        throws IOException, InterruptedException {
+
+        final byte[] input =
+            "0A0B\n0G\n\r\nABC\nFF".getBytes(StandardCharsets.US_ASCII);
+
+        final Collector collector = new Collector();
+        final long lines = new HexRecordDecoder(executor, 3, 2).decode(
+            Channels.newChannel(new ByteArrayInputStream(input)),
+            collector);
+        Assert.assertEquals(lines, 5L);
+
+        Assert.assertEquals(collector.records.get(0), new byte[]{0x0A, 0x0B});
+        Assert.assertNull(collector.records.get(1));
+        Assert.assertEquals(collector.records.get(2), new byte[0]);
+        Assert.assertNull(collector.records.get(3));
+        Assert.assertEquals(collector.records.get(4), new byte[]{(byte) 0xFF});
+    }
+
+
+    /**
+     * Checks blocks of chunks are released when decoding fails; otherwise
+     * the pool keeps allocating new blocks.
+     */
+    @Test
+    public void testDecodeFailureReleasesBlocks() throws InterruptedException {
+
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 256; i++) {
+            builder.append("0123456789ABCDEF\n");
+        }
+        final byte[] input = builder.toString().getBytes(
+            StandardCharsets.US_ASCII);
+        final HexRecordDecoder decoder = new HexRecordDecoder(executor, 64, 4);
+        final HexRecordDecoder.Handler failing = new Collector() {
+
+            @Override
+            public void record(final long line, final byte[] buffer,
+                               final int offset, final int length) {
+                throw new IllegalStateException("failed");
+            }
+
+        };
+
+        final HexBufferPool pool = HexBufferPool.getDefault();
+        long allocations = 0L;
+        for (int i = 0; i < 64; i++) {
+            if (i == 16) { // warmed up
+                allocations = pool.getAllocationCount();
+            }
+            try {
+                decoder.decode(Channels.newChannel(
+                    new ByteArrayInputStream(input)), failing);
+                Assert.fail("no exception from the handler");
+            } catch (final IllegalStateException ise) {
+                // expected
+            } catch (final IOException ioe) {
+                Assert.fail("unexpected", ioe);
+            }
+        }
+        Assert.assertEquals(pool.getAllocationCount(), allocations);
+    }
+
+
+    private ExecutorService executor;
+
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexReversedTest {
+
+
+    @DataProvider
+    private static Object[][] directs() {
+
+        return new Object[][]{{false, false}, {false, true}, {true, false},
+                              {true, true}};
+    }
+
+
+    private static byte[] reverse(final byte[] array) {
+
+        final byte[] reversed = new byte[array.length];
+        for (int i = 0; i < array.length; i++) {
+            reversed[i] = array[array.length - 1 - i];
+        }
+
+        return reversed;
+    }
+
+
+    private static byte[] random() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final byte[] octets = new byte[random.nextInt(128)];
+        random.nextBytes(octets);
+
+        return octets;
+    }
+
+
+    private static ByteBuffer buffer(final int capacity, final boolean direct) {
+
+        // a sliced buffer to check the array offset
+        final ByteBuffer buffer = direct
+                                  ? ByteBuffer.allocateDirect(capacity + 3)
+                                  : ByteBuffer.allocate(capacity + 3);
+        buffer.position(3);
+
+        return buffer.slice();
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testArrays() {
+
+        final byte[] octets = random();
+        final byte[] expected = HexEncoder.encodeMultiple(reverse(octets));
+
+        final byte[] encoded = HexEncoder.encodeReversed(octets);
+        Assert.assertEquals(encoded, expected);
+
+        Assert.assertEquals(HexDecoder.decodeReversed(encoded), octets);
+    }
+
+
+    @Test
+    public void testOffsets() {
+
+        final byte[] octets = {0x00, 0x01, 0x23, 0x45, 0x67};
+        final byte[] output = "--------".getBytes();
+        HexEncoder.encodeReversed(octets, 1, output, 1, 3);
+        Assert.assertEquals(new String(output), "-452301-");
+
+        final byte[] decoded = new byte[5];
+        HexDecoder.decodeReversed(output, 1, decoded, 1, 3);
+        Assert.assertEquals(decoded, new byte[]{0x00, 0x01, 0x23, 0x45, 0x00});
+    }
+
+
+    @Test(dataProvider = "directs", invocationCount = 32)
+    public void testBuffers(final boolean inputDirect,
+                            final boolean outputDirect) {
+
+        final byte[] octets = random();
+        final byte[] expected = HexEncoder.encodeMultiple(reverse(octets));
+
+        final ByteBuffer input = buffer(octets.length, inputDirect);
+        input.put(octets).flip();
+        final ByteBuffer encoded = buffer(expected.length + 1, outputDirect);
+        Assert.assertEquals(HexEncoder.encodeReversed(input, encoded),
+                            octets.length);
+        Assert.assertFalse(input.hasRemaining());
+        Assert.assertEquals(encoded.remaining(), 1);
+        encoded.flip();
+        final byte[] actual = new byte[encoded.remaining()];
+        encoded.get(actual);
+        Assert.assertEquals(actual, expected);
+
+        encoded.rewind();
+        final ByteBuffer decoded = buffer(octets.length, inputDirect);
+        Assert.assertEquals(HexDecoder.decodeReversed(encoded, decoded),
+                            octets.length);
+        Assert.assertFalse(encoded.hasRemaining());
+        Assert.assertEquals(decoded.flip(), ByteBuffer.wrap(octets));
+    }
+
+
+    @Test(expectedExceptions = BufferOverflowException.class)
+    public void testEncodeBufferOverflow() {
+
+        final ByteBuffer input = ByteBuffer.allocate(4);
+        final ByteBuffer output = ByteBuffer.allocate(7);
+        try {
+            HexEncoder.encodeReversed(input, output);
+        } finally {
+            Assert.assertEquals(input.position(), 0);
+            Assert.assertEquals(output.position(), 0);
+        }
+    }
+
+
+    @Test(expectedExceptions = BufferOverflowException.class)
+    public void testDecodeBufferOverflow() {
+
+        HexDecoder.decodeReversed(ByteBuffer.wrap("00112233".getBytes()),
+                                  ByteBuffer.allocate(3));
+    }
+
+
+    @Test
+    public void testIllegal() {
+
+        for (int i = 0; i < 40; i++) {
+            final byte[] input = HexEncoder.encodeReversed(new byte[20]);
+            input[i] = 'x';
+            try {
+                HexDecoder.decodeReversed(input);
+                Assert.fail("no exception for an illegal char at " + i);
+            } catch (final IllegalArgumentException iae) {
+                // expected
+            }
+        }
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testEncodeWithShortOutput() {
+
+        HexEncoder.encodeReversed(new byte[4], 0, new byte[7], 0, 4);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeWithShortInput() {
+
+        HexDecoder.decodeReversed(new byte[7], 0, new byte[4], 0, 4);
+    }
+}
+
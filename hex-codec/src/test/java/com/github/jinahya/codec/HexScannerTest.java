@@ -0,0 +1,288 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexScannerTest {
+
+
+    private static final Pattern RUN = Pattern.compile("[0-9A-Fa-f]+");
+
+
+    /**
+     * Returns a random text of hex runs, words, spaces and non-ASCII octets.
+     */
+    private static byte[] text() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final byte[] text = new byte[random.nextInt(1024)];
+        final byte[] others = "xyzG_ -:\n".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < text.length; ) {
+            final int length = Math.min(random.nextInt(1, 70), text.length - i);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    for (int j = 0; j < length; j++) {
+                        text[i++] = HexTables.ENCODE[random.nextInt(16)];
+                    }
+                    break;
+                case 2:
+                    for (int j = 0; j < length; j++) {
+                        text[i++] = (byte) random.nextInt(0x80, 0x100);
+                    }
+                    break;
+                default:
+                    text[i++] = others[random.nextInt(others.length)];
+                    break;
+            }
+        }
+
+        return text;
+    }
+
+
+    private static boolean word(final int c) {
+
+        return Character.isLetterOrDigit(c) && c < 0x80 || c == '_';
+    }
+
+
+    /**
+     * Returns offsets and lengths of expected runs found with a regular
+     * expression.
+     */
+    private static List<int[]> expected(final byte[] text, final int minimum,
+                                        final int maximum,
+                                        final boolean bounded,
+                                        final boolean even) {
+
+        final List<int[]> runs = new ArrayList<>();
+        final Matcher matcher = RUN.matcher(
+            new String(text, StandardCharsets.ISO_8859_1));
+        while (matcher.find()) {
+            final int length = matcher.end() - matcher.start();
+            if (length < minimum || length > maximum) {
+                continue;
+            }
+            if (even && (length & 0x01) == 0x01) {
+                continue;
+            }
+            if (bounded
+                && ((matcher.start() > 0
+                     && word(text[matcher.start() - 1] & 0xFF))
+                    || (matcher.end() < text.length
+                        && word(text[matcher.end()] & 0xFF)))) {
+                continue;
+            }
+            runs.add(new int[]{matcher.start(), length});
+        }
+
+        return runs;
+    }
+
+
+    private static List<int[]> collect(final byte[] input, final byte[] arena,
+                                       final HexScanner scanner) {
+
+        final List<int[]> runs = new ArrayList<>();
+        final int stopped = scanner.scan(
+            input, 0, input.length, arena, (offset, length, a, position) -> {
+                runs.add(new int[]{offset, length});
+                if (arena != null) {
+                    Assert.assertSame(a, arena);
+                    Assert.assertEquals(
+                        Arrays.copyOfRange(arena, position,
+                                           position + (length >> 1)),
+                        HexDecoder.decodeMultiple(Arrays.copyOfRange(
+                            input, offset, offset + length)));
+                }
+                return true;
+            });
+        Assert.assertEquals(stopped, input.length);
+
+        return runs;
+    }
+
+
+    private static void assertRuns(final List<int[]> actual,
+                                   final List<int[]> expected) {
+
+        Assert.assertEquals(actual.size(), expected.size());
+        for (int i = 0; i < actual.size(); i++) {
+            Assert.assertEquals(actual.get(i), expected.get(i));
+        }
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testArray() {
+
+        final byte[] text = text();
+        final boolean bounded = ThreadLocalRandom.current().nextBoolean();
+
+        assertRuns(collect(text, null, new HexScanner(1, 1024, bounded)),
+                   expected(text, 1, 1024, bounded, false));
+        assertRuns(collect(text, null, new HexScanner(8, 16, bounded)),
+                   expected(text, 8, 16, bounded, false));
+        assertRuns(collect(text, new byte[512], new HexScanner(2, 64, bounded)),
+                   expected(text, 2, 64, bounded, true));
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testBuffer() {
+
+        final byte[] text = text();
+        final List<int[]> expected = expected(text, 4, 40, true, false);
+
+        for (final boolean direct : new boolean[]{false, true}) {
+            for (final ByteOrder order : new ByteOrder[]{
+                ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+                // sliced, so offsets are relative to the array offset
+                final ByteBuffer buffer = (direct
+                                           ? ByteBuffer.allocateDirect(
+                                               text.length + 5)
+                                           : ByteBuffer.allocate(
+                                               text.length + 5));
+                buffer.position(5);
+                final ByteBuffer slice = buffer.slice().order(order);
+                slice.put(text).flip();
+                final List<int[]> runs = new ArrayList<>();
+                final int stopped = new HexScanner(4, 40, true).scan(
+                    slice, null, (offset, length, arena, position) -> {
+                        runs.add(new int[]{offset, length});
+                        return true;
+                    });
+                Assert.assertEquals(stopped, text.length);
+                Assert.assertEquals(slice.position(), text.length);
+                assertRuns(runs, expected);
+            }
+        }
+    }
+
+
+    @Test(invocationCount = 128)
+    public void testCharSequence() {
+
+        final byte[] text = text();
+        final List<int[]> expected = expected(text, 2, 32, false, true);
+
+        final List<int[]> runs = new ArrayList<>();
+        final byte[] arena = new byte[1024];
+        new HexScanner(2, 32, false).scan(
+            new String(text, StandardCharsets.ISO_8859_1), 0, text.length,
+            arena, (offset, length, a, position) -> {
+                runs.add(new int[]{offset, length});
+                Assert.assertEquals(
+                    Arrays.copyOfRange(arena, position,
+                                       position + (length >> 1)),
+                    HexDecoder.decodeMultiple(Arrays.copyOfRange(
+                        text, offset, offset + length)));
+                return true;
+            });
+        assertRuns(runs, expected);
+    }
+
+
+    @Test
+    public void testLengths() {
+
+        final byte[] input = ("id=0123456789abcdef0123456789ABCDEF, "
+                              + "sha1 da39a3ee5e6b4b0d3255bfef95601890afd80709 "
+                              + "x1234 deadbeef cafe_babe")
+            .getBytes(StandardCharsets.US_ASCII);
+
+        final List<int[]> runs
+            = collect(input, null, new HexScanner(true, 32, 40, 8));
+        Assert.assertEquals(runs.size(), 3);
+        Assert.assertEquals(runs.get(0), new int[]{3, 32});
+        Assert.assertEquals(runs.get(1), new int[]{42, 40});
+        Assert.assertEquals(runs.get(2), new int[]{89, 8});
+    }
+
+
+    @Test
+    public void testStop() {
+
+        final byte[] input = "aa bb cc".getBytes(StandardCharsets.US_ASCII);
+        final int[] count = new int[1];
+        final int stopped = new HexScanner(2, 2, true).scan(
+            input, 0, input.length, (offset, length, arena, position) -> {
+                return ++count[0] < 2;
+            });
+        Assert.assertEquals(count[0], 2);
+        Assert.assertEquals(stopped, 5);
+    }
+
+
+    @Test
+    public void testArenaFull() {
+
+        final byte[] input = "0001 0203 0405 0607 0809"
+            .getBytes(StandardCharsets.US_ASCII);
+        final byte[] arena = new byte[5];
+        final HexScanner scanner = new HexScanner(4, 4, true);
+        final ByteBuffer decoded = ByteBuffer.allocate(10);
+
+        int index = 0;
+        while (index < input.length) {
+            index = scanner.scan(
+                input, index, input.length - index, arena,
+                (offset, length, a, position) -> {
+                    decoded.put(a, position, length >> 1);
+                    return true;
+                });
+        }
+        Assert.assertEquals(decoded.array(),
+                            new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMaximumLessThanMinimum() {
+
+        new HexScanner(4, 3, false);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNoLengths() {
+
+        new HexScanner(false);
+    }
+}
+
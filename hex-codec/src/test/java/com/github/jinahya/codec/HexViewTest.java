@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.codec.binary.Hex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+public class HexViewTest {
+
+
+    private static void assertView(final HexView view, final byte[] expected) {
+
+        Assert.assertEquals(view.capacity(), expected.length);
+
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(view.get(i), expected[i]);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(expected);
+        for (final ByteOrder order : new ByteOrder[]{
+            ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            view.order(order);
+            buffer.order(order);
+            for (int i = 0; i + 8 <= expected.length; i++) {
+                Assert.assertEquals(view.getShort(i), buffer.getShort(i));
+                Assert.assertEquals(view.getInt(i), buffer.getInt(i));
+                Assert.assertEquals(view.getLong(i), buffer.getLong(i));
+            }
+        }
+
+        final int index = Tests.random().nextInt(expected.length + 1);
+        final int length = Tests.random().nextInt(expected.length - index + 1);
+        final byte[] actual = new byte[length + 2];
+        view.get(index, actual, 1, length);
+        for (int i = 0; i < length; i++) {
+            Assert.assertEquals(actual[i + 1], expected[index + i]);
+        }
+    }
+
+
+    @Test(invocationCount = 16)
+    public void testWrap() {
+
+        final byte[] decoded = Tests.decodedBytes(16384);
+        final byte[] encoded = new Hex().encode(decoded);
+
+        assertView(HexView.wrap(encoded), decoded);
+        assertView(HexView.wrap(encoded, false), decoded);
+        assertView(
+            HexView.wrap(new String(encoded, StandardCharsets.US_ASCII)),
+            decoded);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length);
+        direct.put(encoded).flip();
+        assertView(HexView.wrap(direct), decoded);
+    }
+
+
+    @Test
+    public void testMap() throws IOException {
+
+        final byte[] decoded = Tests.decodedBytes(16384);
+        final byte[] encoded = new Hex().encode(decoded);
+
+        final File file = File.createTempFile("tmp", null);
+        file.deleteOnExit();
+        final RandomAccessFile access = new RandomAccessFile(file, "rw");
+        try {
+            access.write(encoded);
+            final FileChannel channel = access.getChannel();
+            assertView(HexView.map(channel, true), decoded);
+        } finally {
+            access.close();
+        }
+    }
+
+
+    @Test
+    public void testValidation() {
+
+        final byte[] encoded = new byte[(HexView.BLOCK << 1) * 2];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = 0x30;
+        }
+        encoded[encoded.length - 1] = 0x47; // 'G' in the second block
+
+        final HexView validating = HexView.wrap(encoded);
+        Assert.assertEquals(validating.get(0), 0);
+        try {
+            validating.get(HexView.BLOCK);
+            Assert.fail("validated an illegal block");
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+
+        final HexView trusting = HexView.wrap(encoded, false);
+        trusting.get(trusting.capacity() - 1); // unspecified but no exception
+    }
+
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+
+        HexView.wrap("0001").getShort(1L);
+    }
+
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.math3.stat.StatUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ * Compares encoding {@code long[]} directly with encoding a copy made with a
+ * {@link ByteBuffer}.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"benchmark"}, singleThreaded = true)
+public class PrimitivesVsCopyTestNanoTime {
+
+
+    private static final int ROUNDS = 1024;
+
+
+    private static final int REPEAT = 16;
+
+
+    private static final Logger LOGGER =
+        Logger.getLogger(PrimitivesVsCopyTestNanoTime.class.getName());
+
+
+    @DataProvider
+    private static Object[][] sizes() {
+
+        return new Object[][]{{4}, {128}, {4096}};
+    }
+
+
+    @BeforeClass
+    private static void warmUp() {
+        LOGGER.info("warmUp()");
+
+        for (final Object[] size : sizes()) {
+            final long[] values = new long[(Integer) size[0]];
+            for (int i = 0; i < 4096; i++) {
+                encodeDirect(values, ByteOrder.LITTLE_ENDIAN);
+                encodeCopy(values, ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+    }
+
+
+    private static long encodeDirect(final long[] values,
+                                     final ByteOrder order) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            HexEncoder.encodeMultiple(values, order);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    private static long encodeCopy(final long[] values,
+                                   final ByteOrder order) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            final ByteBuffer buffer = ByteBuffer
+                .allocate(values.length * Long.BYTES).order(order);
+            buffer.asLongBuffer().put(values);
+            HexEncoder.encodeMultiple(buffer.array());
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testEncode(final int count) {
+
+        final double[] elapsedDirect = new double[ROUNDS];
+        final double[] elapsedCopy = new double[ROUNDS];
+
+        final ByteOrder order = ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < ROUNDS; i++) {
+            final long[] values
+                = ThreadLocalRandom.current().longs(count).toArray();
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedDirect[i] = encodeDirect(values, order);
+                elapsedCopy[i] = encodeCopy(values, order);
+            } else {
+                elapsedCopy[i] = encodeCopy(values, order);
+                elapsedDirect[i] = encodeDirect(values, order);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.encode.direct.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedDirect)});
+        LOGGER.log(Level.INFO, "elapsed.encode.copy.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedCopy)});
+    }
+
+
+}
+
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.math3.stat.StatUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ * Compares encoding octets in reversed order directly with encoding a reversed
+ * copy.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"benchmark"}, singleThreaded = true)
+public class ReversedVsCopyTestNanoTime {
+
+
+    private static final int ROUNDS = 1024;
+
+
+    private static final int REPEAT = 16;
+
+
+    private static final Logger LOGGER =
+        Logger.getLogger(ReversedVsCopyTestNanoTime.class.getName());
+
+
+    @DataProvider
+    private static Object[][] sizes() {
+
+        return new Object[][]{{32}, {1024}, {32768}};
+    }
+
+
+    @BeforeClass
+    private static void warmUp() {
+        LOGGER.info("warmUp()");
+
+        for (final Object[] size : sizes()) {
+            final byte[] decoded = new byte[(Integer) size[0]];
+            for (int i = 0; i < 4096; i++) {
+                encodeDirect(decoded);
+                encodeCopy(decoded);
+            }
+        }
+    }
+
+
+    private static long encodeDirect(final byte[] decoded) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            HexEncoder.encodeReversed(decoded);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    private static long encodeCopy(final byte[] decoded) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            final byte[] reversed = decoded.clone();
+            for (int j = 0, k = reversed.length - 1; j < k; j++, k--) {
+                final byte t = reversed[j];
+                reversed[j] = reversed[k];
+                reversed[k] = t;
+            }
+            HexEncoder.encodeMultiple(reversed);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    @Test(dataProvider = "sizes")
+    public void testEncode(final int count) {
+
+        final double[] elapsedDirect = new double[ROUNDS];
+        final double[] elapsedCopy = new double[ROUNDS];
+
+        final byte[] decoded = new byte[count];
+        for (int i = 0; i < ROUNDS; i++) {
+            ThreadLocalRandom.current().nextBytes(decoded);
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedDirect[i] = encodeDirect(decoded);
+                elapsedCopy[i] = encodeCopy(decoded);
+            } else {
+                elapsedCopy[i] = encodeCopy(decoded);
+                elapsedDirect[i] = encodeDirect(decoded);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.encode.direct.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedDirect)});
+        LOGGER.log(Level.INFO, "elapsed.encode.copy.{0}: {1}",
+                   new Object[]{count, StatUtils.mean(elapsedCopy)});
+    }
+
+
+}
+
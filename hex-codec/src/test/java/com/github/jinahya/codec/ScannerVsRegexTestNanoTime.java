@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.math3.stat.StatUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+/**
+ * Compares finding and decoding trace identifiers in log lines with
+ * {@link HexScanner} and with a regular expression.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"benchmark"}, singleThreaded = true)
+public class ScannerVsRegexTestNanoTime {
+
+
+    private static final int ROUNDS = 256;
+
+
+    private static final int REPEAT = 4;
+
+
+    private static final Logger LOGGER =
+        Logger.getLogger(ScannerVsRegexTestNanoTime.class.getName());
+
+
+    private static final Pattern PATTERN
+        = Pattern.compile("\\b[0-9A-Fa-f]{32}\\b");
+
+
+    private static final HexScanner SCANNER = new HexScanner(true, 32);
+
+
+    private static byte[] log() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final StringBuilder builder = new StringBuilder();
+        final byte[] trace = new byte[16];
+        while (builder.length() < 65536) {
+            random.nextBytes(trace);
+            builder.append("2024-01-01T00:00:00.000Z INFO [main] request ")
+                .append(random.nextInt(100000)).append(" trace=")
+                .append(new String(HexEncoder.encodeMultiple(trace),
+                                   StandardCharsets.US_ASCII)
+                    .toLowerCase(Locale.ENGLISH))
+                .append(" status=200 elapsed=").append(random.nextInt(1000))
+                .append("ms\n");
+        }
+
+        return builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+
+    @BeforeClass
+    private static void warmUp() {
+        LOGGER.info("warmUp()");
+
+        final byte[] log = log();
+        final byte[] arena = new byte[log.length];
+        final String text = new String(log, StandardCharsets.ISO_8859_1);
+        for (int i = 0; i < 256; i++) {
+            scanner(log, arena);
+            scanner(text, arena);
+            regex(log, arena);
+        }
+    }
+
+
+    private static long scanner(final byte[] log, final byte[] arena) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            SCANNER.scan(log, 0, log.length, arena,
+                         (offset, length, a, position) -> true);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    private static long scanner(final CharSequence log, final byte[] arena) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            SCANNER.scan(log, 0, log.length(), arena,
+                         (offset, length, a, position) -> true);
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    private static long regex(final byte[] log, final byte[] arena) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            final Matcher matcher = PATTERN.matcher(
+                new String(log, StandardCharsets.ISO_8859_1));
+            int position = 0;
+            while (matcher.find()) {
+                final byte[] decoded = HexDecoder.decodeMultiple(
+                    matcher.group().getBytes(StandardCharsets.US_ASCII));
+                System.arraycopy(decoded, 0, arena, position, decoded.length);
+                position += decoded.length;
+            }
+        }
+        return (System.nanoTime() - start) / REPEAT;
+    }
+
+
+    @Test
+    public void testScan() {
+
+        final double[] elapsedScanner = new double[ROUNDS];
+        final double[] elapsedSequence = new double[ROUNDS];
+        final double[] elapsedRegex = new double[ROUNDS];
+
+        final byte[] log = log();
+        final String text = new String(log, StandardCharsets.ISO_8859_1);
+        final byte[] arena = new byte[log.length];
+        for (int i = 0; i < ROUNDS; i++) {
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedScanner[i] = scanner(log, arena);
+                elapsedSequence[i] = scanner(text, arena);
+                elapsedRegex[i] = regex(log, arena);
+            } else {
+                elapsedRegex[i] = regex(log, arena);
+                elapsedSequence[i] = scanner(text, arena);
+                elapsedScanner[i] = scanner(log, arena);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.scan.scanner: {0}",
+                   StatUtils.mean(elapsedScanner));
+        LOGGER.log(Level.INFO, "elapsed.scan.scanner.sequence: {0}",
+                   StatUtils.mean(elapsedSequence));
+        LOGGER.log(Level.INFO, "elapsed.scan.regex: {0}",
+                   StatUtils.mean(elapsedRegex));
+    }
+
+
+}
+
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.math3.stat.StatUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Measures the latency of the first encode and decode calls in fresh JVMs.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"benchmark"}, singleThreaded = true)
+public class StartupTestNanoTime {
+
+
+    private static final int FORKS = 8;
+
+
+    private static final Logger LOGGER =
+        Logger.getLogger(StartupTestNanoTime.class.getName());
+
+
+    /**
+     * The entry point of forked JVMs. Prints the elapsed nanoseconds of the
+     * first encode call and the first decode call.
+     */
+    public static final class Probe {
+
+
+        public static void main(final String[] args) {
+
+            final byte[] decoded = new byte[32];
+
+            final long encodeStarted = System.nanoTime();
+            final byte[] encoded = HexEncoder.encodeMultiple(decoded);
+            final long encodeElapsed = System.nanoTime() - encodeStarted;
+
+            final long decodeStarted = System.nanoTime();
+            HexDecoder.decodeMultiple(encoded);
+            final long decodeElapsed = System.nanoTime() - decodeStarted;
+
+            System.out.println("elapsed " + encodeElapsed + " "
+                               + decodeElapsed);
+        }
+
+
+        private Probe() {
+
+            super();
+        }
+
+
+    }
+
+
+    @Test
+    public void testFirstCall() throws IOException, InterruptedException {
+
+        final double[] encodeElapsed = new double[FORKS];
+        final double[] decodeElapsed = new double[FORKS];
+        int loaded = 0;
+
+        for (int i = 0; i < FORKS; i++) {
+            final Process process = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin"
+                + File.separator + "java",
+                "-Xlog:class+load=info", "-cp",
+                System.getProperty("java.class.path"), Probe.class.getName())
+                .redirectErrorStream(true).start();
+            loaded = 0;
+            final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(),
+                                      StandardCharsets.UTF_8));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("elapsed ")) {
+                        final String[] split = line.split(" ");
+                        encodeElapsed[i] = Long.parseLong(split[1]);
+                        decodeElapsed[i] = Long.parseLong(split[2]);
+                        continue;
+                    }
+                    Assert.assertFalse(line.contains(" org.slf4j."), line);
+                    if (line.contains(" com.github.jinahya.codec.")) {
+                        loaded++;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+            Assert.assertEquals(process.waitFor(), 0);
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.first.encode: {0}",
+                   StatUtils.mean(encodeElapsed));
+        LOGGER.log(Level.INFO, "elapsed.first.decode: {0}",
+                   StatUtils.mean(decodeElapsed));
+        LOGGER.log(Level.INFO, "classes.loaded.codec: {0}", loaded);
+    }
+
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012 Jin Kwon <jinahya at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.github.jinahya.codec;
+
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.math3.stat.StatUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+/**
+ * Compares the {@code switch} with the branch-free arithmetic on mixed-case
+ * input.
+ *
+ * @author Jin Kwon <jinahya at gmail.com>
+ */
+@Test(groups = {"benchmark"}, singleThreaded = true)
+public class SwitchVsConstantTimeTestNanoTimeDecode {
+
+
+    private static final int ROUNDS = 1024;
+
+
+    private static final Logger LOGGER = Logger.getLogger(
+        SwitchVsConstantTimeTestNanoTimeDecode.class.getName());
+
+
+    private static final HexEngine SWITCH = new SwitchHexEngine();
+
+
+    private static final HexEngine CONSTANT_TIME = new ConstantTimeHexEngine();
+
+
+    @BeforeClass
+    private static void warmUp() {
+        LOGGER.info("warmUp()");
+
+        for (int i = 0; i < 16384; i++) {
+            final byte[] encoded = Tests.encodedBytes();
+            decode(SWITCH, encoded);
+            decode(CONSTANT_TIME, encoded);
+        }
+    }
+
+
+    private static long decode(final HexEngine engine, final byte[] encoded) {
+        final byte[] decoded = new byte[encoded.length >> 1];
+        final long start = System.nanoTime();
+        engine.decode(encoded, 0, decoded, 0, decoded.length);
+        return System.nanoTime() - start;
+    }
+
+
+    @Test
+    public void testDecode() {
+
+        final double[] elapsedSwitch = new double[ROUNDS];
+        final double[] elapsedConstantTime = new double[ROUNDS];
+
+        for (int i = 0; i < ROUNDS; i++) {
+            final byte[] encoded = Tests.encodedBytes();
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                elapsedSwitch[i] = decode(SWITCH, encoded);
+                elapsedConstantTime[i] = decode(CONSTANT_TIME, encoded);
+            } else {
+                elapsedConstantTime[i] = decode(CONSTANT_TIME, encoded);
+                elapsedSwitch[i] = decode(SWITCH, encoded);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "elapsed.switch: {0}",
+                   StatUtils.mean(elapsedSwitch));
+        LOGGER.log(Level.INFO, "elapsed.constant.time: {0}",
+                   StatUtils.mean(elapsedConstantTime));
+    }
+
+
+}